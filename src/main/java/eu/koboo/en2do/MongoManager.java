@@ -6,30 +6,58 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.geojson.Point;
+import eu.koboo.en2do.internal.LazyRepositoryHandler;
 import eu.koboo.en2do.internal.RepositoryInvocationHandler;
 import eu.koboo.en2do.internal.RepositoryMeta;
 import eu.koboo.en2do.internal.Validator;
+import eu.koboo.en2do.internal.cache.BloomFilter;
+import eu.koboo.en2do.internal.cache.ChangeStreamInvalidator;
+import eu.koboo.en2do.internal.cache.PreloadQuery;
+import eu.koboo.en2do.internal.cache.PreloadedCollection;
+import eu.koboo.en2do.internal.cache.QueryResultCache;
+import eu.koboo.en2do.internal.cache.SingleFlightGroup;
 import eu.koboo.en2do.internal.codec.InternalPropertyCodecProvider;
+import eu.koboo.en2do.internal.codec.entity.EntityCodecProvider;
 import eu.koboo.en2do.internal.convention.AnnotationConvention;
+import eu.koboo.en2do.internal.generator.GeneratedRepositories;
+import eu.koboo.en2do.internal.generator.RepositoryClassGenerator;
 import eu.koboo.en2do.internal.exception.methods.*;
 import eu.koboo.en2do.internal.exception.repository.*;
+import eu.koboo.en2do.internal.index.IndexReconciler;
+import eu.koboo.en2do.internal.scan.RepositoryScanner;
+import eu.koboo.en2do.internal.methods.aggregation.AggregationMethod;
+import eu.koboo.en2do.internal.methods.aggregation.AggregationTemplate;
 import eu.koboo.en2do.internal.methods.dynamic.DynamicMethod;
 import eu.koboo.en2do.internal.methods.dynamic.FilterType;
 import eu.koboo.en2do.internal.methods.dynamic.MethodFilterPart;
 import eu.koboo.en2do.internal.methods.operators.FilterOperator;
 import eu.koboo.en2do.internal.methods.operators.MethodOperator;
+import eu.koboo.en2do.internal.methods.parser.MethodNameParser;
+import eu.koboo.en2do.internal.methods.parser.ParameterViolation;
+import eu.koboo.en2do.internal.methods.parser.ParsedFilterPart;
+import eu.koboo.en2do.internal.methods.parser.ReflectionFieldModel;
 import eu.koboo.en2do.internal.methods.predefined.impl.*;
 import eu.koboo.en2do.repository.Collection;
 import eu.koboo.en2do.repository.*;
+import eu.koboo.en2do.repository.entity.CaseInsensitive;
 import eu.koboo.en2do.repository.entity.Id;
 import eu.koboo.en2do.repository.entity.NonIndex;
 import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
 import eu.koboo.en2do.repository.entity.compound.Index;
+import eu.koboo.en2do.repository.entity.geo.GeoIndex;
+import eu.koboo.en2do.repository.entity.text.TextIndex;
 import eu.koboo.en2do.repository.entity.ttl.TTLIndex;
+import eu.koboo.en2do.repository.methods.aggregation.Aggregation;
 import eu.koboo.en2do.repository.methods.async.Async;
+import eu.koboo.en2do.repository.methods.cache.CacheResult;
+import eu.koboo.en2do.repository.methods.cache.SingleFlight;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
 import eu.koboo.en2do.repository.methods.sort.*;
 import eu.koboo.en2do.repository.methods.transform.Transform;
@@ -39,25 +67,35 @@ import eu.koboo.en2do.utility.GenericUtils;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
+import org.bson.BsonDocument;
 import org.bson.UuidRepresentation;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.Convention;
 import org.bson.codecs.pojo.Conventions;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
@@ -72,22 +110,40 @@ import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 @SuppressWarnings("unused")
 public class MongoManager {
 
-    // Predefined methods by Java objects
-    // These methods are ignored by our method processing proxy / invocation handler.
+    // The repositories are mostly waiting for the database, so more threads than cores are used.
+    private static final int MAX_BOOTSTRAP_THREADS = 16;
+
+    // Holds the created repositories and the repositories, which are currently created by another thread.
+    @NotNull
+    Map<Class<?>, CompletableFuture<Repository<?, ?>>> repositoryRegistry;
+
+    // Holds the handles of the repositories, which are created on first use.
     @NotNull
-    private static final List<String> IGNORED_DEFAULT_METHODS = Arrays.asList(
-        "notify", "notifyAll", "wait", "finalize", "clone"
-    );
+    Map<Class<?>, Repository<?, ?>> lazyRepositoryRegistry;
 
+    // Holds the invocation handlers of the created repositories, which are called by their lazy handles.
     @NotNull
-    Map<Class<?>, Repository<?, ?>> repositoryRegistry;
+    Map<Class<?>, RepositoryInvocationHandler<?, ?, ?>> invocationHandlerRegistry;
 
     @NotNull
     Map<Class<?>, RepositoryMeta<?, ?, ?>> repositoryMetaRegistry;
 
+    // Holds the lower-cased collection names, which are reserved by the repositories, while and after they're created.
+    @NotNull
+    Map<String, Class<?>> collectionNameRegistry;
+
+    @NotNull
+    Map<Class<?>, ChangeStreamInvalidator<?, ?, ?>> changeStreamRegistry;
+
+    @NotNull
+    Map<Class<?>, IndexReport> indexReportRegistry;
+
     @Nullable
     ExecutorService executorService;
 
+    @NotNull
+    EntityCodecProvider entityCodecProvider;
+
     @Getter
     @NotNull
     CodecRegistry codecRegistry;
@@ -100,7 +156,12 @@ public class MongoManager {
 
     public MongoManager(@Nullable Credentials credentials, @Nullable ExecutorService executorService) {
         repositoryRegistry = new ConcurrentHashMap<>();
+        lazyRepositoryRegistry = new ConcurrentHashMap<>();
+        invocationHandlerRegistry = new ConcurrentHashMap<>();
         repositoryMetaRegistry = new ConcurrentHashMap<>();
+        collectionNameRegistry = new ConcurrentHashMap<>();
+        changeStreamRegistry = new ConcurrentHashMap<>();
+        indexReportRegistry = new ConcurrentHashMap<>();
 
         this.executorService = executorService;
 
@@ -134,17 +195,21 @@ public class MongoManager {
 
         ConnectionString connection = new ConnectionString(connectString);
 
+        List<Convention> conventionList = List.of(
+            new AnnotationConvention(repositoryMetaRegistry),
+            Conventions.ANNOTATION_CONVENTION,
+            Conventions.SET_PRIVATE_FIELDS_CONVENTION,
+            Conventions.USE_GETTERS_FOR_SETTERS
+        );
+        // The generated codecs of the entities are looked up first, the pojo-codec encodes everything else.
+        entityCodecProvider = new EntityCodecProvider(conventionList);
         codecRegistry = fromRegistries(
             MongoClientSettings.getDefaultCodecRegistry(),
+            fromProviders(entityCodecProvider),
             fromProviders(PojoCodecProvider.builder()
                 .register(new InternalPropertyCodecProvider())
                 .automatic(true)
-                .conventions(List.of(
-                    new AnnotationConvention(repositoryMetaRegistry),
-                    Conventions.ANNOTATION_CONVENTION,
-                    Conventions.SET_PRIVATE_FIELDS_CONVENTION,
-                    Conventions.USE_GETTERS_FOR_SETTERS
-                ))
+                .conventions(conventionList)
                 .build())
         );
 
@@ -177,10 +242,18 @@ public class MongoManager {
                 executorService.shutdown();
             }
             repositoryRegistry.clear();
+            lazyRepositoryRegistry.clear();
+            invocationHandlerRegistry.clear();
+            for (ChangeStreamInvalidator<?, ?, ?> changeStreamInvalidator : changeStreamRegistry.values()) {
+                changeStreamInvalidator.stop();
+            }
+            changeStreamRegistry.clear();
+            indexReportRegistry.clear();
             for (RepositoryMeta<?, ?, ?> meta : repositoryMetaRegistry.values()) {
                 meta.destroy();
             }
             repositoryMetaRegistry.clear();
+            collectionNameRegistry.clear();
             client.close();
             return true;
         } catch (Exception e) {
@@ -189,14 +262,294 @@ public class MongoManager {
         }
     }
 
+    /**
+     * Returns a snapshot of the statistics of the entity cache of the given repository.
+     *
+     * @param repositoryClass The class of the created repository
+     * @return The statistics, or null if the repository wasn't created or isn't annotated with @EntityCache
+     */
+    public @Nullable CacheStats getEntityCacheStats(@NotNull Class<?> repositoryClass) {
+        RepositoryMeta<?, ?, ?> repositoryMeta = repositoryMetaRegistry.get(repositoryClass);
+        if (repositoryMeta == null || repositoryMeta.getEntityCache() == null) {
+            return null;
+        }
+        return repositoryMeta.getEntityCache().stats();
+    }
+
+    /**
+     * Returns the report of the index reconciliation of the given repository.
+     *
+     * @param repositoryClass The class of the created repository
+     * @return The report, or null if the repository wasn't created
+     */
+    public @Nullable IndexReport getIndexReport(@NotNull Class<?> repositoryClass) {
+        return indexReportRegistry.get(repositoryClass);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the unique id bloom filter of the given repository.
+     *
+     * @param repositoryClass The class of the created repository
+     * @return The statistics, or null if the repository wasn't created, isn't annotated with @IdBloomFilter
+     * or its bloom filter was disabled, because the change stream couldn't be opened.
+     */
+    public @Nullable BloomFilterStats getIdBloomFilterStats(@NotNull Class<?> repositoryClass) {
+        RepositoryMeta<?, ?, ?> repositoryMeta = repositoryMetaRegistry.get(repositoryClass);
+        if (repositoryMeta == null) {
+            return null;
+        }
+        BloomFilter idBloomFilter = repositoryMeta.getIdBloomFilter();
+        if (idBloomFilter == null) {
+            return null;
+        }
+        return idBloomFilter.stats();
+    }
+
+    /**
+     * Checks if the caches of the given repository are invalidated by a change stream.
+     *
+     * @param repositoryClass The class of the created repository
+     * @return true, if the change stream is open. false, if the repository isn't annotated with
+     * "@ChangeStreamInvalidation", has no caches or the server doesn't support change streams.
+     */
+    public boolean isChangeStreamActive(@NotNull Class<?> repositoryClass) {
+        ChangeStreamInvalidator<?, ?, ?> changeStreamInvalidator = changeStreamRegistry.get(repositoryClass);
+        return changeStreamInvalidator != null && changeStreamInvalidator.isRunning();
+    }
+
+    /**
+     * Checks if the methods of the given repository are currently answered by the preloaded snapshot.
+     *
+     * @param repositoryClass The class of the created repository
+     * @return true, if the snapshot is loaded and up to date with the writes through the repository.
+     * false, if the repository isn't annotated with @Preload or the snapshot is stale.
+     */
+    public boolean isPreloadCurrent(@NotNull Class<?> repositoryClass) {
+        RepositoryMeta<?, ?, ?> repositoryMeta = repositoryMetaRegistry.get(repositoryClass);
+        if (repositoryMeta == null || repositoryMeta.getPreloadedCollection() == null) {
+            return false;
+        }
+        return repositoryMeta.getPreloadedCollection().getCurrentSnapshot() != null;
+    }
+
+    /**
+     * Creates the repository, or returns the already created instance.
+     * If another thread is currently creating the same repository, this call waits for its instance.
+     *
+     * @param repositoryClass The class of the repository
+     * @param <E>             The generic type of the entity
+     * @param <ID>            The generic type of the unique id of the entity
+     * @param <R>             The generic type of the repository
+     * @return The only instance of the repository
+     */
     @SuppressWarnings("unchecked")
     public <E, ID, R extends Repository<E, ID>> @NotNull R create(@NotNull Class<R> repositoryClass) {
+        // Only one thread creates the repository, so there are never multiple instances of the same repository.
+        CompletableFuture<Repository<?, ?>> future = new CompletableFuture<>();
+        CompletableFuture<Repository<?, ?>> existingFuture = repositoryRegistry.putIfAbsent(repositoryClass, future);
+        if (existingFuture != null) {
+            try {
+                return (R) existingFuture.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
         try {
+            R repository = createRepository(repositoryClass);
+            future.complete(repository);
+            return repository;
+        } catch (RuntimeException e) {
+            // The failed repository can be created again.
+            repositoryRegistry.remove(repositoryClass, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
 
-            // Check for already created repository to avoid multiply instances of the same repository
-            if (repositoryRegistry.containsKey(repositoryClass)) {
-                return (R) repositoryRegistry.get(repositoryClass);
+    /**
+     * Creates all repositories in parallel and returns, when all of them are ready.
+     * Every repository is created like by {@link #create(Class)}, so already created repositories are reused.
+     *
+     * @param repositoryClasses The classes of the repositories
+     * @return The instances of the repositories, in the order of the given classes
+     * @throws RuntimeException if any of the repositories couldn't be created. The failures of the other
+     *                          repositories are added as suppressed exceptions.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public @NotNull Map<Class<?>, Repository<?, ?>> createAll(@NotNull Class<?>... repositoryClasses) {
+        for (Class<?> repositoryClass : repositoryClasses) {
+            if (!Repository.class.isAssignableFrom(repositoryClass)) {
+                throw new IllegalArgumentException(repositoryClass.getName() + " doesn't extend " +
+                    Repository.class.getName());
             }
+        }
+        Map<Class<?>, Repository<?, ?>> repositoryMap = new LinkedHashMap<>();
+        if (repositoryClasses.length == 0) {
+            return repositoryMap;
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService bootstrapExecutor = Executors.newFixedThreadPool(
+            Math.min(repositoryClasses.length, MAX_BOOTSTRAP_THREADS), runnable -> {
+                Thread thread = new Thread(runnable, "en2do-bootstrap-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            Map<Class<?>, CompletableFuture<Repository<?, ?>>> futureMap = new LinkedHashMap<>();
+            for (Class<?> repositoryClass : repositoryClasses) {
+                futureMap.computeIfAbsent(repositoryClass, key -> CompletableFuture.supplyAsync(
+                    () -> create((Class) key), bootstrapExecutor));
+            }
+            RuntimeException exception = null;
+            for (Map.Entry<Class<?>, CompletableFuture<Repository<?, ?>>> futureEntry : futureMap.entrySet()) {
+                try {
+                    repositoryMap.put(futureEntry.getKey(), futureEntry.getValue().join());
+                } catch (CompletionException e) {
+                    RuntimeException cause = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause() : e;
+                    if (exception == null) {
+                        exception = cause;
+                    } else {
+                        exception.addSuppressed(cause);
+                    }
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+            return repositoryMap;
+        } finally {
+            bootstrapExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Returns a handle of the repository, without parsing, validating or connecting anything.
+     * The repository is created like by {@link #create(Class)} on the first call of any of its methods,
+     * so errors of the repository are thrown by that call.
+     * If the repository is already created, its instance is returned instead of a handle.
+     *
+     * @param repositoryClass The class of the repository
+     * @param <E>             The generic type of the entity
+     * @param <ID>            The generic type of the unique id of the entity
+     * @param <R>             The generic type of the repository
+     * @return The handle or the instance of the repository
+     */
+    @SuppressWarnings("unchecked")
+    public <E, ID, R extends Repository<E, ID>> @NotNull R createLazy(@NotNull Class<R> repositoryClass) {
+        return (R) createLazyRepository(repositoryClass);
+    }
+
+    private @NotNull Repository<?, ?> createLazyRepository(@NotNull Class<?> repositoryClass) {
+        CompletableFuture<Repository<?, ?>> future = repositoryRegistry.get(repositoryClass);
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        return lazyRepositoryRegistry.computeIfAbsent(repositoryClass, key -> (Repository<?, ?>) Proxy.newProxyInstance(
+            repositoryClass.getClassLoader(), new Class<?>[]{repositoryClass},
+            new LazyRepositoryHandler(repositoryClass, this::resolveInvocationHandler)));
+    }
+
+    // Creates the repository on the first call of its lazy handle. The handle calls the invocation handler
+    // of the created repository directly afterwards, so no reflection is needed on the calls.
+    @SuppressWarnings("unchecked")
+    private @NotNull InvocationHandler resolveInvocationHandler(@NotNull Class<?> repositoryClass) {
+        create((Class<Repository<Object, Object>>) repositoryClass);
+        return Objects.requireNonNull(invocationHandlerRegistry.get(repositoryClass));
+    }
+
+    /**
+     * Checks if the repository is created and ready. Handles of lazy repositories aren't counted,
+     * until the repository is created on first use or by the warm-up.
+     *
+     * @param repositoryClass The class of the repository
+     * @return true, if the repository is created
+     */
+    public boolean isCreated(@NotNull Class<?> repositoryClass) {
+        CompletableFuture<Repository<?, ?>> future = repositoryRegistry.get(repositoryClass);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * Scans the package and its sub packages for repositories. Every interface, which extends the Repository
+     * and is annotated with @Collection, is found. The classes are loaded by the context class loader.
+     *
+     * @param packageName The name of the package, e.g. "com.example.repository"
+     * @return The classes of the repositories, sorted by their names
+     */
+    public @NotNull List<Class<? extends Repository<?, ?>>> scan(@NotNull String packageName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = MongoManager.class.getClassLoader();
+        }
+        try {
+            return RepositoryScanner.scan(packageName, classLoader);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Scans the package for repositories and creates all of them in parallel, like {@link #createAll(Class[])}.
+     *
+     * @param packageName The name of the package, e.g. "com.example.repository"
+     * @return The instances of the repositories, sorted by their class names
+     */
+    public @NotNull Map<Class<?>, Repository<?, ?>> createPackage(@NotNull String packageName) {
+        return createAll(scan(packageName).toArray(new Class<?>[0]));
+    }
+
+    /**
+     * Scans the package for repositories and returns a handle of every repository, like {@link #createLazy(Class)}.
+     * The first calls of the handles create their repositories, unless they're already created by the warm-up.
+     *
+     * @param packageName The name of the package, e.g. "com.example.repository"
+     * @param warmUp      true, if the repositories are created by {@link #warmUp(Class[])} in the background
+     * @return The handles of the repositories, sorted by their class names
+     */
+    public @NotNull Map<Class<?>, Repository<?, ?>> createPackageLazy(@NotNull String packageName, boolean warmUp) {
+        List<Class<? extends Repository<?, ?>>> repositoryClassList = scan(packageName);
+        Map<Class<?>, Repository<?, ?>> repositoryMap = new LinkedHashMap<>();
+        for (Class<? extends Repository<?, ?>> repositoryClass : repositoryClassList) {
+            repositoryMap.put(repositoryClass, createLazyRepository(repositoryClass));
+        }
+        if (warmUp) {
+            warmUp(repositoryClassList.toArray(new Class<?>[0]));
+        }
+        return repositoryMap;
+    }
+
+    /**
+     * Creates the repositories in the background, like {@link #createAll(Class[])}, so the first calls of their
+     * lazy handles don't have to wait. A first call, which happens during the warm-up, waits only for its
+     * repository. Repositories, which fail, are created again on their first call.
+     *
+     * @param repositoryClasses The classes of the repositories
+     * @return The future, which is completed after all repositories are created,
+     * or completed exceptionally with the failure of {@link #createAll(Class[])}
+     */
+    public @NotNull CompletableFuture<Map<Class<?>, Repository<?, ?>>> warmUp(@NotNull Class<?>... repositoryClasses) {
+        CompletableFuture<Map<Class<?>, Repository<?, ?>>> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(createAll(repositoryClasses));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, "en2do-warmup");
+        // The warm-up doesn't keep the application alive.
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E, ID, R extends Repository<E, ID>> @NotNull R createRepository(@NotNull Class<R> repositoryClass) {
+        String reservedCollectionName = null;
+        try {
 
             // Parse annotated collection name and create pojo-related mongo collection
             Collection collectionAnnotation = repositoryClass.getAnnotation(Collection.class);
@@ -209,11 +562,12 @@ public class MongoManager {
             if (entityCollectionName.trim().equalsIgnoreCase("")) {
                 throw new RepositoryNameNotFoundException(repositoryClass, Collection.class);
             }
-            for (RepositoryMeta<?, ?, ?> meta : repositoryMetaRegistry.values()) {
-                if (meta.getCollectionName().equalsIgnoreCase(entityCollectionName)) {
-                    throw new RepositoryNameDuplicateException(repositoryClass, Collection.class);
-                }
+            // The name is reserved atomically, so repositories, which are created in parallel, can't share it.
+            String collectionNameKey = entityCollectionName.toLowerCase(Locale.ROOT);
+            if (collectionNameRegistry.putIfAbsent(collectionNameKey, repositoryClass) != null) {
+                throw new RepositoryNameDuplicateException(repositoryClass, Collection.class);
             }
+            reservedCollectionName = collectionNameKey;
 
             Map<Class<?>, List<Class<?>>> genericTypes = GenericUtils.getGenericTypes(repositoryClass);
             if (genericTypes.isEmpty()) {
@@ -243,9 +597,33 @@ public class MongoManager {
 
             Validator.validateCompatibility(repositoryClass, entityClass);
 
+            EntityCache entityCache = repositoryClass.getAnnotation(EntityCache.class);
+            if (entityCache != null && (entityCache.maxEntries() <= 0
+                || entityCache.expireAfterWrite() < 0 || entityCache.expireAfterAccess() < 0
+                || entityCache.offHeapBytes() < 0)) {
+                throw new RepositoryInvalidEntityCacheException(repositoryClass);
+            }
+            IdBloomFilter idBloomFilter = repositoryClass.getAnnotation(IdBloomFilter.class);
+            if (idBloomFilter != null && (idBloomFilter.expectedEntries() <= 0
+                || !(idBloomFilter.falsePositiveRate() > 0 && idBloomFilter.falsePositiveRate() < 1)
+                || entityIdClass.getMethod("hashCode").getDeclaringClass() == Object.class
+                || !repositoryClass.isAnnotationPresent(ChangeStreamInvalidation.class))) {
+                throw new RepositoryInvalidIdBloomFilterException(repositoryClass);
+            }
+            Preload preload = repositoryClass.getAnnotation(Preload.class);
+            if (preload != null && preload.refreshInterval() < 0) {
+                throw new RepositoryInvalidPreloadException(repositoryClass);
+            }
+
             // Collect all fields recursively to ensure, we'll get the inheritance fields
             Set<Field> entityFieldSet = FieldUtils.collectFields(entityClass);
 
+            // Get the optional text index, which is used to validate the "Search" filters.
+            TextIndex textIndex = entityClass.getAnnotation(TextIndex.class);
+
+            // Get the geo indexes, which are used to validate the "Near" filters.
+            Set<GeoIndex> geoIndexSet = AnnotationUtils.collectAnnotations(entityClass, GeoIndex.class);
+
             // Get the field of the uniqueId of the entity.
             Field tempEntityUniqueIdField = null;
             for (Field field : entityFieldSet) {
@@ -261,6 +639,17 @@ public class MongoManager {
                 throw new RepositoryIdNotFoundException(entityClass, Id.class);
             }
             Field entityUniqueIdField = tempEntityUniqueIdField;
+            // The unique id is read without a cast, so the field has to hold the type of the unique id.
+            // Fields of a generic type are erased, so they only have to be compatible.
+            Class<?> uniqueIdFieldClass = MethodType.methodType(entityUniqueIdField.getType()).wrap().returnType();
+            if (!entityIdClass.isAssignableFrom(uniqueIdFieldClass) && !uniqueIdFieldClass.isAssignableFrom(entityIdClass)) {
+                throw new RepositoryIdTypeException(entityUniqueIdField, entityIdClass, repositoryClass);
+            }
+
+            // The codec is generated before anything looks up the codec of the entity,
+            // because the registry keeps the first codec, which it resolved for a class.
+            boolean separateEntityId = repositoryClass.isAnnotationPresent(SeparateEntityId.class);
+            entityCodecProvider.register(entityClass, separateEntityId ? null : entityUniqueIdField.getName());
 
             // Creating the collection and the repository metaobjects.
             MongoCollection<E> entityCollection = database.getCollection(entityCollectionName, entityClass);
@@ -295,6 +684,10 @@ public class MongoManager {
             repositoryMeta.registerPredefinedMethod(new MethodToString<>(repositoryMeta, entityCollection));
             repositoryMeta.registerPredefinedMethod(new MethodUpdateAllFields<>(repositoryMeta, entityCollection));
 
+            // The method names are parsed by the same rules as by the RepositoryProcessor at compile time.
+            MethodNameParser<Field> methodNameParser = new MethodNameParser<>(ReflectionFieldModel.INSTANCE,
+                entityFieldSet);
+
             // Iterate through the repository methods
             for (Method method : repositoryClass.getMethods()) {
                 String methodName = method.getName();
@@ -311,7 +704,7 @@ public class MongoManager {
                 }
 
                 // Skip if the method should be ignored
-                if (IGNORED_DEFAULT_METHODS.contains(methodName)) {
+                if (MethodNameParser.isIgnoredMethod(methodName)) {
                     continue;
                 }
 
@@ -322,8 +715,8 @@ public class MongoManager {
                 boolean isAsyncMethod = method.isAnnotationPresent(Async.class);
                 if (isAsyncMethod) {
                     // Check async method name
-                    if (methodName.startsWith("async")) {
-                        String predefinedName = repositoryMeta.getPredefinedNameByAsyncName(methodName);
+                    if (MethodNameParser.isAsyncName(methodName)) {
+                        String predefinedName = MethodNameParser.getPredefinedNameByAsyncName(methodName);
                         if (repositoryMeta.isRepositoryMethod(predefinedName)) {
                             continue;
                         }
@@ -336,6 +729,14 @@ public class MongoManager {
                     returnType = GenericUtils.getGenericTypeOfReturnType(method);
                 }
 
+                // Aggregation methods define their own pipeline, so the method name isn't parsed.
+                Aggregation aggregation = method.getAnnotation(Aggregation.class);
+                if (aggregation != null) {
+                    AggregationMethod<E, ID, R> aggregationMethod = createAggregationMethod(repositoryMeta, method,
+                        aggregation, isAsyncMethod);
+                    repositoryMeta.registerAggregationMethod(methodName, aggregationMethod);
+                    continue;
+                }
 
                 // Parse the MethodOperator by the methodName
                 MethodOperator methodOperator = MethodOperator.parseMethodStartsWith(methodName);
@@ -345,23 +746,61 @@ public class MongoManager {
 
                 // Check the returnTypes by using the predefined validator.
                 methodOperator.validate(method, returnType, entityClass, repositoryClass);
+                if (LazyList.class.isAssignableFrom(returnType) && methodOperator != MethodOperator.FIND_MANY) {
+                    throw new MethodLazyListNotAllowedException(method, repositoryClass);
+                }
+
+                // Only results of reading methods can be cached, a LazyList queries its batches on access.
+                CacheResult cacheResult = method.getAnnotation(CacheResult.class);
+                if (cacheResult != null) {
+                    if (methodOperator == MethodOperator.DELETE || methodOperator == MethodOperator.UPDATE_FIELD
+                        || LazyList.class.isAssignableFrom(returnType)
+                        || cacheResult.ttl() <= 0 || cacheResult.maxEntries() <= 0) {
+                        throw new MethodCacheResultNotAllowedException(method, repositoryClass);
+                    }
+                    repositoryMeta.registerResultCache(methodName,
+                        new QueryResultCache(cacheResult.ttl(), cacheResult.time(), cacheResult.maxEntries()));
+                }
+
+                // Concurrent calls of reading methods can share one query, writes have to be executed every time.
+                boolean isReadingMethod = methodOperator != MethodOperator.DELETE
+                    && methodOperator != MethodOperator.UPDATE_FIELD && !LazyList.class.isAssignableFrom(returnType);
+                if (method.isAnnotationPresent(SingleFlight.class)) {
+                    if (!isReadingMethod || cacheResult != null) {
+                        throw new MethodSingleFlightNotAllowedException(method, repositoryClass);
+                    }
+                    repositoryMeta.registerSingleFlightGroup(methodName, new SingleFlightGroup());
+                } else if (repositoryClass.isAnnotationPresent(SingleFlight.class) && isReadingMethod && cacheResult == null) {
+                    repositoryMeta.registerSingleFlightGroup(methodName, new SingleFlightGroup());
+                }
 
                 // Remove the leading methodOperator to ensure it doesn't trick the validation
                 String methodNameWithoutOperator = methodOperator.removeOperatorFrom(methodName);
-                if (methodName.contains("And") && methodName.contains("Or")) {
+                if (MethodNameParser.isMixedChain(methodNameWithoutOperator)) {
                     throw new MethodDuplicatedChainException(method, repositoryClass);
                 }
 
+                // Aggregations declare the aggregated field in front of the optional "By" keyword,
+                // e.g. "sumBalanceByCustomerId". Everything after the "By" keyword is parsed as filter.
+                Field aggregationField = null;
+                if (methodOperator.isAggregation()) {
+                    aggregationField = methodNameParser.findAggregationField(methodNameWithoutOperator);
+                    if (aggregationField == null) {
+                        String aggregationFieldName = MethodNameParser.getAggregationFieldName(methodNameWithoutOperator);
+                        throw new MethodFieldNotFoundException(aggregationFieldName, method, entityClass, repositoryClass);
+                    }
+                    if (methodOperator != MethodOperator.COUNT_GROUPED && !GenericUtils.isNumber(aggregationField.getType())) {
+                        throw new MethodAggregationFieldTypeException(method, repositoryClass, aggregationField);
+                    }
+                    methodNameWithoutOperator = MethodNameParser.removeAggregationField(methodNameWithoutOperator,
+                        aggregationField.getName());
+                }
+
                 // Split the "parts" of the methods by "And" or "Or" keywords, because both in one query are not allowed.
                 // That's currently the only way to get every filter part.
-                boolean multipleFilter = methodNameWithoutOperator.contains("And") || methodNameWithoutOperator.contains("Or");
-                boolean andFilter = methodNameWithoutOperator.contains("And");
-                String[] methodFilterPartArray;
-                if (andFilter) {
-                    methodFilterPartArray = methodNameWithoutOperator.split("And");
-                } else {
-                    methodFilterPartArray = methodNameWithoutOperator.split("Or");
-                }
+                boolean andFilter = MethodNameParser.isAndChain(methodNameWithoutOperator);
+                boolean multipleFilter = andFilter || MethodNameParser.isOrChain(methodNameWithoutOperator);
+                String[] methodFilterPartArray = MethodNameParser.splitFilterParts(methodNameWithoutOperator);
 
                 // Parse, validate and handle the method name and "compile" it to en2do internal usage objects.
 
@@ -370,13 +809,42 @@ public class MongoManager {
                 int nextParameterIndex = 0;
                 int itemCount = 0;
                 List<MethodFilterPart> filterPartList = new LinkedList<>();
+                boolean hasTextSearch = false;
+                boolean hasGeoNear = false;
                 for (String filterOperatorString : methodFilterPartArray) {
 
                     // Create the FilterType using the following paring method
-                    FilterType filterType = createFilterType(entityClass, repositoryClass, method, filterOperatorString,
-                        entityFieldSet);
+                    FilterType filterType = createFilterType(repositoryMeta, methodNameParser, method, filterOperatorString);
                     int filterTypeParameterCount = filterType.getOperator().getExpectedParameterCount();
 
+                    // MongoDB allows only one "$text" expression per query, which can't be negated
+                    // and needs to be the top-level filter or part of an "$and".
+                    if (filterType.getOperator() == FilterOperator.SEARCH) {
+                        if (hasTextSearch || filterType.isNotFilter() || (multipleFilter && !andFilter)) {
+                            throw new MethodInvalidTextSearchException(method, repositoryClass);
+                        }
+                        String searchFieldName = filterType.getFieldName();
+                        if (textIndex == null || Arrays.stream(textIndex.value()).noneMatch(searchFieldName::equalsIgnoreCase)) {
+                            throw new MethodTextIndexFieldException(method, repositoryClass, searchFieldName);
+                        }
+                        hasTextSearch = true;
+                    }
+
+                    // "$nearSphere" sorts the entities by distance, so it's only allowed once in find queries
+                    // and can't be counted, which is required by a LazyList.
+                    if (filterType.getOperator() == FilterOperator.NEAR) {
+                        boolean isFindMethod = methodOperator == MethodOperator.FIND_FIRST
+                            || methodOperator == MethodOperator.FIND_MANY
+                            || methodOperator == MethodOperator.PAGE;
+                        String nearFieldName = filterType.getFieldName();
+                        boolean hasGeoIndex = geoIndexSet.stream().map(GeoIndex::value).anyMatch(nearFieldName::equalsIgnoreCase);
+                        if (hasGeoNear || filterType.isNotFilter() || (multipleFilter && !andFilter) || !isFindMethod
+                            || LazyList.class.isAssignableFrom(returnType) || !hasGeoIndex) {
+                            throw new MethodInvalidGeoNearException(method, repositoryClass);
+                        }
+                        hasGeoNear = true;
+                    }
+
                     // Validate the parameter count and types of the respective filter type
                     for (int i = 0; i < filterTypeParameterCount; i++) {
                         int paramIndex = nextParameterIndex + i;
@@ -413,6 +881,54 @@ public class MongoManager {
                                     break;
                                 }
                                 throw new MethodMismatchingTypeException(method, repositoryClass, java.util.Collection.class, paramClass);
+                            case NEAR:
+                            case WITHIN_RADIUS:
+                            case WITHIN_BOX:
+                                if (GenericUtils.isNotTypeOf(Point.class, fieldClass)) {
+                                    throw new MethodMismatchingTypeException(method, repositoryClass, fieldClass, Point.class);
+                                }
+                                // The second parameter of "Near" and "WithinRadius" is the distance in meters.
+                                boolean isDistance = i == 1 && filterType.getOperator() != FilterOperator.WITHIN_BOX;
+                                if (isDistance && !GenericUtils.isNumber(paramClass)) {
+                                    throw new MethodMismatchingTypeException(method, repositoryClass, double.class, paramClass);
+                                }
+                                if (!isDistance && GenericUtils.isNotTypeOf(Point.class, paramClass)) {
+                                    throw new MethodMismatchingTypeException(method, repositoryClass, fieldClass, paramClass);
+                                }
+                                break;
+                            case ELEM_MATCH:
+                            case SIZE:
+                            case ALL:
+                            case CONTAINS_ELEMENT:
+                                // The array filters are validated against the type of the elements.
+                                Class<?> elementClass = GenericUtils.getElementTypeOfField(field);
+                                if (elementClass == null) {
+                                    throw new MethodMismatchingTypeException(method, repositoryClass, fieldClass, paramClass);
+                                }
+                                Class<?> elementParamClass = paramClass;
+                                if (filterType.getOperator() == FilterOperator.SIZE) {
+                                    if (GenericUtils.isNotTypeOf(int.class, paramClass)) {
+                                        throw new MethodMismatchingTypeException(method, repositoryClass, int.class, paramClass);
+                                    }
+                                    break;
+                                }
+                                if (filterType.getOperator() == FilterOperator.ELEM_MATCH
+                                    && FieldUtils.getEmbeddedType(field) == null) {
+                                    throw new MethodMismatchingTypeException(method, repositoryClass, fieldClass, paramClass);
+                                }
+                                if (filterType.getOperator() == FilterOperator.ALL) {
+                                    if (paramClass.isArray()) {
+                                        elementParamClass = paramClass.getComponentType();
+                                    } else if (!GenericUtils.isNotTypeOf(java.util.Collection.class, paramClass)) {
+                                        elementParamClass = GenericUtils.getGenericTypeOfParameter(method, paramIndex);
+                                    } else {
+                                        throw new MethodMismatchingTypeException(method, repositoryClass, java.util.Collection.class, paramClass);
+                                    }
+                                }
+                                if (GenericUtils.isNotTypeOf(elementClass, elementParamClass)) {
+                                    throw new MethodInvalidListParameterException(method, repositoryClass, elementClass, elementParamClass);
+                                }
+                                break;
                             case HAS_KEY:
                                 if (GenericUtils.isNotTypeOf(Map.class, fieldClass)) {
                                     throw new MethodMismatchingTypeException(method, repositoryClass, fieldClass, paramClass);
@@ -438,42 +954,26 @@ public class MongoManager {
                 }
 
                 int methodParameterCount = method.getParameterCount();
-                // If the method is a pageBy, it needs at least one parameter of type Pager
-                if (methodOperator == MethodOperator.PAGE && methodParameterCount == 0) {
-                    throw new MethodPageRequiredException(method, repositoryClass, Pagination.class);
-                }
                 // Validate the parameterCount of the filters and the method parameters itself.
-                if (expectedParameterCount != methodParameterCount) {
-                    if (methodParameterCount > 0) {
-                        // Subtract 1 from parameterCount. This object could be a Sort or Pager object.
-                        // That means, the expectedParameterCount is less than the actualParameterCount.
-                        Class<?> lastMethodParameter = method.getParameterTypes()[methodParameterCount - 1];
-                        if (lastMethodParameter.isAssignableFrom(Sort.class)) {
-                            if (methodOperator == MethodOperator.PAGE) {
-                                throw new MethodSortNotAllowedException(method, repositoryClass);
-                            }
-                            if ((expectedParameterCount + 1) != methodParameterCount) {
-                                throw new MethodParameterCountException(method, repositoryClass, (expectedParameterCount + 1), methodParameterCount);
-                            }
-                        }
-                        if (lastMethodParameter.isAssignableFrom(Pagination.class)) {
-                            if (methodOperator != MethodOperator.PAGE) {
-                                throw new MethodPageNotAllowedException(method, repositoryClass);
-                            }
-                            if ((expectedParameterCount + 1) != methodParameterCount) {
-                                throw new MethodParameterCountException(method, repositoryClass, (expectedParameterCount + 1), methodParameterCount);
-                            }
-                        }
-                        if (lastMethodParameter.isAssignableFrom(UpdateBatch.class)) {
-                            if (methodOperator != MethodOperator.UPDATE_FIELD) {
-                                throw new MethodBatchNotAllowedException(method, repositoryClass);
-                            }
-                            if ((expectedParameterCount + 1) != methodParameterCount) {
-                                throw new MethodParameterCountException(method, repositoryClass, (expectedParameterCount + 1), methodParameterCount);
-                            }
-                        }
-                    } else {
-                        throw new MethodParameterCountException(method, repositoryClass, expectedParameterCount, methodParameterCount);
+                // The last parameter could be a Sort, Pagination or UpdateBatch object.
+                Class<?> lastParameterClass = methodParameterCount > 0
+                    ? method.getParameterTypes()[methodParameterCount - 1] : null;
+                ParameterViolation parameterViolation = MethodNameParser.checkParameterCount(methodOperator,
+                    expectedParameterCount, methodParameterCount,
+                    objectClass -> lastParameterClass != null && lastParameterClass.isAssignableFrom(objectClass));
+                if (parameterViolation != null) {
+                    switch (parameterViolation.getType()) {
+                        case PAGE_REQUIRED:
+                            throw new MethodPageRequiredException(method, repositoryClass, Pagination.class);
+                        case SORT_NOT_ALLOWED:
+                            throw new MethodSortNotAllowedException(method, repositoryClass);
+                        case PAGE_NOT_ALLOWED:
+                            throw new MethodPageNotAllowedException(method, repositoryClass);
+                        case BATCH_NOT_ALLOWED:
+                            throw new MethodBatchNotAllowedException(method, repositoryClass);
+                        default:
+                            throw new MethodParameterCountException(method, repositoryClass,
+                                parameterViolation.getExpectedCount(), parameterViolation.getActualCount());
                     }
                 }
 
@@ -484,11 +984,19 @@ public class MongoManager {
                         throw new MethodSortNotAllowedException(method, repositoryClass);
                     }
                     String sortFieldName = sortAnnotation.field();
-                    Field field = FieldUtils.findFieldByName(sortFieldName, entityFieldSet);
-                    if (field == null) {
+                    if (FieldUtils.findFieldPathByDotPath(sortFieldName, entityFieldSet) == null) {
                         throw new MethodSortFieldNotFoundException(sortFieldName, method, entityClass, repositoryClass);
                     }
                 }
+                // Check if the text score is available to sort.
+                if (method.isAnnotationPresent(SortByTextScore.class)) {
+                    if (methodOperator == MethodOperator.PAGE) {
+                        throw new MethodSortNotAllowedException(method, repositoryClass);
+                    }
+                    if (!hasTextSearch) {
+                        throw new MethodTextScoreSortException(method, repositoryClass);
+                    }
+                }
                 if (methodParameterCount > 0) {
                     Class<?> lastMethodParameter = method.getParameterTypes()[methodParameterCount - 1];
                     // Check if both Sort types are used.
@@ -496,7 +1004,8 @@ public class MongoManager {
                     boolean hasAnySortAnnotation = method.isAnnotationPresent(Limit.class)
                         || method.isAnnotationPresent(Skip.class)
                         || method.isAnnotationPresent(SortBy.class)
-                        || method.isAnnotationPresent(SortByArray.class);
+                        || method.isAnnotationPresent(SortByArray.class)
+                        || method.isAnnotationPresent(SortByTextScore.class);
                     if (hasAnySortAnnotation && lastMethodParameter.isAssignableFrom(Sort.class)) {
                         throw new MethodMixedSortException(method, repositoryClass, Sort.class, SortBy.class);
                     }
@@ -504,9 +1013,47 @@ public class MongoManager {
                     // while runtime
                 }
 
+                // The case-insensitive collation can only be used, if every "Ign" filter is backed by
+                // a case-insensitive index and no other filter compares strings case-sensitive.
+                boolean useCaseInsensitiveCollation = false;
+                for (MethodFilterPart filterPart : filterPartList) {
+                    FilterType filterType = filterPart.getFilterType();
+                    Field field = filterType.getField();
+                    if (filterType.getOperator() == FilterOperator.EQUALS_IGNORE_CASE) {
+                        if (!field.isAnnotationPresent(CaseInsensitive.class)) {
+                            useCaseInsensitiveCollation = false;
+                            break;
+                        }
+                        useCaseInsensitiveCollation = true;
+                        continue;
+                    }
+                    if (!filterType.getOperator().isComparingValue()) {
+                        continue;
+                    }
+                    // The collation also applies to the strings of lists and to every field of the elements,
+                    // which are compared by the filter of "ElemMatch".
+                    if (field.getType() == String.class || GenericUtils.getElementTypeOfField(field) == String.class
+                        || filterType.getOperator() == FilterOperator.ELEM_MATCH) {
+                        useCaseInsensitiveCollation = false;
+                        break;
+                    }
+                }
+                Collation collation = useCaseInsensitiveCollation ? RepositoryMeta.CASE_INSENSITIVE_COLLATION : null;
+
                 DynamicMethod<E, ID, R> dynamicMethod = new DynamicMethod<>(method, repositoryMeta, methodOperator,
-                    multipleFilter, andFilter, filterPartList);
+                    multipleFilter, andFilter, filterPartList, aggregationField, collation);
                 repositoryMeta.registerDynamicMethod(methodName, dynamicMethod);
+
+                // Methods, which only compare top-level fields by equality, are answered by the preloaded snapshot.
+                PreloadedCollection<E, ID, R> preloadedCollection = repositoryMeta.getPreloadedCollection();
+                if (preloadedCollection != null) {
+                    PreloadQuery<E> preloadQuery = createPreloadQuery(method, methodOperator, returnType,
+                        multipleFilter && !andFilter, filterPartList, expectedParameterCount);
+                    if (preloadQuery != null) {
+                        preloadedCollection.registerIndex(preloadQuery.getIndexedField());
+                        repositoryMeta.registerPreloadQuery(methodName, preloadQuery);
+                    }
+                }
             }
 
             // Drop all entities on start if annotation is present.
@@ -524,18 +1071,24 @@ public class MongoManager {
                 throw new RepositoryNonIndexIdException(repositoryClass);
             }
 
+            // The indexes are collected and created by one command, after the whole configuration is validated.
+            List<IndexModel> indexModelList = new ArrayList<>();
+
             // Creating an index on the uniqueIdentifier field of the entity to speed up queries,
             // but only if wanted. Users can disable that with the annotation.
             if (repositoryMeta.isSeparateEntityId()
                 && !entityUniqueIdField.isAnnotationPresent(NonIndex.class)) {
-                entityCollection.createIndex(Indexes.ascending(entityUniqueIdField.getName()), new IndexOptions().unique(true));
+                indexModelList.add(new IndexModel(Indexes.ascending(entityUniqueIdField.getName()),
+                    new IndexOptions().unique(true)));
             }
             Set<CompoundIndex> compoundIndexSet = AnnotationUtils.collectAnnotations(entityClass, CompoundIndex.class);
+            // The fields of the single field indexes, which can't be case-insensitive indexes at the same time.
+            Set<String> singleFieldIndexSet = new HashSet<>();
             for (CompoundIndex compoundIndex : compoundIndexSet) {
                 // Checking if the field in the annotation exists in the entity class.
                 Index[] fieldIndexes = compoundIndex.value();
                 for (Index fieldIndex : fieldIndexes) {
-                    if (entityFieldSet.stream().map(Field::getName).noneMatch(fieldName -> fieldIndex.value().equalsIgnoreCase(fieldName))) {
+                    if (FieldUtils.findFieldPathByDotPath(fieldIndex.value(), entityFieldSet) == null) {
                         throw new RepositoryIndexFieldNotFoundException(repositoryClass, fieldIndex.value());
                     }
                 }
@@ -551,9 +1104,54 @@ public class MongoManager {
                     }
                     indexBsonList.add(bsonIndex);
                 }
+                if (fieldIndexes.length == 1) {
+                    singleFieldIndexSet.add(fieldIndexes[0].value());
+                }
                 IndexOptions indexOptions = new IndexOptions()
                     .unique(compoundIndex.uniqueIndex());
-                entityCollection.createIndex(Indexes.compoundIndex(indexBsonList), indexOptions);
+                indexModelList.add(new IndexModel(Indexes.compoundIndex(indexBsonList), indexOptions));
+            }
+
+            // Creating the case-insensitive indexes, which are used by the "Ign" filter operator.
+            for (Field entityField : entityFieldSet) {
+                if (!entityField.isAnnotationPresent(CaseInsensitive.class)) {
+                    continue;
+                }
+                if (entityField.getType() != String.class || entityField.equals(entityUniqueIdField)) {
+                    throw new RepositoryCaseInsensitiveFieldException(repositoryClass, entityField.getName());
+                }
+                if (singleFieldIndexSet.contains(entityField.getName())) {
+                    throw new RepositoryCaseInsensitiveIndexException(repositoryClass, entityField.getName());
+                }
+                // The index gets its own name, because the default name would be the same as of a plain index.
+                IndexOptions indexOptions = new IndexOptions()
+                    .name(entityField.getName() + RepositoryMeta.CASE_INSENSITIVE_INDEX_SUFFIX)
+                    .collation(RepositoryMeta.CASE_INSENSITIVE_COLLATION);
+                indexModelList.add(new IndexModel(Indexes.ascending(entityField.getName()), indexOptions));
+            }
+
+            // Creating the "2dsphere" indexes, which are used by the geospatial filter operators.
+            for (GeoIndex geoIndex : geoIndexSet) {
+                String geoField = geoIndex.value();
+                List<Field> geoFieldPath = FieldUtils.findFieldPathByDotPath(geoField, entityFieldSet);
+                if (geoFieldPath == null || geoFieldPath.get(geoFieldPath.size() - 1).getType() != Point.class) {
+                    throw new RepositoryGeoFieldNotFoundException(repositoryClass, geoField);
+                }
+                indexModelList.add(new IndexModel(Indexes.geo2dsphere(geoField)));
+            }
+
+            // Creating the text index, which is required by the "Search" filter operator.
+            if (textIndex != null) {
+                List<Bson> textIndexBsonList = new ArrayList<>();
+                for (String textFieldName : textIndex.value()) {
+                    if (FieldUtils.findFieldPathByDotPath(textFieldName, entityFieldSet) == null) {
+                        throw new RepositoryIndexFieldNotFoundException(repositoryClass, textFieldName);
+                    }
+                    textIndexBsonList.add(Indexes.text(textFieldName));
+                }
+                IndexOptions indexOptions = new IndexOptions()
+                    .defaultLanguage(textIndex.defaultLanguage());
+                indexModelList.add(new IndexModel(Indexes.compoundIndex(textIndexBsonList), indexOptions));
             }
 
             Set<TTLIndex> ttlIndexSet = AnnotationUtils.collectAnnotations(entityClass, TTLIndex.class);
@@ -576,43 +1174,185 @@ public class MongoManager {
                 }
                 IndexOptions indexOptions = new IndexOptions()
                     .expireAfter(ttlIndex.ttl(), ttlIndex.time());
-                entityCollection.createIndex(Indexes.ascending(ttlField), indexOptions);
+                indexModelList.add(new IndexModel(Indexes.ascending(ttlField), indexOptions));
+            }
+
+            // Two indexes with the same keys and collation can't be created.
+            String duplicateIndexKeys = IndexReconciler.findDuplicate(indexModelList);
+            if (duplicateIndexKeys != null) {
+                throw new RepositoryDuplicatedIndexException(repositoryClass, duplicateIndexKeys);
             }
 
+            // The existing indexes are compared with the declared indexes, so only the differences are built.
+            IndexReconciliation indexReconciliation = repositoryClass.getAnnotation(IndexReconciliation.class);
+            IndexReconciler indexReconciler = new IndexReconciler(indexModelList,
+                entityCollection.listIndexes(BsonDocument.class).into(new ArrayList<>()),
+                indexReconciliation != null && indexReconciliation.dropUndeclared());
+            boolean indexDryRun = indexReconciliation != null && indexReconciliation.dryRun();
+            if (!indexDryRun) {
+                indexReconciler.apply(database, entityCollection, entityCollectionName,
+                    indexReconciliation != null && indexReconciliation.hiddenBuild());
+            }
+            indexReportRegistry.put(repositoryClass, indexReconciler.createReport(entityCollectionName, indexDryRun));
+
             ///////////////////////////
             //                       //
             // Validation successful //
             //                       //
             ///////////////////////////
 
-            // Create dynamic repository proxy object
-            ClassLoader repoClassLoader = repositoryClass.getClassLoader();
-            Class<?>[] interfaces = new Class[]{repositoryClass};
-            Repository<E, ID> repository = (Repository<E, ID>) Proxy.newProxyInstance(repoClassLoader, interfaces,
-                new RepositoryInvocationHandler<>(repositoryMeta, executorService));
-            repositoryRegistry.put(repositoryClass, repository);
+            RepositoryInvocationHandler<E, ID, R> invocationHandler =
+                new RepositoryInvocationHandler<>(repositoryMeta, executorService);
+            // Use the implementation, which was generated by the RepositoryProcessor at compile time
+            Repository<E, ID> repository = GeneratedRepositories.instantiate(repositoryClass,
+                invocationHandler::getMethodInvoker);
+            if (repository == null && repositoryClass.isAnnotationPresent(GenerateImplementation.class)) {
+                // Create generated repository object, which calls the invokers directly
+                repository = RepositoryClassGenerator.generate(repositoryClass, invocationHandler::getMethodInvoker);
+            }
+            if (repository == null) {
+                // Create dynamic repository proxy object
+                ClassLoader repoClassLoader = repositoryClass.getClassLoader();
+                Class<?>[] interfaces = new Class[]{repositoryClass};
+                repository = (Repository<E, ID>) Proxy.newProxyInstance(repoClassLoader, interfaces, invocationHandler);
+            }
             repositoryMetaRegistry.put(repositoryClass, repositoryMeta);
+            invocationHandlerRegistry.put(repositoryClass, invocationHandler);
+
+            // The change stream is opened last, so the drops on start don't invalidate the empty caches.
+            ChangeStreamInvalidation changeStreamInvalidation = repositoryClass.getAnnotation(ChangeStreamInvalidation.class);
+            if (changeStreamInvalidation != null && repositoryMeta.hasCaches()) {
+                ChangeStreamInvalidator<E, ID, R> changeStreamInvalidator = new ChangeStreamInvalidator<>(repositoryMeta,
+                    database, changeStreamInvalidation.resumeTokenCollection());
+                if (changeStreamInvalidator.start()) {
+                    changeStreamRegistry.put(repositoryClass, changeStreamInvalidator);
+                }
+            }
+
+            // The bloom filter is loaded after the change stream is opened,
+            // so no unique id, which is inserted by other applications in between, is missed.
+            repositoryMeta.loadIdBloomFilter();
+
+            // The snapshot is loaded after the change stream is opened for the same reason.
+            PreloadedCollection<E, ID, R> preloadedCollection = repositoryMeta.getPreloadedCollection();
+            if (preloadedCollection != null) {
+                preloadedCollection.start();
+            }
             return (R) repository;
         } catch (Exception e) {
+            // The failed repository can be created again, so its collection name is released.
+            if (reservedCollectionName != null) {
+                collectionNameRegistry.remove(reservedCollectionName, repositoryClass);
+            }
             throw new RuntimeException(e);
         }
     }
 
-    private <E> @NotNull FilterType createFilterType(@NotNull Class<E> entityClass, @NotNull Class<?> repoClass,
-                                                     @NotNull Method method, @NotNull String filterOperatorString,
-                                                     @NotNull Set<Field> fieldSet) throws Exception {
-        FilterOperator filterOperator = FilterOperator.parseFilterEndsWith(filterOperatorString);
-        String expectedFieldName = filterOperator.removeOperatorFrom(filterOperatorString);
-        boolean notFilter = false;
-        if (expectedFieldName.endsWith("Not")) {
-            expectedFieldName = expectedFieldName.replaceFirst("Not", "");
-            notFilter = true;
-        }
-        Field field = FieldUtils.findFieldByName(expectedFieldName, fieldSet);
-        if (field == null) {
-            throw new MethodFieldNotFoundException(expectedFieldName, method, entityClass, repoClass);
-        }
-        return new FilterType(field, notFilter, filterOperator);
+    private <E> @Nullable PreloadQuery<E> createPreloadQuery(@NotNull Method method, @NotNull MethodOperator methodOperator,
+                                                             @NotNull Class<?> returnType, boolean orFilter,
+                                                             @NotNull List<MethodFilterPart> filterPartList,
+                                                             int expectedParameterCount) throws IllegalAccessException {
+        if (methodOperator != MethodOperator.FIND_FIRST && methodOperator != MethodOperator.FIND_MANY
+            && methodOperator != MethodOperator.COUNT && methodOperator != MethodOperator.EXISTS) {
+            return null;
+        }
+        // Sorted, limited and lazy results are still queried, so the database applies the options.
+        if (orFilter || filterPartList.isEmpty() || LazyList.class.isAssignableFrom(returnType)
+            || method.getParameterCount() != expectedParameterCount
+            || method.isAnnotationPresent(Limit.class)
+            || method.isAnnotationPresent(Skip.class)
+            || method.isAnnotationPresent(SortBy.class)
+            || method.isAnnotationPresent(SortByArray.class)
+            || method.isAnnotationPresent(SortByTextScore.class)) {
+            return null;
+        }
+        Field[] fields = new Field[filterPartList.size()];
+        int[] parameterIndexes = new int[filterPartList.size()];
+        for (int i = 0; i < fields.length; i++) {
+            MethodFilterPart filterPart = filterPartList.get(i);
+            FilterType filterType = filterPart.getFilterType();
+            if (filterType.getOperator() != FilterOperator.EQUALS || filterType.isNotFilter()
+                || filterType.getFieldName().contains(".")) {
+                return null;
+            }
+            // MongoDB compares arrays by their elements, so they can't be looked up by a hash index.
+            Class<?> fieldClass = filterType.getField().getType();
+            if (fieldClass.isArray() || java.util.Collection.class.isAssignableFrom(fieldClass)
+                || Map.class.isAssignableFrom(fieldClass)) {
+                return null;
+            }
+            fields[i] = filterType.getField();
+            parameterIndexes[i] = filterPart.getNextParameterIndex();
+        }
+        return new PreloadQuery<>(methodOperator, fields, parameterIndexes);
+    }
+
+    private <E, ID, R extends Repository<E, ID>> @NotNull FilterType createFilterType(
+        @NotNull RepositoryMeta<E, ID, R> repositoryMeta, @NotNull MethodNameParser<Field> methodNameParser,
+        @NotNull Method method, @NotNull String filterOperatorString) throws Exception {
+        ParsedFilterPart<Field> filterPart = methodNameParser.parseFilterPart(filterOperatorString);
+        List<Field> fieldPath = filterPart.getFieldPath();
+        if (fieldPath == null) {
+            throw new MethodFieldNotFoundException(filterPart.getExpectedFieldName(), method,
+                repositoryMeta.getEntityClass(), repositoryMeta.getRepositoryClass());
+        }
+        Field field = fieldPath.get(fieldPath.size() - 1);
+        String fieldName;
+        if (fieldPath.size() == 1) {
+            // Check if the uniqueId field is used.
+            fieldName = repositoryMeta.getFieldName(field);
+        } else {
+            fieldName = fieldPath.stream().map(Field::getName).collect(Collectors.joining("."));
+        }
+        return new FilterType(field, fieldName, filterPart.isNotFilter(), filterPart.getOperator());
+    }
+
+    private <E, ID, R extends Repository<E, ID>> @NotNull AggregationMethod<E, ID, R> createAggregationMethod(
+        @NotNull RepositoryMeta<E, ID, R> repositoryMeta, @NotNull Method method,
+        @NotNull Aggregation aggregation, boolean isAsyncMethod) throws Exception {
+        Class<R> repositoryClass = repositoryMeta.getRepositoryClass();
+
+        // Parse the pipeline only once, the arguments are bound on every call.
+        AggregationTemplate aggregationTemplate;
+        try {
+            aggregationTemplate = AggregationTemplate.parse(aggregation.value());
+        } catch (Exception e) {
+            throw new MethodAggregationParseException(method, repositoryClass, e);
+        }
+        int highestParameterIndex = aggregationTemplate.getHighestParameterIndex();
+        if (highestParameterIndex >= method.getParameterCount()) {
+            throw new MethodParameterNotFoundException(method, repositoryClass, highestParameterIndex,
+                method.getParameterCount());
+        }
+
+        // Resolve the type of the results, which could be wrapped by a future, a List or a Stream.
+        Type resultType = method.getGenericReturnType();
+        if (isAsyncMethod) {
+            resultType = ((ParameterizedType) resultType).getActualTypeArguments()[0];
+        }
+        AggregationMethod.ResultType aggregationResultType = AggregationMethod.ResultType.SINGLE;
+        if (resultType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) resultType;
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            if (rawType == Stream.class) {
+                aggregationResultType = AggregationMethod.ResultType.STREAM;
+            } else if (rawType.isAssignableFrom(ArrayList.class)) {
+                aggregationResultType = AggregationMethod.ResultType.LIST;
+            } else {
+                throw new MethodAggregationReturnTypeException(method, repositoryClass);
+            }
+            resultType = parameterizedType.getActualTypeArguments()[0];
+        }
+        if (!(resultType instanceof Class)) {
+            throw new MethodAggregationReturnTypeException(method, repositoryClass);
+        }
+        Class<?> resultClass = (Class<?>) resultType;
+        if (resultClass.isPrimitive() || resultClass == Object.class) {
+            throw new MethodAggregationReturnTypeException(method, repositoryClass);
+        }
+        // Other types than the entity need to be decodable too.
+        Validator.validateCompatibility(repositoryClass, resultClass);
+        return new AggregationMethod<>(method, repositoryMeta, aggregationTemplate, resultClass, aggregationResultType);
     }
 
     /**
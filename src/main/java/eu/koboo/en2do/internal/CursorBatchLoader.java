@@ -0,0 +1,58 @@
+package eu.koboo.en2do.internal;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the batches of a LazyList from one cursor. Sequential batches continue the open cursor,
+ * so the entities aren't skipped again on the server. Only a batch, which doesn't follow the previous one,
+ * opens a new cursor with the skip of the batch. The cursor is closed, after its last entity was read.
+ *
+ * @param <E> The generic type of the entity
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CursorBatchLoader<E> implements LazyList.BatchLoader<E> {
+
+    final FindIterable<E> findIterable;
+
+    MongoCursor<E> cursor;
+    int cursorPosition;
+
+    public CursorBatchLoader(@NotNull FindIterable<E> findIterable) {
+        this.findIterable = findIterable;
+    }
+
+    // The list prefetches batches in the background, so the cursor is only accessed by one thread at a time.
+    @Override
+    public synchronized @NotNull List<E> load(int skip, int limit) {
+        if (cursor == null || cursorPosition != skip) {
+            closeCursor();
+            cursor = findIterable.skip(skip).iterator();
+            cursorPosition = skip;
+        }
+        List<E> batch = new ArrayList<>(limit);
+        while (batch.size() < limit && cursor.hasNext()) {
+            batch.add(cursor.next());
+        }
+        cursorPosition += batch.size();
+        if (batch.size() < limit) {
+            closeCursor();
+        }
+        return batch;
+    }
+
+    private void closeCursor() {
+        if (cursor == null) {
+            return;
+        }
+        cursor.close();
+        cursor = null;
+    }
+}
@@ -0,0 +1,61 @@
+package eu.koboo.en2do.internal;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * The handler of a lazy repository handle. The handle is returned without parsing or validating the repository.
+ * The repository is created on the first call of any of its methods. That call and all following calls are passed
+ * to the invocation handler of the created repository, so they're handled like calls of the repository itself.
+ * The methods of Object are answered by the handle itself, so they don't create the repository.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LazyRepositoryHandler implements InvocationHandler {
+
+    @NotNull
+    Class<?> repositoryClass;
+
+    // Creates the repository, or waits for the instance, which is created by another thread.
+    @NotNull
+    Function<Class<?>, InvocationHandler> handlerFactory;
+
+    @NonFinal
+    @Nullable
+    volatile InvocationHandler repositoryHandler;
+
+    public LazyRepositoryHandler(@NotNull Class<?> repositoryClass,
+                                 @NotNull Function<Class<?>, InvocationHandler> handlerFactory) {
+        this.repositoryClass = repositoryClass;
+        this.handlerFactory = handlerFactory;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "LazyRepository[" + repositoryClass.getName() + "]";
+                default:
+                    break;
+            }
+        }
+        InvocationHandler currentHandler = repositoryHandler;
+        if (currentHandler == null) {
+            // The factory creates the repository only once, so concurrent first calls get the same handler.
+            currentHandler = handlerFactory.apply(repositoryClass);
+            repositoryHandler = currentHandler;
+        }
+        return currentHandler.invoke(proxy, method, args);
+    }
+}
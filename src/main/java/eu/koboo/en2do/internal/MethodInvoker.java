@@ -0,0 +1,19 @@
+package eu.koboo.en2do.internal;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This interface represents a repository method, which is resolved once, so every call only executes it.
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * Called to execute the resolved method
+     *
+     * @param arguments The arguments of the method call
+     * @return The return value of the method
+     * @throws Exception if anything bad happens
+     */
+    @Nullable Object invoke(Object[] arguments) throws Exception;
+}
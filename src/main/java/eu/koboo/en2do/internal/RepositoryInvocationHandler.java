@@ -1,32 +1,47 @@
 package eu.koboo.en2do.internal;
 
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.result.UpdateResult;
+import eu.koboo.en2do.internal.cache.PreloadQuery;
+import eu.koboo.en2do.internal.cache.PreloadedCollection;
+import eu.koboo.en2do.internal.cache.QueryResultCache;
+import eu.koboo.en2do.internal.cache.SingleFlightGroup;
 import eu.koboo.en2do.internal.exception.methods.MethodUnsupportedException;
 import eu.koboo.en2do.internal.exception.repository.RepositoryInvalidCallException;
+import eu.koboo.en2do.internal.methods.aggregation.AggregationMethod;
 import eu.koboo.en2do.internal.methods.dynamic.DynamicMethod;
+import eu.koboo.en2do.internal.methods.operators.MethodOperator;
 import eu.koboo.en2do.internal.methods.predefined.PredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
 import eu.koboo.en2do.repository.methods.async.Async;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
 import eu.koboo.en2do.repository.methods.transform.Transform;
+import eu.koboo.en2do.utility.GenericUtils;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@AllArgsConstructor
 public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> implements InvocationHandler {
 
     @NotNull
@@ -35,9 +50,69 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
     @Nullable
     ExecutorService executorService;
 
+    // Resolved on creation for every method of the repository, but keyed by equality.
+    @NotNull
+    Map<Method, MethodInvoker> resolvedInvokerMap;
+
+    // The proxy passes the same method instances on every call, so they're looked up by identity.
+    // The table is replaced on every new method instance, so it's read without locking.
+    @NonFinal
+    @NotNull
+    volatile Map<Method, MethodInvoker> invokerTable;
+
+    public RepositoryInvocationHandler(@NotNull RepositoryMeta<E, ID, R> repositoryMeta,
+                                       @Nullable ExecutorService executorService) {
+        this.repositoryMeta = repositoryMeta;
+        this.executorService = executorService;
+        this.resolvedInvokerMap = new HashMap<>();
+        for (Method method : repositoryMeta.getRepositoryClass().getMethods()) {
+            resolvedInvokerMap.put(method, resolveInvoker(method));
+        }
+        this.invokerTable = new IdentityHashMap<>();
+    }
+
     @Override
-    @SuppressWarnings("all")
     public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+        MethodInvoker methodInvoker = invokerTable.get(method);
+        if (methodInvoker == null) {
+            methodInvoker = bindInvoker(method);
+        }
+        return methodInvoker.invoke(arguments);
+    }
+
+    /**
+     * Returns the invoker of the method, e.g. for a generated implementation of the repository,
+     * which calls the invokers directly instead of this handler.
+     *
+     * @param method The method of the repository or of java.lang.Object
+     * @return The invoker, which handles the calls of the method
+     */
+    public @NotNull MethodInvoker getMethodInvoker(@NotNull Method method) {
+        MethodInvoker methodInvoker = resolvedInvokerMap.get(method);
+        if (methodInvoker != null) {
+            return methodInvoker;
+        }
+        return resolveInvoker(method);
+    }
+
+    private synchronized @NotNull MethodInvoker bindInvoker(@NotNull Method method) {
+        MethodInvoker methodInvoker = invokerTable.get(method);
+        if (methodInvoker != null) {
+            return methodInvoker;
+        }
+        methodInvoker = resolvedInvokerMap.get(method);
+        if (methodInvoker == null) {
+            // The methods of java.lang.Object aren't declared by the repository.
+            methodInvoker = resolveInvoker(method);
+        }
+        Map<Method, MethodInvoker> newInvokerTable = new IdentityHashMap<>(invokerTable);
+        newInvokerTable.put(method, methodInvoker);
+        invokerTable = newInvokerTable;
+        return methodInvoker;
+    }
+
+    @SuppressWarnings("all")
+    private @NotNull MethodInvoker resolveInvoker(@NotNull Method method) {
 
         // Create value of the final methodName
         String tempMethodName = method.getName();
@@ -51,7 +126,7 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
         PredefinedMethod<E, ID, R> methodHandler = repositoryMeta.lookupPredefinedMethod(methodName);
         if (methodHandler != null) {
             // Just handle the arguments and return the object
-            return methodHandler.handle(method, arguments);
+            return arguments -> methodHandler.handle(method, arguments);
         }
         // No static handler found.
 
@@ -62,27 +137,70 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
             PredefinedMethod<E, ID, R> methodHandlerFuture = repositoryMeta.lookupPredefinedMethod(predefinedName);
             if (methodHandlerFuture != null) {
                 // Just handle the arguments and return the object
-                CompletableFuture<Object> future = new CompletableFuture<>();
-                executeFuture(future, () -> methodHandlerFuture.handle(method, arguments));
-                return future;
+                return arguments -> {
+                    CompletableFuture<Object> future = new CompletableFuture<>();
+                    executeFuture(future, () -> methodHandlerFuture.handle(method, arguments));
+                    return future;
+                };
             }
         }
 
+        // Get and check if any aggregation method matches the methodName
+        AggregationMethod<E, ID, R> aggregationMethod = repositoryMeta.lookupAggregationMethod(methodName);
+        if (aggregationMethod != null) {
+            if (isAsyncMethod) {
+                return arguments -> {
+                    CompletableFuture<Object> future = new CompletableFuture<>();
+                    executeFuture(future, () -> executeAggregation(aggregationMethod, arguments, methodName));
+                    return future;
+                };
+            }
+            return arguments -> executeAggregation(aggregationMethod, arguments, methodName);
+        }
+
         // Get and check if any dynamic method matches the methodName
         DynamicMethod<E, ID, R> dynamicMethod = repositoryMeta.lookupDynamicMethod(methodName);
         if (dynamicMethod == null) {
             // No handling found for method with this name.
-            throw new MethodUnsupportedException(method, repositoryMeta.getRepositoryClass());
+            return arguments -> {
+                throw new MethodUnsupportedException(method, repositoryMeta.getRepositoryClass());
+            };
         }
 
-        MethodCallable methodCallable = () -> executeMethod(dynamicMethod, arguments, method, methodName);
+        MethodInvoker tempMethodInvoker = arguments -> executeMethod(dynamicMethod, arguments, method, methodName);
+        PreloadQuery<E> preloadQuery = repositoryMeta.lookupPreloadQuery(methodName);
+        PreloadedCollection<E, ID, R> preloadedCollection = repositoryMeta.getPreloadedCollection();
+        if (preloadQuery != null && preloadedCollection != null) {
+            MethodInvoker queryInvoker = tempMethodInvoker;
+            // The method is answered by the snapshot, the query is only executed, if the snapshot is stale.
+            tempMethodInvoker = arguments -> preloadedCollection.execute(preloadQuery, arguments,
+                () -> queryInvoker.invoke(arguments));
+        }
+        QueryResultCache resultCache = repositoryMeta.lookupResultCache(methodName);
+        if (resultCache != null) {
+            MethodInvoker queryInvoker = tempMethodInvoker;
+            // The generation is read before the query, so writes during the query mark the result as stale.
+            tempMethodInvoker = arguments -> resultCache.get(arguments, repositoryMeta.getWriteGeneration(),
+                () -> queryInvoker.invoke(arguments));
+        }
+        MethodInvoker methodInvoker = tempMethodInvoker;
+        SingleFlightGroup singleFlightGroup = repositoryMeta.lookupSingleFlightGroup(methodName);
+        if (singleFlightGroup != null) {
+            // Concurrent calls with the same arguments share the query of the first call.
+            if (isAsyncMethod) {
+                return arguments -> singleFlightGroup.callAsync(arguments,
+                    future -> executeFuture(future, () -> methodInvoker.invoke(arguments)));
+            }
+            return arguments -> singleFlightGroup.call(arguments, () -> methodInvoker.invoke(arguments));
+        }
         if (isAsyncMethod) {
-            CompletableFuture<Object> future = new CompletableFuture<>();
-            executeFuture(future, methodCallable);
-            return future;
-        } else {
-            return methodCallable.call();
+            return arguments -> {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                executeFuture(future, () -> methodInvoker.invoke(arguments));
+                return future;
+            };
         }
+        return methodInvoker;
     }
 
     private Object executeMethod(DynamicMethod<E, ID, R> dynamicMethod, Object[] arguments, Method method, String methodName) throws Exception {
@@ -91,39 +209,153 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
         // Switch-case the method operator to use the correct mongo query.
         final MongoCollection<E> collection = repositoryMeta.getCollection();
 
+        // The collation is only set, if the "Ign" filters can use a case-insensitive index.
+        final Collation collation = dynamicMethod.getCollation();
+
         FindIterable<E> findIterable;
         switch (dynamicMethod.getMethodOperator()) {
             case COUNT:
-                return collection.countDocuments(filter);
+                return collection.countDocuments(filter, new CountOptions().collation(collation));
             case DELETE:
-                return collection.deleteMany(filter).wasAcknowledged();
+                boolean deleteAcknowledged = collection.deleteMany(filter, new DeleteOptions().collation(collation))
+                    .wasAcknowledged();
+                repositoryMeta.onCollectionWrite();
+                return deleteAcknowledged;
             case EXISTS:
-                return collection.countDocuments(filter) > 0;
+                return collection.countDocuments(filter, new CountOptions().collation(collation)) > 0;
             case FIND_MANY:
-                findIterable = repositoryMeta.createIterable(filter, methodName);
+                if (method.getReturnType() == LazyList.class) {
+                    return createLazyList(filter, collation, method, arguments, methodName);
+                }
+                findIterable = repositoryMeta.createIterable(filter, methodName).collation(collation);
                 findIterable = repositoryMeta.applySortObject(method, findIterable, arguments);
                 findIterable = repositoryMeta.applySortAnnotations(method, findIterable);
                 return findIterable.into(new ArrayList<>());
             case FIND_FIRST:
-                findIterable = repositoryMeta.createIterable(filter, methodName);
+                findIterable = repositoryMeta.createIterable(filter, methodName).collation(collation);
                 findIterable = repositoryMeta.applySortObject(method, findIterable, arguments);
                 findIterable = repositoryMeta.applySortAnnotations(method, findIterable);
                 return findIterable.limit(1).first();
             case PAGE:
-                findIterable = repositoryMeta.createIterable(filter, methodName);
+                findIterable = repositoryMeta.createIterable(filter, methodName).collation(collation);
                 findIterable = repositoryMeta.applyPageObject(method, findIterable, arguments);
                 return findIterable.into(new ArrayList<>());
             case UPDATE_FIELD:
                 UpdateBatch updateBatch = (UpdateBatch) arguments[arguments.length - 1];
                 UpdateResult result = collection.updateMany(filter, repositoryMeta.createUpdateDocument(updateBatch),
-                    new UpdateOptions().upsert(false));
+                    new UpdateOptions().upsert(false).collation(collation));
+                repositoryMeta.onCollectionWrite();
                 return result.wasAcknowledged();
+            case SUM:
+            case AVERAGE:
+            case MIN:
+            case MAX:
+                Document aggregationResult = repositoryMeta.createAggregateIterable(
+                    dynamicMethod.createAggregationPipeline(arguments), methodName).collation(collation).first();
+                Number aggregationValue = null;
+                if (aggregationResult != null) {
+                    aggregationValue = aggregationResult.get(DynamicMethod.AGGREGATION_VALUE, Number.class);
+                }
+                // The sum of no documents is zero, every other aggregation has no result.
+                if (aggregationValue == null && dynamicMethod.getMethodOperator() == MethodOperator.SUM) {
+                    aggregationValue = 0;
+                }
+                return convertNumber(aggregationValue, getReturnType(method));
+            case COUNT_GROUPED:
+                Class<?> groupFieldClass = dynamicMethod.getAggregationField().getType();
+                Map<Object, Long> groupedCountMap = new LinkedHashMap<>();
+                for (Document groupResult : repositoryMeta.createAggregateIterable(
+                    dynamicMethod.createAggregationPipeline(arguments), methodName).collation(collation)) {
+                    Object groupKey = convertGroupKey(groupResult.get("_id"), groupFieldClass);
+                    Number groupCount = groupResult.get(DynamicMethod.AGGREGATION_VALUE, Number.class);
+                    groupedCountMap.put(groupKey, groupCount.longValue());
+                }
+                return groupedCountMap;
             default:
                 // Couldn't find any match method operator, but that shouldn't happen
                 throw new RepositoryInvalidCallException(method, repositoryMeta.getRepositoryClass());
         }
     }
 
+    private Object executeAggregation(AggregationMethod<E, ID, R> aggregationMethod, Object[] arguments,
+                                      String methodName) throws Exception {
+        List<Document> pipeline = aggregationMethod.createPipeline(arguments);
+        AggregateIterable<?> aggregateIterable = repositoryMeta.createAggregateIterable(pipeline,
+            aggregationMethod.getResultClass(), methodName);
+        switch (aggregationMethod.getResultType()) {
+            case SINGLE:
+                return aggregateIterable.first();
+            case LIST:
+                return aggregateIterable.into(new ArrayList<>());
+            case STREAM:
+                // The cursor is released, as soon as the stream gets closed.
+                MongoCursor<?> cursor = aggregateIterable.cursor();
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                    .onClose(cursor::close);
+            default:
+                throw new RepositoryInvalidCallException(aggregationMethod.getMethod(), repositoryMeta.getRepositoryClass());
+        }
+    }
+
+    private @NotNull Class<?> getReturnType(@NotNull Method method) {
+        if (method.isAnnotationPresent(Async.class)) {
+            return GenericUtils.getGenericTypeOfReturnType(method);
+        }
+        return method.getReturnType();
+    }
+
+    private @Nullable Object convertNumber(@Nullable Number number, @NotNull Class<?> numberClass) {
+        if (number == null) {
+            // Primitive return types can't be null, so we fall back to zero.
+            if (!numberClass.isPrimitive()) {
+                return null;
+            }
+            number = 0;
+        }
+        if (numberClass == int.class || numberClass == Integer.class) {
+            return number.intValue();
+        }
+        if (numberClass == long.class || numberClass == Long.class) {
+            return number.longValue();
+        }
+        if (numberClass == double.class || numberClass == Double.class) {
+            return number.doubleValue();
+        }
+        if (numberClass == float.class || numberClass == Float.class) {
+            return number.floatValue();
+        }
+        if (numberClass == short.class || numberClass == Short.class) {
+            return number.shortValue();
+        }
+        if (numberClass == byte.class || numberClass == Byte.class) {
+            return number.byteValue();
+        }
+        return number;
+    }
+
+    private @NotNull LazyList<E> createLazyList(@NotNull Bson filter, @Nullable Collation collation,
+                                                @NotNull Method method, @NotNull Object[] arguments,
+                                                @NotNull String methodName) {
+        long totalCount = repositoryMeta.getCollection().countDocuments(filter, new CountOptions().collation(collation));
+        // The batches are read from one cursor, skip/limit are set by the list and "_id" keeps the order stable.
+        FindIterable<E> findIterable = repositoryMeta.createIterable(filter, methodName)
+            .collation(collation)
+            .sort(repositoryMeta.createLazyListSort(method, arguments))
+            .batchSize(LazyList.DEFAULT_BATCH_SIZE)
+            .allowDiskUse(true);
+        return new LazyList<>(totalCount, LazyList.DEFAULT_BATCH_SIZE, new CursorBatchLoader<>(findIterable),
+            executorService == null ? ForkJoinPool.commonPool() : executorService);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private @Nullable Object convertGroupKey(@Nullable Object groupKey, @NotNull Class<?> groupFieldClass) {
+        // Enums are saved by their name, so we have to convert them back.
+        if (groupKey instanceof String && groupFieldClass.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) groupFieldClass, (String) groupKey);
+        }
+        return groupKey;
+    }
+
     private void executeFuture(@NotNull CompletableFuture<Object> future, @NotNull MethodCallable callable) {
         future.completeAsync(() -> {
             try {
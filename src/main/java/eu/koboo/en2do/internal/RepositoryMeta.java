@@ -1,15 +1,34 @@
 package eu.koboo.en2do.internal;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
+import eu.koboo.en2do.internal.cache.BloomFilter;
+import eu.koboo.en2do.internal.cache.QueryResultCache;
+import eu.koboo.en2do.internal.cache.SingleFlightGroup;
+import eu.koboo.en2do.internal.cache.EntityCacheStore;
+import eu.koboo.en2do.internal.cache.OffHeapEntityCache;
+import eu.koboo.en2do.internal.cache.PreloadQuery;
+import eu.koboo.en2do.internal.cache.PreloadedCollection;
+import eu.koboo.en2do.internal.cache.TinyLfuEntityCache;
 import eu.koboo.en2do.internal.exception.methods.MethodInvalidPageException;
 import eu.koboo.en2do.internal.exception.methods.MethodInvalidSortLimitException;
 import eu.koboo.en2do.internal.exception.methods.MethodInvalidSortSkipException;
+import eu.koboo.en2do.internal.methods.aggregation.AggregationMethod;
 import eu.koboo.en2do.internal.methods.dynamic.DynamicMethod;
+import eu.koboo.en2do.internal.methods.parser.MethodNameParser;
 import eu.koboo.en2do.internal.methods.predefined.PredefinedMethod;
 import eu.koboo.en2do.repository.AppendMethodAsComment;
+import eu.koboo.en2do.repository.EntityCache;
+import eu.koboo.en2do.repository.IdBloomFilter;
+import eu.koboo.en2do.repository.Preload;
 import eu.koboo.en2do.repository.Repository;
 import eu.koboo.en2do.repository.SeparateEntityId;
 import eu.koboo.en2do.repository.methods.fields.FieldUpdate;
@@ -20,10 +39,18 @@ import eu.koboo.en2do.repository.methods.sort.Limit;
 import eu.koboo.en2do.repository.methods.sort.Skip;
 import eu.koboo.en2do.repository.methods.sort.Sort;
 import eu.koboo.en2do.repository.methods.sort.SortBy;
+import eu.koboo.en2do.repository.methods.sort.SortByTextScore;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
 import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,11 +58,31 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Getter
 public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
 
+    /**
+     * The name of the meta field, which contains the text score of a "Search" filter.
+     */
+    public static final String TEXT_SCORE_FIELD = "score";
+
+    /**
+     * The collation of the indexes on fields annotated with @CaseInsensitive. Queries have to use exactly
+     * the same collation, otherwise MongoDB can't use the index.
+     */
+    public static final Collation CASE_INSENSITIVE_COLLATION = Collation.builder()
+        .locale("en")
+        .collationStrength(CollationStrength.SECONDARY)
+        .build();
+
+    /**
+     * The suffix of the names of the case-insensitive indexes, so they don't get the default name of a plain index.
+     */
+    public static final String CASE_INSENSITIVE_INDEX_SUFFIX = "_ci";
+
     @NotNull
     String collectionName;
 
@@ -57,6 +104,10 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
     @NotNull
     Field entityUniqueIdField;
 
+    // Reads the unique id on every save, delete and exists, without reflection.
+    @NotNull
+    PropertyAccessor entityUniqueIdAccessor;
+
     @Getter(AccessLevel.NONE)
     boolean appendMethodAsComment;
     boolean separateEntityId;
@@ -69,10 +120,43 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
     @NotNull
     Map<String, DynamicMethod<E, ID, R>> dynamicMethodRegistry;
 
+    @Getter(AccessLevel.NONE)
+    @NotNull
+    Map<String, AggregationMethod<E, ID, R>> aggregationMethodRegistry;
+
+    @Getter(AccessLevel.NONE)
+    @NotNull
+    Map<String, QueryResultCache> resultCacheRegistry;
+
+    @Getter(AccessLevel.NONE)
+    @NotNull
+    Map<String, SingleFlightGroup> singleFlightGroupRegistry;
+
+    @Getter(AccessLevel.NONE)
+    @NotNull
+    Map<String, PreloadQuery<E>> preloadQueryRegistry;
+
+    @Nullable
+    EntityCacheStore<ID, E> entityCache;
+
+    // Disabled, if the change stream can't tell about the unique ids, which are inserted by other applications.
+    @NonFinal
+    @Nullable
+    volatile BloomFilter idBloomFilter;
+
+    @Nullable
+    PreloadedCollection<E, ID, R> preloadedCollection;
+
+    // Incremented by every write through this repository, so cached query results can detect, that they're stale.
+    @Getter(AccessLevel.NONE)
+    @NotNull
+    AtomicLong writeGeneration;
+
     public RepositoryMeta(@NotNull Class<R> repositoryClass, @NotNull Class<E> entityClass,
                           @NotNull Set<Field> entityFieldSet,
                           @NotNull Class<ID> entityUniqueIdClass, @NotNull Field entityUniqueIdField,
-                          @NotNull MongoCollection<E> collection, @NotNull String collectionName) {
+                          @NotNull MongoCollection<E> collection, @NotNull String collectionName)
+        throws IllegalAccessException {
         this.collectionName = collectionName;
         this.collection = collection;
 
@@ -83,17 +167,198 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
 
         this.entityUniqueIdClass = entityUniqueIdClass;
         this.entityUniqueIdField = entityUniqueIdField;
+        this.entityUniqueIdAccessor = PropertyAccessor.ofField(entityUniqueIdField);
 
         this.appendMethodAsComment = repositoryClass.isAnnotationPresent(AppendMethodAsComment.class);
         this.separateEntityId = repositoryClass.isAnnotationPresent(SeparateEntityId.class);
 
         this.methodRegistry = new HashMap<>();
         this.dynamicMethodRegistry = new HashMap<>();
+        this.aggregationMethodRegistry = new HashMap<>();
+        this.resultCacheRegistry = new HashMap<>();
+        this.singleFlightGroupRegistry = new HashMap<>();
+        this.preloadQueryRegistry = new HashMap<>();
+        this.writeGeneration = new AtomicLong();
+
+        EntityCache entityCacheAnnotation = repositoryClass.getAnnotation(EntityCache.class);
+        if (entityCacheAnnotation != null && entityCacheAnnotation.offHeapBytes() > 0) {
+            this.entityCache = new OffHeapEntityCache<>(collection.getCodecRegistry().get(entityClass),
+                entityCacheAnnotation.offHeapBytes(), entityCacheAnnotation.maxEntries(),
+                entityCacheAnnotation.expireAfterWrite(), entityCacheAnnotation.expireAfterAccess(),
+                entityCacheAnnotation.time());
+        } else if (entityCacheAnnotation != null) {
+            this.entityCache = new TinyLfuEntityCache<>(entityCacheAnnotation.maxEntries(),
+                entityCacheAnnotation.expireAfterWrite(), entityCacheAnnotation.expireAfterAccess(),
+                entityCacheAnnotation.time());
+        } else {
+            this.entityCache = null;
+        }
+
+        IdBloomFilter idBloomFilterAnnotation = repositoryClass.getAnnotation(IdBloomFilter.class);
+        if (idBloomFilterAnnotation != null) {
+            this.idBloomFilter = new BloomFilter(idBloomFilterAnnotation.expectedEntries(),
+                idBloomFilterAnnotation.falsePositiveRate());
+        } else {
+            this.idBloomFilter = null;
+        }
+
+        Preload preloadAnnotation = repositoryClass.getAnnotation(Preload.class);
+        if (preloadAnnotation != null) {
+            this.preloadedCollection = new PreloadedCollection<>(this, preloadAnnotation.refreshInterval(),
+                preloadAnnotation.time());
+        } else {
+            this.preloadedCollection = null;
+        }
+    }
+
+    /**
+     * Adds the unique ids of all existing entities to the bloom filter, if the repository has one.
+     * Only the unique ids are queried, so the entities aren't decoded.
+     */
+    public void loadIdBloomFilter() {
+        BloomFilter idBloomFilter = this.idBloomFilter;
+        if (idBloomFilter == null) {
+            return;
+        }
+        String uniqueIdFieldName = separateEntityId ? entityUniqueIdField.getName() : "_id";
+        MongoCollection<BsonDocument> uniqueIdCollection = collection.withDocumentClass(BsonDocument.class);
+        for (BsonDocument document : uniqueIdCollection.find(Filters.exists(uniqueIdFieldName))
+            .projection(Projections.include(uniqueIdFieldName))) {
+            ID uniqueId = decodeUniqueId(document.get(uniqueIdFieldName));
+            if (uniqueId != null) {
+                idBloomFilter.add(uniqueId);
+            }
+        }
+    }
+
+    /**
+     * Checks if the entity with the unique id definitely doesn't exist.
+     *
+     * @param uniqueId The unique id of the entity
+     * @return true, if the bloom filter doesn't contain the unique id. false, if the entity possibly exists
+     * or the repository has no bloom filter.
+     */
+    public boolean isUniqueIdAbsent(@NotNull ID uniqueId) {
+        BloomFilter idBloomFilter = this.idBloomFilter;
+        return idBloomFilter != null && !idBloomFilter.mightContain(uniqueId);
+    }
+
+    /**
+     * Disables the bloom filter, because unique ids, which are inserted by other applications, could be missed.
+     * All lookups query the database afterward.
+     *
+     * @return true, if the repository had a bloom filter, which is disabled now.
+     */
+    public boolean disableIdBloomFilter() {
+        boolean enabled = idBloomFilter != null;
+        idBloomFilter = null;
+        return enabled;
+    }
+
+    /**
+     * Called, if a query didn't find an entity, which possibly existed by the bloom filter.
+     */
+    public void onUniqueIdMissing() {
+        BloomFilter idBloomFilter = this.idBloomFilter;
+        if (idBloomFilter != null) {
+            idBloomFilter.recordFalsePositive();
+        }
+    }
+
+    /**
+     * Called before the entity is inserted, so concurrent lookups of its unique id aren't filtered.
+     *
+     * @param uniqueId The unique id of the inserted entity
+     */
+    public void onEntityInsert(@NotNull ID uniqueId) {
+        BloomFilter idBloomFilter = this.idBloomFilter;
+        if (idBloomFilter != null) {
+            idBloomFilter.add(uniqueId);
+        }
     }
 
     public void destroy() {
         methodRegistry.clear();
         dynamicMethodRegistry.clear();
+        aggregationMethodRegistry.clear();
+        for (QueryResultCache resultCache : resultCacheRegistry.values()) {
+            resultCache.invalidateAll();
+        }
+        resultCacheRegistry.clear();
+        singleFlightGroupRegistry.clear();
+        preloadQueryRegistry.clear();
+        if (entityCache != null) {
+            entityCache.invalidateAll();
+        }
+        if (preloadedCollection != null) {
+            preloadedCollection.stop();
+        }
+    }
+
+    /**
+     * Called after the entity was saved, to keep the caches up to date.
+     * The saved entity isn't cached, because concurrent saves of the same unique id could reach the cache
+     * in another order than the database, and the caller could still modify its instance.
+     * The next "findFirstById" caches the entity from the database instead.
+     *
+     * @param uniqueId The unique id of the saved entity
+     */
+    public void onEntityWrite(@NotNull ID uniqueId) {
+        writeGeneration.incrementAndGet();
+        if (entityCache != null) {
+            entityCache.invalidate(uniqueId);
+        }
+    }
+
+    /**
+     * Called after the entity was deleted, to keep the caches up to date.
+     *
+     * @param uniqueId The unique id of the deleted entity
+     */
+    public void onEntityDelete(@NotNull ID uniqueId) {
+        writeGeneration.incrementAndGet();
+        if (entityCache != null) {
+            entityCache.invalidate(uniqueId);
+        }
+    }
+
+    /**
+     * Called after any unknown amount of entities was modified or deleted, e.g. by "deleteBy" or "updateFieldsBy".
+     */
+    public void onCollectionWrite() {
+        writeGeneration.incrementAndGet();
+        if (entityCache != null) {
+            entityCache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return The current write generation, which changes after every write through this repository.
+     */
+    public long getWriteGeneration() {
+        return writeGeneration.get();
+    }
+
+    /**
+     * Called after the entity was modified or deleted by any application, to remove it from the caches.
+     *
+     * @param uniqueId The unique id of the changed entity
+     */
+    public void onRemoteEntityChange(@NotNull ID uniqueId) {
+        // The entity could be inserted by the other application, deleted unique ids are just false positives.
+        onEntityInsert(uniqueId);
+        writeGeneration.incrementAndGet();
+        if (entityCache != null) {
+            entityCache.invalidate(uniqueId);
+        }
+    }
+
+    /**
+     * @return true, if the repository caches entities, results of any method or the unique ids in a bloom filter.
+     */
+    public boolean hasCaches() {
+        return entityCache != null || !resultCacheRegistry.isEmpty() || preloadedCollection != null
+            || idBloomFilter != null;
     }
 
     public boolean isRepositoryMethod(@NotNull String methodName) {
@@ -124,6 +389,50 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
         return dynamicMethodRegistry.get(methodName);
     }
 
+    public void registerAggregationMethod(@NotNull String methodName, @NotNull AggregationMethod<E, ID, R> aggregationMethod) {
+        if (aggregationMethodRegistry.containsKey(methodName)) {
+            throw new RuntimeException("Already registered aggregationMethod with name \"" + methodName + "\".");
+        }
+        aggregationMethodRegistry.put(methodName, aggregationMethod);
+    }
+
+    public @Nullable AggregationMethod<E, ID, R> lookupAggregationMethod(@NotNull String methodName) {
+        return aggregationMethodRegistry.get(methodName);
+    }
+
+    public void registerResultCache(@NotNull String methodName, @NotNull QueryResultCache resultCache) {
+        if (resultCacheRegistry.containsKey(methodName)) {
+            throw new RuntimeException("Already registered resultCache with name \"" + methodName + "\".");
+        }
+        resultCacheRegistry.put(methodName, resultCache);
+    }
+
+    public @Nullable QueryResultCache lookupResultCache(@NotNull String methodName) {
+        return resultCacheRegistry.get(methodName);
+    }
+
+    public void registerSingleFlightGroup(@NotNull String methodName, @NotNull SingleFlightGroup singleFlightGroup) {
+        if (singleFlightGroupRegistry.containsKey(methodName)) {
+            throw new RuntimeException("Already registered singleFlightGroup with name \"" + methodName + "\".");
+        }
+        singleFlightGroupRegistry.put(methodName, singleFlightGroup);
+    }
+
+    public @Nullable SingleFlightGroup lookupSingleFlightGroup(@NotNull String methodName) {
+        return singleFlightGroupRegistry.get(methodName);
+    }
+
+    public void registerPreloadQuery(@NotNull String methodName, @NotNull PreloadQuery<E> preloadQuery) {
+        if (preloadQueryRegistry.containsKey(methodName)) {
+            throw new RuntimeException("Already registered preloadQuery with name \"" + methodName + "\".");
+        }
+        preloadQueryRegistry.put(methodName, preloadQuery);
+    }
+
+    public @Nullable PreloadQuery<E> lookupPreloadQuery(@NotNull String methodName) {
+        return preloadQueryRegistry.get(methodName);
+    }
+
     @SuppressWarnings("unchecked")
     public @NotNull E checkEntity(@NotNull Method method, @Nullable Object argument) {
         E entity = (E) argument;
@@ -154,8 +463,30 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
         return entity;
     }
 
-    public @Nullable ID getUniqueId(@NotNull E entity) throws IllegalAccessException {
-        return entityUniqueIdClass.cast(entityUniqueIdField.get(entity));
+    @SuppressWarnings("unchecked")
+    public @Nullable ID getUniqueId(@NotNull E entity) {
+        // The type of the field is the type of the unique id, so the value doesn't need to be checked.
+        return (ID) entityUniqueIdAccessor.get(entity);
+    }
+
+    /**
+     * Decodes the unique id from the value of a raw document, e.g. a projection or a change event.
+     *
+     * @param uniqueIdValue The encoded unique id
+     * @return The decoded unique id, or null if the value can't be decoded to the type of the unique id.
+     */
+    public @Nullable ID decodeUniqueId(@Nullable BsonValue uniqueIdValue) {
+        if (uniqueIdValue == null) {
+            return null;
+        }
+        Codec<ID> uniqueIdCodec = collection.getCodecRegistry().get(entityUniqueIdClass);
+        try (BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument("_id", uniqueIdValue))) {
+            reader.readStartDocument();
+            reader.readName();
+            return uniqueIdCodec.decode(reader, DecoderContext.builder().build());
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
     public @NotNull Bson createIdFilter(@NotNull ID uniqueId) {
@@ -174,6 +505,37 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
         }
     }
 
+    /**
+     * Returns the name of the given entity field inside the document.
+     * This is needed if uniqueId field and "_id" of documents are the same!
+     *
+     * @param field The field of the entity
+     * @return The name of the field inside the document
+     */
+    public @NotNull String getFieldName(@NotNull Field field) {
+        String fieldName = field.getName();
+        if (fieldName.equalsIgnoreCase(entityUniqueIdField.getName()) && !separateEntityId) {
+            return "_id";
+        }
+        return fieldName;
+    }
+
+    public @NotNull AggregateIterable<Document> createAggregateIterable(@NotNull List<? extends Bson> pipeline,
+                                                                        @NotNull String methodName) {
+        return createAggregateIterable(pipeline, Document.class, methodName);
+    }
+
+    public <T> @NotNull AggregateIterable<T> createAggregateIterable(@NotNull List<? extends Bson> pipeline,
+                                                                     @NotNull Class<T> resultClass,
+                                                                     @NotNull String methodName) {
+        AggregateIterable<T> aggregateIterable = collection.aggregate(pipeline, resultClass);
+        if (appendMethodAsComment) {
+            aggregateIterable.comment("en2do \"" + methodName + "\"");
+        }
+        aggregateIterable.allowDiskUse(true);
+        return aggregateIterable;
+    }
+
     public @NotNull FindIterable<E> createIterable(@Nullable Bson filter, @NotNull String methodName) {
         FindIterable<E> findIterable;
         if (filter != null) {
@@ -228,13 +590,21 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
 
     public @NotNull FindIterable<E> applySortAnnotations(@NotNull Method method,
                                                          @NotNull FindIterable<E> findIterable) throws Exception {
+        // All sorts have to be combined, because every call of FindIterable#sort replaces the previous one.
+        List<Bson> sortList = new ArrayList<>();
+        if (method.isAnnotationPresent(SortByTextScore.class)) {
+            sortList.add(Sorts.metaTextScore(TEXT_SCORE_FIELD));
+        }
         SortBy[] sortAnnotations = method.getAnnotationsByType(SortBy.class);
         if (sortAnnotations != null) {
             for (SortBy sortBy : sortAnnotations) {
                 int orderType = sortBy.ascending() ? 1 : -1;
-                findIterable = findIterable.sort(new BasicDBObject(sortBy.field(), orderType));
+                sortList.add(new BasicDBObject(sortBy.field(), orderType));
             }
         }
+        if (!sortList.isEmpty()) {
+            findIterable = findIterable.sort(Sorts.orderBy(sortList));
+        }
         if (method.isAnnotationPresent(Limit.class)) {
             Limit limit = method.getAnnotation(Limit.class);
             int value = limit.value();
@@ -255,6 +625,37 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
         return findIterable;
     }
 
+    /**
+     * Creates the sort of a LazyList, which is read in batches. The sort of the annotations replaces the sort
+     * of the Sort object, like on every other query. The "_id" is always appended, so entities with equal
+     * sorted fields are returned in a stable order.
+     *
+     * @param method The method of the repository
+     * @param args   The arguments of the call
+     * @return The sort of the LazyList
+     */
+    public @NotNull BsonDocument createLazyListSort(@NotNull Method method, @Nullable Object[] args) {
+        List<Bson> sortList = new ArrayList<>();
+        if (method.isAnnotationPresent(SortByTextScore.class)) {
+            sortList.add(Sorts.metaTextScore(TEXT_SCORE_FIELD));
+        }
+        for (SortBy sortBy : method.getAnnotationsByType(SortBy.class)) {
+            sortList.add(new BasicDBObject(sortBy.field(), sortBy.ascending() ? 1 : -1));
+        }
+        Object lastParamObject = args == null || args.length == 0 ? null : args[args.length - 1];
+        if (sortList.isEmpty() && lastParamObject instanceof Sort) {
+            for (Map.Entry<String, Integer> byField : ((Sort) lastParamObject).getFieldDirectionMap().entrySet()) {
+                sortList.add(new BasicDBObject(byField.getKey(), byField.getValue()));
+            }
+        }
+        BsonDocument sortDocument = Sorts.orderBy(sortList)
+            .toBsonDocument(BsonDocument.class, collection.getCodecRegistry());
+        if (!sortDocument.containsKey("_id")) {
+            sortDocument.append("_id", new BsonInt32(1));
+        }
+        return sortDocument;
+    }
+
     public @NotNull FindIterable<E> applyPageObject(@NotNull Method method,
                                                     @NotNull FindIterable<E> findIterable, Object[] args) throws Exception {
         Pagination pagination = (Pagination) args[args.length - 1];
@@ -273,8 +674,7 @@ public class RepositoryMeta<E, ID, R extends Repository<E, ID>> {
     }
 
     public @NotNull String getPredefinedNameByAsyncName(@NotNull String asyncName) {
-        String predefinedName = asyncName.replaceFirst("async", "");
-        return predefinedName.substring(0, 1).toLowerCase(Locale.ROOT) + predefinedName.substring(1);
+        return MethodNameParser.getPredefinedNameByAsyncName(asyncName);
     }
 
     public @NotNull Object getFilterableValue(@NotNull Object object) {
@@ -0,0 +1,223 @@
+package eu.koboo.en2do.internal.accessor;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads and writes one property of an entity, without reflection on every call.
+ * The getter and setter methods are bound by the LambdaMetafactory once, so every access is a plain
+ * interface call, which the JIT can inline like a handwritten lambda. If the property has no matching
+ * getter or setter, the field is accessed by a method handle, which is unreflected once.
+ * The accessors are created by a private lookup in the declaring class, so the entity classes don't
+ * have to open their fields to en2do by setAccessible.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PropertyAccessor {
+
+    private static final MethodType GETTER_SAM_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_SAM_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @NotNull
+    String name;
+    @NotNull
+    Function<Object, Object> getter;
+    @Nullable
+    BiConsumer<Object, Object> setter;
+
+    private PropertyAccessor(@NotNull String name, @NotNull Function<Object, Object> getter,
+                             @Nullable BiConsumer<Object, Object> setter) {
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Creates the accessor of the field. The getter and setter of the field are preferred, like the codec
+     * of the entity uses them. Otherwise, the field itself is accessed.
+     *
+     * @param field The field of the entity
+     * @return The accessor of the field
+     * @throws IllegalAccessException if neither the methods nor the field are accessible
+     */
+    public static @NotNull PropertyAccessor ofField(@NotNull Field field) throws IllegalAccessException {
+        Class<?> declaringClass = field.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+
+        Method readMethod = findReadMethod(field);
+        Function<Object, Object> getter = readMethod != null ? bindGetter(lookup, readMethod) : null;
+        if (getter == null) {
+            getter = toGetter(lookup.unreflectGetter(field).asType(GETTER_SAM_TYPE));
+        }
+
+        BiConsumer<Object, Object> setter = null;
+        if (!Modifier.isFinal(field.getModifiers())) {
+            Method writeMethod = findWriteMethod(field);
+            setter = writeMethod != null ? bindSetter(lookup, writeMethod) : null;
+            if (setter == null) {
+                setter = toSetter(lookup.unreflectSetter(field).asType(SETTER_SAM_TYPE));
+            }
+        }
+        return new PropertyAccessor(field.getName(), getter, setter);
+    }
+
+    /**
+     * Creates the accessor of a property, which is only declared by its getter and setter methods.
+     *
+     * @param name        The name of the property
+     * @param readMethod  The getter of the property
+     * @param writeMethod The optional setter of the property
+     * @return The accessor of the property
+     * @throws IllegalAccessException if the methods aren't accessible
+     */
+    public static @NotNull PropertyAccessor ofMethods(@NotNull String name, @NotNull Method readMethod,
+                                                      @Nullable Method writeMethod) throws IllegalAccessException {
+        MethodHandles.Lookup readLookup = MethodHandles.privateLookupIn(readMethod.getDeclaringClass(),
+            MethodHandles.lookup());
+        Function<Object, Object> getter = bindGetter(readLookup, readMethod);
+        if (getter == null) {
+            getter = toGetter(readLookup.unreflect(readMethod).asType(GETTER_SAM_TYPE));
+        }
+        BiConsumer<Object, Object> setter = null;
+        if (writeMethod != null) {
+            MethodHandles.Lookup writeLookup = MethodHandles.privateLookupIn(writeMethod.getDeclaringClass(),
+                MethodHandles.lookup());
+            setter = bindSetter(writeLookup, writeMethod);
+            if (setter == null) {
+                setter = toSetter(writeLookup.unreflect(writeMethod).asType(SETTER_SAM_TYPE));
+            }
+        }
+        return new PropertyAccessor(name, getter, setter);
+    }
+
+    /**
+     * @param entity The entity, which contains the property
+     * @return The value of the property
+     */
+    public @Nullable Object get(@NotNull Object entity) {
+        return getter.apply(entity);
+    }
+
+    /**
+     * @param entity The entity, which contains the property
+     * @param value  The new value of the property
+     * @throws UnsupportedOperationException if the property is read-only
+     */
+    public void set(@NotNull Object entity, @Nullable Object value) {
+        if (setter == null) {
+            throw new UnsupportedOperationException("The property " + name + " is read-only.");
+        }
+        setter.accept(entity, value);
+    }
+
+    /**
+     * @return true, if the property can be written
+     */
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    private static @Nullable Method findReadMethod(@NotNull Field field) {
+        String capitalizedName = capitalize(field.getName());
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method method = field.getDeclaringClass().getDeclaredMethod(prefix + capitalizedName);
+                if (method.getReturnType() == field.getType() && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // The getter could also start with the other prefix.
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable Method findWriteMethod(@NotNull Field field) {
+        try {
+            Method method = field.getDeclaringClass().getDeclaredMethod("set" + capitalize(field.getName()),
+                field.getType());
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static @NotNull String capitalize(@NotNull String name) {
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable Function<Object, Object> bindGetter(@NotNull MethodHandles.Lookup lookup,
+                                                                 @NotNull Method readMethod) {
+        try {
+            MethodHandle readHandle = lookup.unreflect(readMethod);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                MethodType.methodType(Function.class), GETTER_SAM_TYPE, readHandle,
+                MethodType.methodType(wrap(readMethod.getReturnType()), readMethod.getDeclaringClass()));
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            // e.g. bridge or default methods, which can't be bound, are accessed by the method handle.
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable BiConsumer<Object, Object> bindSetter(@NotNull MethodHandles.Lookup lookup,
+                                                                   @NotNull Method writeMethod) {
+        try {
+            MethodHandle writeHandle = lookup.unreflect(writeMethod);
+            // The return value of fluent setters is dropped.
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(BiConsumer.class), SETTER_SAM_TYPE, writeHandle,
+                MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+                    wrap(writeMethod.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static @NotNull Function<Object, Object> toGetter(@NotNull MethodHandle getterHandle) {
+        return entity -> {
+            try {
+                return getterHandle.invokeExact(entity);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static @NotNull BiConsumer<Object, Object> toSetter(@NotNull MethodHandle setterHandle) {
+        return (entity, value) -> {
+            try {
+                setterHandle.invokeExact(entity, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static @NotNull Class<?> wrap(@NotNull Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
@@ -0,0 +1,111 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.repository.BloomFilterStats;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent bloom filter, which tells if a key was definitely never added.
+ * The bits are set lock-free, so adding and checking keys is safe from any thread.
+ * The bit indexes are derived from the hash code of the key by double hashing.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BloomFilter {
+
+    AtomicLongArray bits;
+    long bitCount;
+    int hashFunctionCount;
+
+    LongAdder negativeCount;
+    LongAdder falsePositiveCount;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        // The optimal amount of bits and hash functions for the expected entries and false positive rate.
+        double optimalBitCount = -expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int wordCount = (int) Math.max(1, Math.ceil(optimalBitCount / Long.SIZE));
+        this.bits = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashFunctionCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+        this.negativeCount = new LongAdder();
+        this.falsePositiveCount = new LongAdder();
+    }
+
+    /**
+     * Adds the key to the filter.
+     *
+     * @param key The added key
+     */
+    public void add(@NotNull Object key) {
+        long hash = mix(key.hashCode());
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctionCount; i++) {
+            long bitIndex = indexOf(hash1 + i * hash2);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+            long word = bits.get(wordIndex);
+            while ((word & mask) == 0 && !bits.compareAndSet(wordIndex, word, word | mask)) {
+                word = bits.get(wordIndex);
+            }
+        }
+    }
+
+    /**
+     * Checks if the key was possibly added to the filter and counts the negatives.
+     *
+     * @param key The checked key
+     * @return false, if the key was definitely never added. true, if the key was possibly added.
+     */
+    public boolean mightContain(@NotNull Object key) {
+        long hash = mix(key.hashCode());
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctionCount; i++) {
+            long bitIndex = indexOf(hash1 + i * hash2);
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                negativeCount.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records, that a key was possibly added to the filter, but the query didn't find it.
+     */
+    public void recordFalsePositive() {
+        falsePositiveCount.increment();
+    }
+
+    /**
+     * @return A snapshot of the statistics of the filter.
+     */
+    public @NotNull BloomFilterStats stats() {
+        long setBitCount = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            setBitCount += Long.bitCount(bits.get(i));
+        }
+        return new BloomFilterStats(bitCount, hashFunctionCount, setBitCount,
+            negativeCount.sum(), falsePositiveCount.sum());
+    }
+
+    private long indexOf(int combinedHash) {
+        // Flip negative hashes, so every index is inside the bits.
+        if (combinedHash < 0) {
+            combinedHash = ~combinedHash;
+        }
+        return combinedHash % bitCount;
+    }
+
+    private static long mix(int hash) {
+        // The finalizer of MurmurHash3, which spreads the bits of the hash code over the whole long.
+        long mixed = hash * 0x9e3779b97f4a7c15L;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return mixed ^ (mixed >>> 33);
+    }
+}
@@ -0,0 +1,88 @@
+package eu.koboo.en2do.internal.cache;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A utility class for sharing the result of one method call with other calls, which use the same arguments.
+ */
+@UtilityClass
+class CallUtils {
+
+    /**
+     * Creates a key of the given arguments, which is equal for arguments with equal content.
+     * Arrays are compared by their identity, so they're converted to lists, which are compared by their content.
+     *
+     * @param arguments The arguments of the method call
+     * @return The list of the arguments
+     */
+    public @NotNull List<Object> createFingerprint(@Nullable Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Object> fingerprint = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            fingerprint.add(toComparable(argument));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Copies lists and maps into immutable ones, so a shared result can't be modified by any caller.
+     *
+     * @param result The result of the method call
+     * @return The immutable result
+     */
+    public @Nullable Object toImmutable(@Nullable Object result) {
+        if (result instanceof List) {
+            return List.copyOf((List<?>) result);
+        }
+        if (result instanceof Map) {
+            // The order of grouped counts is kept, so Map.copyOf can't be used.
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) result));
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the shared result and throws the exception of the failed method call.
+     *
+     * @param future The future of the shared result
+     * @return The shared result
+     * @throws Exception if the method call failed
+     */
+    public @Nullable Object await(@NotNull CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private @Nullable Object toComparable(@Nullable Object argument) {
+        if (argument == null || !argument.getClass().isArray()) {
+            return argument;
+        }
+        if (argument instanceof Object[]) {
+            return createFingerprint((Object[]) argument);
+        }
+        // Primitive arrays can't be cast to Object[], so they're copied by reflection.
+        int length = Array.getLength(argument);
+        List<Object> elementList = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            elementList.add(Array.get(argument, i));
+        }
+        return elementList;
+    }
+}
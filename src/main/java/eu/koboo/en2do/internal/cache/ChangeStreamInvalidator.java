@@ -0,0 +1,293 @@
+package eu.koboo.en2do.internal.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.repository.Repository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the collection of a repository with a change stream and removes every changed entity from the
+ * local caches of the repository. If the entity can't be identified, e.g. on drops, all caches are invalidated.
+ * The resume token of the last received change is persisted periodically, so a reopened change stream
+ * continues at the same position and doesn't miss any change in between.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the unique id of the entity
+ * @param <R>  The generic type of the repository
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ChangeStreamInvalidator<E, ID, R extends Repository<E, ID>> implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeStreamInvalidator.class.getName());
+
+    // The error codes, if the resume token isn't valid anymore, e.g. because the oplog was rolled over.
+    private static final Set<Integer> RESUME_TOKEN_LOST_CODES = Set.of(260, 280, 286);
+    private static final String RESUME_TOKEN_FIELD = "resumeToken";
+    private static final long MAX_AWAIT_MILLIS = 500;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long PERSIST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    RepositoryMeta<E, ID, R> repositoryMeta;
+    MongoCollection<BsonDocument> resumeTokenCollection;
+    Thread thread;
+
+    @NonFinal
+    volatile boolean running;
+
+    // Only accessed by the thread of the change stream, after it was started.
+    @NonFinal
+    @Nullable
+    MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor;
+    @NonFinal
+    @Nullable
+    BsonDocument resumeToken;
+    @NonFinal
+    @Nullable
+    BsonDocument persistedResumeToken;
+    @NonFinal
+    long lastPersistTime;
+
+    public ChangeStreamInvalidator(@NotNull RepositoryMeta<E, ID, R> repositoryMeta, @NotNull MongoDatabase database,
+                                   @NotNull String resumeTokenCollectionName) {
+        this.repositoryMeta = repositoryMeta;
+        this.resumeTokenCollection = database.getCollection(resumeTokenCollectionName, BsonDocument.class);
+        this.thread = new Thread(this, "en2do-change-stream-" + repositoryMeta.getCollectionName());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Opens the change stream and starts the thread, which receives the changes.
+     *
+     * @return true, if the change stream was opened. false, if the server doesn't support change streams.
+     */
+    public boolean start() {
+        resumeToken = loadResumeToken();
+        persistedResumeToken = resumeToken;
+        try {
+            cursor = openCursor();
+        } catch (MongoException e) {
+            LOGGER.log(Level.WARNING, "Couldn't open change stream on collection \"" +
+                repositoryMeta.getCollectionName() + "\", so caches are only invalidated by local writes.", e);
+            disableIdBloomFilter();
+            return false;
+        }
+        running = true;
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Stops the thread and waits until the change stream is closed and the resume token is persisted.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true, if the change stream is open and receives changes.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                if (cursor == null) {
+                    cursor = openCursor();
+                }
+                ChangeStreamDocument<BsonDocument> change = cursor.tryNext();
+                if (change != null) {
+                    handleChange(change);
+                }
+                // The cursor could be closed by an invalidate event.
+                if (cursor != null) {
+                    BsonDocument cursorResumeToken = cursor.getResumeToken();
+                    if (cursorResumeToken != null) {
+                        resumeToken = cursorResumeToken;
+                    }
+                }
+                persistResumeToken(false);
+            } catch (MongoException e) {
+                if (!running) {
+                    break;
+                }
+                handleFailure(e);
+            }
+        }
+        closeCursor();
+        persistResumeToken(true);
+    }
+
+    private @NotNull MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> openCursor() {
+        ChangeStreamIterable<BsonDocument> changeStreamIterable = repositoryMeta.getCollection()
+            .watch(BsonDocument.class)
+            .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+        if (resumeToken == null) {
+            return changeStreamIterable.cursor();
+        }
+        try {
+            // In contrast to "resumeAfter", "startAfter" can also continue after an invalidate event.
+            return changeStreamIterable.startAfter(resumeToken).cursor();
+        } catch (MongoCommandException e) {
+            if (!RESUME_TOKEN_LOST_CODES.contains(e.getErrorCode())) {
+                throw e;
+            }
+            // The changes after the resume token are lost, so we can't know which entities are stale.
+            resumeToken = null;
+            repositoryMeta.onCollectionWrite();
+            disableIdBloomFilter();
+            return repositoryMeta.getCollection()
+                .watch(BsonDocument.class)
+                .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS)
+                .cursor();
+        }
+    }
+
+    private void handleChange(@NotNull ChangeStreamDocument<BsonDocument> change) {
+        switch (change.getOperationType()) {
+            case INSERT:
+            case UPDATE:
+            case REPLACE:
+            case DELETE:
+                ID uniqueId = extractUniqueId(change);
+                if (uniqueId == null) {
+                    repositoryMeta.onCollectionWrite();
+                    return;
+                }
+                repositoryMeta.onRemoteEntityChange(uniqueId);
+                return;
+            case INVALIDATE:
+                // The change stream is closed after a drop or rename, so it's reopened after this event.
+                closeCursor();
+                resumeToken = change.getResumeToken();
+                repositoryMeta.onCollectionWrite();
+                return;
+            default:
+                repositoryMeta.onCollectionWrite();
+        }
+    }
+
+    private void handleFailure(@NotNull MongoException exception) {
+        LOGGER.log(Level.WARNING, "Change stream on collection \"" + repositoryMeta.getCollectionName() +
+            "\" failed, reopening it.", exception);
+        closeCursor();
+        if (resumeToken == null) {
+            // Without a resume token, every change until the stream is reopened would be missed.
+            repositoryMeta.onCollectionWrite();
+            disableIdBloomFilter();
+        }
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    // Inserted unique ids could be missed, so the bloom filter would report existing entities as absent.
+    private void disableIdBloomFilter() {
+        if (repositoryMeta.disableIdBloomFilter()) {
+            LOGGER.log(Level.WARNING, "Changes of collection \"" + repositoryMeta.getCollectionName() +
+                "\" could be missed, so its id bloom filter is disabled.");
+        }
+    }
+
+    private @Nullable ID extractUniqueId(@NotNull ChangeStreamDocument<BsonDocument> change) {
+        BsonValue uniqueIdValue = null;
+        if (!repositoryMeta.isSeparateEntityId()) {
+            BsonDocument documentKey = change.getDocumentKey();
+            if (documentKey != null) {
+                uniqueIdValue = documentKey.get("_id");
+            }
+        } else {
+            // The document key only contains the generated "_id", so the unique id is only known,
+            // if the change contains the full document.
+            BsonDocument fullDocument = change.getFullDocument();
+            if (fullDocument != null) {
+                uniqueIdValue = fullDocument.get(repositoryMeta.getEntityUniqueIdField().getName());
+            }
+        }
+        return repositoryMeta.decodeUniqueId(uniqueIdValue);
+    }
+
+    private @Nullable BsonDocument loadResumeToken() {
+        try {
+            BsonDocument tokenDocument = resumeTokenCollection.find(createTokenFilter()).first();
+            if (tokenDocument == null || !tokenDocument.isDocument(RESUME_TOKEN_FIELD)) {
+                return null;
+            }
+            return tokenDocument.getDocument(RESUME_TOKEN_FIELD);
+        } catch (MongoException e) {
+            return null;
+        }
+    }
+
+    private void persistResumeToken(boolean force) {
+        if (resumeToken == null || resumeToken.equals(persistedResumeToken)) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!force && now - lastPersistTime < PERSIST_INTERVAL_NANOS) {
+            return;
+        }
+        lastPersistTime = now;
+        BsonDocument tokenDocument = new BsonDocument("_id", new BsonString(repositoryMeta.getCollectionName()))
+            .append(RESUME_TOKEN_FIELD, resumeToken);
+        try {
+            resumeTokenCollection.replaceOne(createTokenFilter(), tokenDocument, new ReplaceOptions().upsert(true));
+            persistedResumeToken = resumeToken;
+        } catch (MongoException e) {
+            // The token is persisted again with the next change.
+            LOGGER.log(Level.FINE, "Couldn't persist resume token of collection \"" +
+                repositoryMeta.getCollectionName() + "\".", e);
+        }
+    }
+
+    private @NotNull Bson createTokenFilter() {
+        return Filters.eq("_id", repositoryMeta.getCollectionName());
+    }
+
+    private void closeCursor() {
+        if (cursor == null) {
+            return;
+        }
+        try {
+            cursor.close();
+        } catch (MongoException ignored) {
+            // The cursor is already closed or the connection is lost.
+        }
+        cursor = null;
+    }
+}
@@ -0,0 +1,71 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.repository.CacheStats;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the storage of the entity cache of a repository.
+ * Every write increments the generation of the cache, so values, which were loaded before a write,
+ * aren't cached afterward.
+ *
+ * @param <K> The generic type of the key
+ * @param <V> The generic type of the value
+ */
+public interface EntityCacheStore<K, V> {
+
+    /**
+     * Returns the cached value of the key and records the request.
+     *
+     * @param key The key of the value
+     * @return The cached value, or null if the key isn't cached or expired.
+     */
+    @Nullable V get(@NotNull K key);
+
+    /**
+     * Checks if a value of the key is cached and records the request, without returning the value.
+     *
+     * @param key The key of the value
+     * @return true, if the key is cached and not expired.
+     */
+    boolean contains(@NotNull K key);
+
+    /**
+     * Returns the current generation, which has to be passed to "putIfUnchanged" after loading a value.
+     *
+     * @return The current generation of the cache
+     */
+    long getGeneration();
+
+    /**
+     * Caches the loaded value, but only if no write happened since the given generation.
+     * Otherwise, the loaded value could be older than the written one.
+     *
+     * @param key        The key of the value
+     * @param value      The loaded value
+     * @param generation The generation of the cache, before the value was loaded
+     */
+    void putIfUnchanged(@NotNull K key, @NotNull V value, long generation);
+
+    /**
+     * Removes the cached value of the key.
+     *
+     * @param key The key of the value
+     */
+    void invalidate(@NotNull K key);
+
+    /**
+     * Removes all cached values.
+     */
+    void invalidateAll();
+
+    /**
+     * @return The amount of cached values, which could contain expired values.
+     */
+    int size();
+
+    /**
+     * @return A snapshot of the statistics of the cache.
+     */
+    @NotNull CacheStats stats();
+}
@@ -0,0 +1,105 @@
+package eu.koboo.en2do.internal.cache;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A count-min sketch with 4-bit counters, which estimates how often a key was requested recently.
+ * Every long of the table holds 16 counters, which are split into 4 groups, one for every hash function.
+ * After a sample of requests, all counters are halved, so old popularity fades out over time.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    AtomicLongArray table;
+    int tableMask;
+    int sampleSize;
+    AtomicInteger additions;
+
+    FrequencySketch(int maxEntries) {
+        int tableSize = Integer.highestOneBit(Math.max(maxEntries, 16) - 1) << 1;
+        this.table = new AtomicLongArray(tableSize);
+        this.tableMask = tableSize - 1;
+        this.sampleSize = tableSize * 10;
+        this.additions = new AtomicInteger();
+    }
+
+    /**
+     * @param key The key, which frequency should be estimated
+     * @return The estimated frequency of the key, between 0 and 15.
+     */
+    int frequency(@NotNull Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = (start + i) << 2;
+            int count = (int) ((table.get(index) >>> offset) & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the counters of the key, if they aren't saturated yet.
+     *
+     * @param key The requested key
+     */
+    void increment(@NotNull Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean incremented = false;
+        for (int i = 0; i < 4; i++) {
+            incremented |= incrementAt(indexOf(hash, i), (start + i) << 2);
+        }
+        if (incremented && additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = (long) MAX_COUNT << offset;
+        while (true) {
+            long value = table.get(index);
+            if ((value & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, value, value + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    private void reset() {
+        additions.set(sampleSize / 2);
+        for (int i = 0; i < table.length(); i++) {
+            long value;
+            do {
+                value = table.get(i);
+            } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+        }
+    }
+
+    private int indexOf(int hash, int i) {
+        long indexHash = (hash + SEEDS[i]) * SEEDS[i];
+        indexHash += indexHash >>> 32;
+        return ((int) indexHash) & tableMask;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
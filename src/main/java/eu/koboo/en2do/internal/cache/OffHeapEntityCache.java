@@ -0,0 +1,297 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.repository.CacheStats;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A size-bounded cache, which stores the encoded BSON bytes of the values in direct memory.
+ * Only the small index of the cache lives on the heap, so it can hold a lot of values without increasing
+ * the pauses of the garbage collector. The values are encoded by the codec of the collection on every write
+ * and decoded on every hit, so every hit returns a new instance.
+ * The memory is split into slabs, which are filled one after another. If all slabs are full,
+ * the oldest slab is cleared and reused, which evicts all of its values at once.
+ *
+ * @param <K> The generic type of the key
+ * @param <V> The generic type of the value
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OffHeapEntityCache<K, V> implements EntityCacheStore<K, V> {
+
+    private static final int MIN_SLAB_COUNT = 8;
+    private static final int MAX_SLAB_SIZE = 1 << 30;
+
+    Codec<V> codec;
+    int maxEntries;
+    long expireAfterWriteNanos;
+    long expireAfterAccessNanos;
+
+    Map<K, Entry<K>> entryMap;
+    ByteBuffer[] slabs;
+    // Holds the entries of every slab in the order of writing, so they can be removed from the index,
+    // if the slab is cleared or the maximum amount of entries is reached.
+    List<Deque<Entry<K>>> slabEntryQueues;
+    int slabSize;
+    // Readers copy the bytes with the read lock, so a slab can't be reused while it's read.
+    ReentrantReadWriteLock lock;
+
+    LongAdder hitCount;
+    LongAdder missCount;
+    LongAdder evictionCount;
+
+    // Guarded by the write lock, but read without it.
+    @NonFinal
+    volatile long generation;
+
+    // Guarded by the write lock.
+    @NonFinal
+    int currentSlab;
+    @NonFinal
+    int writeOffset;
+
+    public OffHeapEntityCache(@NotNull Codec<V> codec, long maxBytes, int maxEntries,
+                              long expireAfterWrite, long expireAfterAccess, @NotNull TimeUnit timeUnit) {
+        this.codec = codec;
+        this.maxEntries = maxEntries;
+        this.expireAfterWriteNanos = timeUnit.toNanos(expireAfterWrite);
+        this.expireAfterAccessNanos = timeUnit.toNanos(expireAfterAccess);
+        this.entryMap = new ConcurrentHashMap<>();
+        int slabCount = (int) Math.max(MIN_SLAB_COUNT, (maxBytes + MAX_SLAB_SIZE - 1) / MAX_SLAB_SIZE);
+        this.slabSize = (int) Math.max(1, maxBytes / slabCount);
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabEntryQueues = new ArrayList<>(slabCount);
+        for (int i = 0; i < slabCount; i++) {
+            slabs[i] = ByteBuffer.allocateDirect(slabSize);
+            slabEntryQueues.add(new ArrayDeque<>());
+        }
+        this.lock = new ReentrantReadWriteLock();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    @Override
+    public @Nullable V get(@NotNull K key) {
+        byte[] bytes = readBytes(key);
+        if (bytes == null) {
+            return null;
+        }
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DecoderContext.builder().build());
+    }
+
+    @Override
+    public boolean contains(@NotNull K key) {
+        Entry<K> entry = entryMap.get(key);
+        long now = System.nanoTime();
+        if (entry == null || isExpired(entry, now)) {
+            if (entry != null) {
+                removeEntry(entry);
+            }
+            missCount.increment();
+            return false;
+        }
+        entry.accessTime = now;
+        hitCount.increment();
+        return true;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void putIfUnchanged(@NotNull K key, @NotNull V value, long generation) {
+        // The value is encoded before the lock is acquired, so concurrent reads aren't blocked by encoding.
+        byte[] bytes = encode(value);
+        lock.writeLock().lock();
+        try {
+            if (this.generation != generation) {
+                return;
+            }
+            putLocked(key, bytes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(@NotNull K key) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            // The bytes of the entry stay in the slab, until the slab is reused.
+            entryMap.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            entryMap.clear();
+            for (Deque<Entry<K>> slabEntryQueue : slabEntryQueues) {
+                slabEntryQueue.clear();
+            }
+            currentSlab = 0;
+            writeOffset = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return entryMap.size();
+    }
+
+    @Override
+    public @NotNull CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+    }
+
+    private @Nullable byte[] readBytes(@NotNull K key) {
+        Entry<K> entry = entryMap.get(key);
+        long now = System.nanoTime();
+        if (entry == null || isExpired(entry, now)) {
+            if (entry != null) {
+                removeEntry(entry);
+            }
+            missCount.increment();
+            return null;
+        }
+        byte[] bytes = new byte[entry.length];
+        lock.readLock().lock();
+        try {
+            // The slab of the entry could be reused, before the lock was acquired.
+            if (entryMap.get(key) != entry) {
+                missCount.increment();
+                return null;
+            }
+            ByteBuffer slab = slabs[entry.slabIndex].duplicate();
+            slab.position(entry.offset);
+            slab.get(bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        entry.accessTime = now;
+        hitCount.increment();
+        return bytes;
+    }
+
+    private void putLocked(@NotNull K key, byte[] bytes) {
+        if (bytes.length > slabSize) {
+            // The value doesn't fit into any slab, so an older value of the key is removed instead.
+            entryMap.remove(key);
+            return;
+        }
+        if (entryMap.size() >= maxEntries && !entryMap.containsKey(key)) {
+            evictOldestEntry();
+        }
+        if (writeOffset + bytes.length > slabSize) {
+            currentSlab = (currentSlab + 1) % slabs.length;
+            writeOffset = 0;
+            clearSlab(currentSlab);
+        }
+        ByteBuffer slab = slabs[currentSlab].duplicate();
+        slab.position(writeOffset);
+        slab.put(bytes);
+        Entry<K> entry = new Entry<>(key, currentSlab, writeOffset, bytes.length, System.nanoTime());
+        writeOffset += bytes.length;
+        slabEntryQueues.get(currentSlab).add(entry);
+        entryMap.put(key, entry);
+    }
+
+    private void evictOldestEntry() {
+        // The slab after the current one was written the longest time ago, so the search starts there.
+        for (int i = 1; i <= slabs.length; i++) {
+            Deque<Entry<K>> slabEntryQueue = slabEntryQueues.get((currentSlab + i) % slabs.length);
+            Entry<K> entry;
+            while ((entry = slabEntryQueue.poll()) != null) {
+                // The entry could already be replaced by a newer value or removed.
+                if (entryMap.remove(entry.key, entry)) {
+                    evictionCount.increment();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void clearSlab(int slabIndex) {
+        Deque<Entry<K>> slabEntryQueue = slabEntryQueues.get(slabIndex);
+        for (Entry<K> entry : slabEntryQueue) {
+            // The entry could already be replaced by a newer value in another slab.
+            if (entryMap.remove(entry.key, entry)) {
+                evictionCount.increment();
+            }
+        }
+        slabEntryQueue.clear();
+    }
+
+    private void removeEntry(@NotNull Entry<K> entry) {
+        lock.writeLock().lock();
+        try {
+            entryMap.remove(entry.key, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private @NotNull byte[] encode(@NotNull V value) {
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+            codec.encode(writer, value, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        }
+        return outputBuffer.toByteArray();
+    }
+
+    private boolean isExpired(@NotNull Entry<K> entry, long now) {
+        if (expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos) {
+            return true;
+        }
+        return expireAfterAccessNanos > 0 && now - entry.accessTime >= expireAfterAccessNanos;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static final class Entry<K> {
+
+        final K key;
+        final int slabIndex;
+        final int offset;
+        final int length;
+        final long writeTime;
+        volatile long accessTime;
+
+        Entry(@NotNull K key, int slabIndex, int offset, int length, long now) {
+            this.key = key;
+            this.slabIndex = slabIndex;
+            this.offset = offset;
+            this.length = length;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
+import eu.koboo.en2do.internal.methods.operators.MethodOperator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Answers a dynamic method, which only filters fields by equality, from a preloaded snapshot.
+ * The first field is looked up in its hash index, the remaining fields are compared on the found entities.
+ *
+ * @param <E> The generic type of the entity
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PreloadQuery<E> {
+
+    @NotNull
+    MethodOperator methodOperator;
+
+    @NotNull
+    Field[] fields;
+
+    @NotNull
+    PropertyAccessor[] accessors;
+
+    @NotNull
+    int[] parameterIndexes;
+
+    public PreloadQuery(@NotNull MethodOperator methodOperator, @NotNull Field[] fields,
+                        @NotNull int[] parameterIndexes) throws IllegalAccessException {
+        this.methodOperator = methodOperator;
+        this.fields = fields;
+        this.accessors = new PropertyAccessor[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            accessors[i] = PropertyAccessor.ofField(fields[i]);
+        }
+        this.parameterIndexes = parameterIndexes;
+    }
+
+    /**
+     * @return The field, which has to be indexed by the snapshot.
+     */
+    public @NotNull Field getIndexedField() {
+        return fields[0];
+    }
+
+    /**
+     * Executes the method on the snapshot.
+     *
+     * @param snapshot  The current snapshot
+     * @param arguments The arguments of the method call
+     * @return The result, like it would be returned by the query
+     */
+    public @Nullable Object execute(@NotNull PreloadSnapshot<E> snapshot, @NotNull Object[] arguments) {
+        List<E> candidateList = snapshot.lookup(fields[0], arguments[parameterIndexes[0]]);
+        switch (methodOperator) {
+            case FIND_FIRST:
+                for (E entity : candidateList) {
+                    if (matchesRemaining(entity, arguments)) {
+                        return entity;
+                    }
+                }
+                return null;
+            case FIND_MANY:
+                List<E> entityList = new ArrayList<>();
+                for (E entity : candidateList) {
+                    if (matchesRemaining(entity, arguments)) {
+                        entityList.add(entity);
+                    }
+                }
+                return entityList;
+            case COUNT:
+                long count = 0;
+                for (E entity : candidateList) {
+                    if (matchesRemaining(entity, arguments)) {
+                        count++;
+                    }
+                }
+                return count;
+            case EXISTS:
+                for (E entity : candidateList) {
+                    if (matchesRemaining(entity, arguments)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                throw new IllegalStateException("The operator " + methodOperator + " can't be preloaded.");
+        }
+    }
+
+    private boolean matchesRemaining(@NotNull E entity, @NotNull Object[] arguments) {
+        for (int i = 1; i < fields.length; i++) {
+            Object argumentKey = PreloadSnapshot.toKey(arguments[parameterIndexes[i]]);
+            if (!Objects.equals(PreloadSnapshot.readKey(accessors[i], entity), argumentKey)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
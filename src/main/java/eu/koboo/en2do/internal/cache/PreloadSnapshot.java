@@ -0,0 +1,86 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * An immutable snapshot of all entities of a collection, with a hash index on every indexed field.
+ * The snapshot is stamped with the write generation of the repository, at the time the load was started.
+ *
+ * @param <E> The generic type of the entity
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PreloadSnapshot<E> {
+
+    @Getter
+    long generation;
+
+    @Getter
+    @NotNull
+    List<E> entityList;
+
+    @NotNull
+    Map<Field, Map<Object, List<E>>> indexMap;
+
+    public PreloadSnapshot(long generation, @NotNull List<E> entityList,
+                           @NotNull Map<Field, PropertyAccessor> indexedAccessorMap) {
+        this.generation = generation;
+        this.entityList = Collections.unmodifiableList(entityList);
+        this.indexMap = new HashMap<>();
+        for (Map.Entry<Field, PropertyAccessor> indexedEntry : indexedAccessorMap.entrySet()) {
+            PropertyAccessor accessor = indexedEntry.getValue();
+            Map<Object, List<E>> fieldIndex = new HashMap<>();
+            for (E entity : entityList) {
+                fieldIndex.computeIfAbsent(readKey(accessor, entity), key -> new ArrayList<>(1)).add(entity);
+            }
+            indexMap.put(indexedEntry.getKey(), fieldIndex);
+        }
+    }
+
+    /**
+     * Returns all entities, which have the given value in the indexed field, in the order of the collection.
+     *
+     * @param field The indexed field
+     * @param value The value of the field
+     * @return The entities, which have the value
+     */
+    public @NotNull List<E> lookup(@NotNull Field field, @Nullable Object value) {
+        Map<Object, List<E>> fieldIndex = indexMap.get(field);
+        if (fieldIndex == null) {
+            throw new IllegalArgumentException("The field " + field.getName() + " isn't indexed.");
+        }
+        return fieldIndex.getOrDefault(toKey(value), Collections.emptyList());
+    }
+
+    /**
+     * Reads the value of the field as index key.
+     *
+     * @param accessor The accessor of the field, which is read
+     * @param entity   The entity, which contains the field
+     * @return The index key of the value
+     */
+    static @Nullable Object readKey(@NotNull PropertyAccessor accessor, @NotNull Object entity) {
+        return toKey(accessor.get(entity));
+    }
+
+    /**
+     * Converts the value of a field or an argument to an index key.
+     *
+     * @param value The value
+     * @return The index key of the value
+     */
+    static @Nullable Object toKey(@Nullable Object value) {
+        // Enums are saved by their name, so the filters compare them by name too.
+        if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        }
+        return value;
+    }
+}
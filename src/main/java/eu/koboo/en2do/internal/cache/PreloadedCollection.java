@@ -0,0 +1,153 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.internal.MethodCallable;
+import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
+import eu.koboo.en2do.repository.Repository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the preloaded snapshot of all entities of a repository and replaces it in the background.
+ * Every new snapshot is built completely, before it's swapped in, so readers never see a partially loaded snapshot.
+ * A snapshot is only used, while the write generation of the repository didn't change since it was loaded.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the unique id of the entity
+ * @param <R>  The generic type of the repository
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PreloadedCollection<E, ID, R extends Repository<E, ID>> {
+
+    private static final Logger LOGGER = Logger.getLogger(PreloadedCollection.class.getName());
+
+    RepositoryMeta<E, ID, R> repositoryMeta;
+    long refreshIntervalNanos;
+    // Only modified, before the first snapshot is loaded.
+    Map<Field, PropertyAccessor> indexedAccessorMap;
+    ScheduledExecutorService scheduler;
+    AtomicBoolean refreshing;
+
+    @NonFinal
+    @Nullable
+    volatile PreloadSnapshot<E> snapshot;
+
+    public PreloadedCollection(@NotNull RepositoryMeta<E, ID, R> repositoryMeta, long refreshInterval,
+                               @NotNull TimeUnit timeUnit) {
+        this.repositoryMeta = repositoryMeta;
+        this.refreshIntervalNanos = timeUnit.toNanos(refreshInterval);
+        this.indexedAccessorMap = new LinkedHashMap<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "en2do-preload-" + repositoryMeta.getCollectionName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshing = new AtomicBoolean();
+    }
+
+    /**
+     * Adds a hash index on the field to every snapshot.
+     *
+     * @param field The field of the entity
+     * @throws IllegalAccessException if the field isn't accessible
+     */
+    public void registerIndex(@NotNull Field field) throws IllegalAccessException {
+        if (!indexedAccessorMap.containsKey(field)) {
+            indexedAccessorMap.put(field, PropertyAccessor.ofField(field));
+        }
+    }
+
+    /**
+     * Loads the first snapshot and schedules the periodic refresh.
+     *
+     * @throws Exception if the entities couldn't be loaded
+     */
+    public void start() throws Exception {
+        load();
+        if (refreshIntervalNanos > 0) {
+            scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalNanos, refreshIntervalNanos,
+                TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stops the refresh of the snapshot.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+        snapshot = null;
+    }
+
+    /**
+     * Executes the method on the current snapshot, or executes the query, if the snapshot is stale.
+     *
+     * @param preloadQuery The method, which is executed on the snapshot
+     * @param arguments    The arguments of the method call
+     * @param query        The query, which is executed, if the snapshot is stale
+     * @return The result of the method
+     * @throws Exception if the query fails
+     */
+    public @Nullable Object execute(@NotNull PreloadQuery<E> preloadQuery, @NotNull Object[] arguments,
+                                    @NotNull MethodCallable query) throws Exception {
+        PreloadSnapshot<E> currentSnapshot = getCurrentSnapshot();
+        if (currentSnapshot == null) {
+            return query.call();
+        }
+        return preloadQuery.execute(currentSnapshot, arguments);
+    }
+
+    /**
+     * @return The current snapshot, or null if it's stale. A stale snapshot is refreshed in the background.
+     */
+    public @Nullable PreloadSnapshot<E> getCurrentSnapshot() {
+        PreloadSnapshot<E> currentSnapshot = snapshot;
+        if (currentSnapshot != null && currentSnapshot.getGeneration() == repositoryMeta.getWriteGeneration()) {
+            return currentSnapshot;
+        }
+        if (!refreshing.get()) {
+            try {
+                scheduler.execute(this::refresh);
+            } catch (RejectedExecutionException ignored) {
+                // The repository is already destroyed.
+            }
+        }
+        return null;
+    }
+
+    private void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            load();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Couldn't refresh preloaded snapshot of collection \"" +
+                repositoryMeta.getCollectionName() + "\".", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void load() throws Exception {
+        // The generation is read before the query, so writes during the load mark the snapshot as stale.
+        long generation = repositoryMeta.getWriteGeneration();
+        List<E> entityList = repositoryMeta.getCollection().find().into(new ArrayList<>());
+        snapshot = new PreloadSnapshot<>(generation, entityList, indexedAccessorMap);
+    }
+}
@@ -0,0 +1,108 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.internal.MethodCallable;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the results of one dynamic method, by a fingerprint of the arguments.
+ * Every result is stamped with the write generation of the repository, at the time the query was started.
+ * If the generation changed since then, the result is stale and queried again.
+ * Concurrent misses for the same arguments wait for the first query, instead of querying the same result again.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class QueryResultCache {
+
+    long ttlNanos;
+    int maxEntries;
+    Map<List<Object>, Entry> entryMap;
+
+    public QueryResultCache(long ttl, @NotNull TimeUnit timeUnit, int maxEntries) {
+        this.ttlNanos = timeUnit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.entryMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the cached result of the arguments, or executes the query and caches its result.
+     *
+     * @param arguments  The arguments of the method call
+     * @param generation The current write generation of the repository
+     * @param query      The query, which creates the result
+     * @return The cached or queried result, which is immutable if it's a list or a map
+     * @throws Exception if the query fails
+     */
+    public @Nullable Object get(@Nullable Object[] arguments, long generation,
+                                @NotNull MethodCallable query) throws Exception {
+        List<Object> fingerprint = CallUtils.createFingerprint(arguments);
+        while (true) {
+            long now = System.nanoTime();
+            Entry entry = entryMap.get(fingerprint);
+            if (entry != null && entry.isValid(generation, now)) {
+                return CallUtils.await(entry.future);
+            }
+            if (entry == null && entryMap.size() >= maxEntries) {
+                removeInvalidEntries(generation, now);
+                if (entryMap.size() >= maxEntries) {
+                    // The cache is still full, so the result isn't cached at all.
+                    return CallUtils.toImmutable(query.call());
+                }
+            }
+            Entry newEntry = new Entry(generation, now + ttlNanos);
+            boolean claimed = entry == null
+                ? entryMap.putIfAbsent(fingerprint, newEntry) == null
+                : entryMap.replace(fingerprint, entry, newEntry);
+            if (!claimed) {
+                // Another thread started a query in the meantime, so we check its entry again.
+                continue;
+            }
+            try {
+                Object result = CallUtils.toImmutable(query.call());
+                newEntry.future.complete(result);
+                return result;
+            } catch (Exception e) {
+                // Failed queries aren't cached, but the waiting threads receive the same exception.
+                entryMap.remove(fingerprint, newEntry);
+                newEntry.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        entryMap.clear();
+    }
+
+    private void removeInvalidEntries(long generation, long now) {
+        entryMap.values().removeIf(entry -> entry.future.isDone() && !entry.isValid(generation, now));
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Entry {
+
+        long generation;
+        long expiresAt;
+        CompletableFuture<Object> future;
+
+        Entry(long generation, long expiresAt) {
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+            this.future = new CompletableFuture<>();
+        }
+
+        boolean isValid(long currentGeneration, long now) {
+            return generation == currentGeneration && now - expiresAt < 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.internal.MethodCallable;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collapses concurrent calls of one dynamic method with the same arguments into one query.
+ * The first call executes the query, while every other call waits for its result.
+ * Nothing is cached, so the next call after the query is completed executes a new query.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SingleFlightGroup {
+
+    Map<List<Object>, CompletableFuture<Object>> inFlightMap;
+
+    public SingleFlightGroup() {
+        this.inFlightMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Executes the query in the calling thread, or waits for the in-flight query with the same arguments.
+     *
+     * @param arguments The arguments of the method call
+     * @param query     The query, which creates the result
+     * @return The shared result, which is immutable if it's a list or a map
+     * @throws Exception if the query fails
+     */
+    public @Nullable Object call(@Nullable Object[] arguments, @NotNull MethodCallable query) throws Exception {
+        return CallUtils.await(join(arguments, future -> {
+            try {
+                future.complete(CallUtils.toImmutable(query.call()));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }));
+    }
+
+    /**
+     * Starts the query asynchronously, or returns the in-flight query with the same arguments.
+     *
+     * @param arguments The arguments of the method call
+     * @param starter   Starts the query, which completes the given future
+     * @return A future of the shared result, which can be completed by the caller, without affecting other callers
+     */
+    public @NotNull CompletableFuture<Object> callAsync(@Nullable Object[] arguments,
+                                                        @NotNull Consumer<CompletableFuture<Object>> starter) {
+        return join(arguments, future -> {
+            CompletableFuture<Object> queryFuture = new CompletableFuture<>();
+            queryFuture.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+                future.complete(CallUtils.toImmutable(result));
+            });
+            starter.accept(queryFuture);
+        }).copy();
+    }
+
+    private @NotNull CompletableFuture<Object> join(@Nullable Object[] arguments,
+                                                    @NotNull Consumer<CompletableFuture<Object>> starter) {
+        List<Object> fingerprint = CallUtils.createFingerprint(arguments);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightFuture = inFlightMap.putIfAbsent(fingerprint, future);
+        if (inFlightFuture != null) {
+            return inFlightFuture;
+        }
+        // Calls after the completion execute a new query, so results are never reused.
+        future.whenComplete((result, throwable) -> inFlightMap.remove(fingerprint, future));
+        starter.accept(future);
+        return future;
+    }
+}
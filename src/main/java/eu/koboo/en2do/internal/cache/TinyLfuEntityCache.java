@@ -0,0 +1,233 @@
+package eu.koboo.en2do.internal.cache;
+
+import eu.koboo.en2do.repository.CacheStats;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent, size-bounded cache, which uses the TinyLFU admission policy.
+ * Reads are lock-free and only record the frequency of the key. If the cache is full, a new entry has to be
+ * requested more frequently than a victim, which is chosen by sampling a few random entries.
+ * That protects the cache against one-time scans, which would evict the hot entries of a plain LRU cache.
+ * Every write increments the generation of the cache, so values, which were loaded before a write,
+ * aren't cached afterward.
+ *
+ * @param <K> The generic type of the key
+ * @param <V> The generic type of the value
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TinyLfuEntityCache<K, V> implements EntityCacheStore<K, V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    int maxEntries;
+    long expireAfterWriteNanos;
+    long expireAfterAccessNanos;
+
+    Map<K, Node<K, V>> nodeMap;
+    // Holds every node at its index, so random eviction candidates can be picked in constant time.
+    List<Node<K, V>> nodeList;
+    ReentrantLock writeLock;
+    FrequencySketch frequencySketch;
+
+    LongAdder hitCount;
+    LongAdder missCount;
+    LongAdder evictionCount;
+
+    // Guarded by the writeLock, but read without it.
+    @NonFinal
+    volatile long generation;
+
+    public TinyLfuEntityCache(int maxEntries, long expireAfterWrite, long expireAfterAccess, @NotNull TimeUnit timeUnit) {
+        this.maxEntries = maxEntries;
+        this.expireAfterWriteNanos = timeUnit.toNanos(expireAfterWrite);
+        this.expireAfterAccessNanos = timeUnit.toNanos(expireAfterAccess);
+        this.nodeMap = new ConcurrentHashMap<>();
+        this.nodeList = new ArrayList<>();
+        this.writeLock = new ReentrantLock();
+        this.frequencySketch = new FrequencySketch(maxEntries);
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    @Override
+    public @Nullable V get(@NotNull K key) {
+        frequencySketch.increment(key);
+        Node<K, V> node = nodeMap.get(key);
+        long now = System.nanoTime();
+        if (node == null || isExpired(node, now)) {
+            if (node != null) {
+                removeNode(node);
+            }
+            missCount.increment();
+            return null;
+        }
+        node.accessTime = now;
+        hitCount.increment();
+        return node.value;
+    }
+
+    @Override
+    public boolean contains(@NotNull K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public void putIfUnchanged(@NotNull K key, @NotNull V value, long generation) {
+        writeLock.lock();
+        try {
+            if (this.generation != generation) {
+                return;
+            }
+            putLocked(key, value);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(@NotNull K key) {
+        writeLock.lock();
+        try {
+            generation++;
+            Node<K, V> node = nodeMap.get(key);
+            if (node != null) {
+                removeLocked(node);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        writeLock.lock();
+        try {
+            generation++;
+            nodeMap.clear();
+            nodeList.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return nodeMap.size();
+    }
+
+    @Override
+    public @NotNull CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+    }
+
+    private void putLocked(@NotNull K key, @NotNull V value) {
+        long now = System.nanoTime();
+        Node<K, V> existingNode = nodeMap.get(key);
+        if (existingNode != null) {
+            existingNode.value = value;
+            existingNode.writeTime = now;
+            existingNode.accessTime = now;
+            return;
+        }
+        if (nodeList.size() >= maxEntries) {
+            Node<K, V> victim = sampleVictim(now);
+            // TinyLFU admission: The new value only replaces the victim, if it's requested more frequently.
+            if (!isExpired(victim, now)
+                && frequencySketch.frequency(key) <= frequencySketch.frequency(victim.key)) {
+                return;
+            }
+            removeLocked(victim);
+            evictionCount.increment();
+        }
+        Node<K, V> node = new Node<>(key, value, now, nodeList.size());
+        nodeList.add(node);
+        nodeMap.put(key, node);
+    }
+
+    private @NotNull Node<K, V> sampleVictim(long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Node<K, V> victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            Node<K, V> candidate = nodeList.get(random.nextInt(nodeList.size()));
+            if (isExpired(candidate, now)) {
+                return candidate;
+            }
+            int candidateFrequency = frequencySketch.frequency(candidate.key);
+            // The least frequently used candidate is evicted, ties are broken by the last access.
+            if (victim == null || candidateFrequency < victimFrequency
+                || (candidateFrequency == victimFrequency && candidate.accessTime < victim.accessTime)) {
+                victim = candidate;
+                victimFrequency = candidateFrequency;
+            }
+        }
+        return victim;
+    }
+
+    private void removeNode(@NotNull Node<K, V> node) {
+        writeLock.lock();
+        try {
+            // The node could be replaced or removed, while the lock was acquired.
+            if (nodeMap.get(node.key) == node) {
+                removeLocked(node);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void removeLocked(@NotNull Node<K, V> node) {
+        nodeMap.remove(node.key, node);
+        // Swap the last node into the gap, so removing is constant time.
+        Node<K, V> lastNode = nodeList.remove(nodeList.size() - 1);
+        if (lastNode != node) {
+            nodeList.set(node.index, lastNode);
+            lastNode.index = node.index;
+        }
+    }
+
+    private boolean isExpired(@NotNull Node<K, V> node, long now) {
+        if (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos) {
+            return true;
+        }
+        return expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static final class Node<K, V> {
+
+        final K key;
+        volatile V value;
+        volatile long writeTime;
+        volatile long accessTime;
+        // Guarded by the writeLock.
+        int index;
+
+        Node(@NotNull K key, @NotNull V value, long now, int index) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package eu.koboo.en2do.internal.codec.collection;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+
+import java.util.*;
+
+/**
+ * This codec is used to encode collections with a fixed element codec, like the mongodb pojo-codec
+ * encodes collection properties. It's used by the generated entity codecs.
+ *
+ * @param <T> The type of the elements of the collection
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GenericCollectionCodec<T> implements Codec<Collection<T>> {
+
+    @Getter
+    Class<Collection<T>> encoderClass;
+    Codec<T> elementCodec;
+
+    public GenericCollectionCodec(Class<Collection<T>> encoderClass, Codec<T> elementCodec) {
+        this.encoderClass = encoderClass;
+        this.elementCodec = elementCodec;
+    }
+
+    /**
+     * @param writer         the BSON writer to encode into
+     * @param collection     the value to encode
+     * @param encoderContext the encoder context
+     * @see org.bson.codecs.Encoder
+     */
+    @Override
+    public void encode(BsonWriter writer, Collection<T> collection, EncoderContext encoderContext) {
+        writer.writeStartArray();
+        for (T element : collection) {
+            if (element == null) {
+                writer.writeNull();
+                continue;
+            }
+            encoderContext.encodeWithChildContext(elementCodec, writer, element);
+        }
+        writer.writeEndArray();
+    }
+
+    /**
+     * @param reader         the BSON reader
+     * @param decoderContext the decoder context
+     * @return The decoded collection instance
+     * @see org.bson.codecs.Decoder
+     */
+    @Override
+    public Collection<T> decode(BsonReader reader, DecoderContext decoderContext) {
+        Collection<T> collection = getInstance();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                collection.add(null);
+                continue;
+            }
+            collection.add(decoderContext.decodeWithChildContext(elementCodec, reader));
+        }
+        reader.readEndArray();
+        return collection;
+    }
+
+    /**
+     * Used to get a new instance of the saved collection.
+     *
+     * @return The new created collection instance.
+     */
+    private Collection<T> getInstance() {
+        if (encoderClass.isInterface()) {
+            if (encoderClass.isAssignableFrom(ArrayList.class)) {
+                return new ArrayList<>();
+            }
+            if (encoderClass.isAssignableFrom(HashSet.class)) {
+                return new HashSet<>();
+            }
+            if (encoderClass.isAssignableFrom(TreeSet.class)) {
+                return new TreeSet<>();
+            }
+            throw new CodecConfigurationException("Unsupported collection interface " + encoderClass.getName());
+        }
+        try {
+            return encoderClass.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new CodecConfigurationException(e.getMessage(), e);
+        }
+    }
+}
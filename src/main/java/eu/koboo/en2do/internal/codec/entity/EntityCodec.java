@@ -0,0 +1,206 @@
+package eu.koboo.en2do.internal.codec.entity;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The generated codec of one entity class.
+ * The properties are encoded in a fixed order, with precomputed names. Strings, numbers and booleans are
+ * written and read directly, all other values are encoded by the same codecs as the pojo-codec uses.
+ * Because the documents are mostly decoded in the same order as they were encoded,
+ * the name of the next property is compared first and the name lookup is only needed for reordered documents.
+ *
+ * @param <E> The generic type of the entity
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityCodec<E> implements Codec<E> {
+
+    EntityModel<E> entityModel;
+    CodecRegistry registry;
+    EntityProperty[] encodeProperties;
+    EntityProperty[] decodeProperties;
+    // The codecs are resolved on first use, because the entity could contain itself.
+    Codec<?>[] encodeCodecs;
+    Codec<?>[] decodeCodecs;
+
+    public EntityCodec(@NotNull EntityModel<E> entityModel, @NotNull CodecRegistry registry) {
+        this.entityModel = entityModel;
+        this.registry = registry;
+        this.encodeProperties = entityModel.getEncodeProperties();
+        this.decodeProperties = entityModel.getDecodeProperties();
+        this.encodeCodecs = new Codec<?>[encodeProperties.length];
+        this.decodeCodecs = new Codec<?>[decodeProperties.length];
+    }
+
+    /**
+     * @param writer         the BSON writer to encode into
+     * @param entity         the value to encode
+     * @param encoderContext the encoder context
+     * @see org.bson.codecs.Encoder
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void encode(BsonWriter writer, E entity, EncoderContext encoderContext) {
+        if (entity.getClass() != entityModel.getEntityClass()) {
+            // Subclasses are encoded by their own codec, like the pojo-codec does.
+            ((Codec<E>) registry.get(entity.getClass())).encode(writer, entity, encoderContext);
+            return;
+        }
+        writer.writeStartDocument();
+        for (int i = 0; i < encodeProperties.length; i++) {
+            EntityProperty property = encodeProperties[i];
+            Object value = property.getAccessor().get(entity);
+            // Null values aren't written, like the pojo-codec does by default.
+            if (value == null) {
+                continue;
+            }
+            writer.writeName(property.getEncodeName());
+            BsonType directType = property.getDirectType();
+            if (directType != null) {
+                writeDirect(writer, directType, value);
+                continue;
+            }
+            Codec<Object> codec = (Codec<Object>) encodeCodecs[i];
+            if (codec == null) {
+                codec = resolveCodec(property);
+                encodeCodecs[i] = codec;
+            }
+            try {
+                encoderContext.encodeWithChildContext(codec, writer, value);
+            } catch (CodecConfigurationException e) {
+                throw new CodecConfigurationException(String.format("Failed to encode '%s'. Encoding '%s' errored with: %s",
+                    entityModel.getEntityClass().getSimpleName(), property.getName(), e.getMessage()), e);
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    /**
+     * @param reader         the BSON reader
+     * @param decoderContext the decoder context
+     * @return the decoded entity
+     * @see org.bson.codecs.Decoder
+     */
+    @Override
+    public E decode(BsonReader reader, DecoderContext decoderContext) {
+        E entity = entityModel.getConstructor().get();
+        int nextIndex = 0;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            int index;
+            if (nextIndex < decodeProperties.length && name.equals(decodeProperties[nextIndex].getDecodeName())) {
+                index = nextIndex;
+            } else {
+                Integer foundIndex = entityModel.getDecodeIndexMap().get(name);
+                if (foundIndex == null) {
+                    reader.skipValue();
+                    continue;
+                }
+                index = foundIndex;
+            }
+            nextIndex = index + 1;
+            decodeProperty(reader, decoderContext, entity, index);
+        }
+        reader.readEndDocument();
+        return entity;
+    }
+
+    /**
+     * @return The class of the entity
+     * @see org.bson.codecs.Encoder
+     */
+    @Override
+    public Class<E> getEncoderClass() {
+        return entityModel.getEntityClass();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decodeProperty(@NotNull BsonReader reader, @NotNull DecoderContext decoderContext,
+                                @NotNull E entity, int index) {
+        EntityProperty property = decodeProperties[index];
+        try {
+            BsonType currentType = reader.getCurrentBsonType();
+            Object value;
+            if (currentType == BsonType.NULL) {
+                reader.readNull();
+                // Primitives keep their default value.
+                if (property.isPrimitive()) {
+                    return;
+                }
+                value = null;
+            } else if (currentType == property.getDirectType()) {
+                value = readDirect(reader, currentType);
+            } else {
+                // Other types are converted by the codec, e.g. an int32, which is decoded as long.
+                Codec<Object> codec = (Codec<Object>) decodeCodecs[index];
+                if (codec == null) {
+                    codec = resolveCodec(property);
+                    decodeCodecs[index] = codec;
+                }
+                value = decoderContext.decodeWithChildContext(codec, reader);
+            }
+            property.getAccessor().set(entity, value);
+        } catch (BsonInvalidOperationException | CodecConfigurationException e) {
+            throw new CodecConfigurationException(String.format("Failed to decode '%s'. Decoding '%s' errored with: %s",
+                entityModel.getEntityClass().getSimpleName(), property.getName(), e.getMessage()), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull Codec<Object> resolveCodec(@NotNull EntityProperty property) {
+        if (property.getFixedCodec() != null) {
+            return (Codec<Object>) property.getFixedCodec();
+        }
+        return EntityCodecProvider.resolveCodec(property.getType(), registry);
+    }
+
+    private static void writeDirect(@NotNull BsonWriter writer, @NotNull BsonType directType, @NotNull Object value) {
+        switch (directType) {
+            case STRING:
+                writer.writeString((String) value);
+                break;
+            case INT32:
+                writer.writeInt32((Integer) value);
+                break;
+            case INT64:
+                writer.writeInt64((Long) value);
+                break;
+            case DOUBLE:
+                writer.writeDouble((Double) value);
+                break;
+            case BOOLEAN:
+                writer.writeBoolean((Boolean) value);
+                break;
+            default:
+                throw new IllegalStateException("The type " + directType + " isn't written directly.");
+        }
+    }
+
+    private static @NotNull Object readDirect(@NotNull BsonReader reader, @NotNull BsonType directType) {
+        switch (directType) {
+            case STRING:
+                return reader.readString();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                return reader.readDouble();
+            case BOOLEAN:
+                return reader.readBoolean();
+            default:
+                throw new IllegalStateException("The type " + directType + " isn't read directly.");
+        }
+    }
+}
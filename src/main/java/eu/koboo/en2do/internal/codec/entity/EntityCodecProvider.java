@@ -0,0 +1,134 @@
+package eu.koboo.en2do.internal.codec.entity;
+
+import eu.koboo.en2do.internal.codec.collection.GenericCollectionCodec;
+import eu.koboo.en2do.internal.codec.lang.ClassCodec;
+import eu.koboo.en2do.internal.codec.map.GenericMapCodec;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.Convention;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This codec provider returns the generated codecs of the registered entities.
+ * It has to be added before the pojo-codec provider, which still encodes all other classes,
+ * like embedded objects, and the entities, which aren't supported by the generated codec.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityCodecProvider implements CodecProvider {
+
+    @NotNull
+    List<Convention> conventionList;
+
+    @NotNull
+    Map<Class<?>, EntityModel<?>> entityModelRegistry;
+
+    public EntityCodecProvider(@NotNull List<Convention> conventionList) {
+        this.conventionList = conventionList;
+        this.entityModelRegistry = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the model of the entity, so its documents are encoded by the generated codec.
+     * Has to be called, before the codec of the entity is looked up the first time, because the registry
+     * keeps the first codec, which it resolved for a class.
+     *
+     * @param entityClass    The class of the entity
+     * @param idPropertyName The name of the property, which is encoded as "_id", or null if it's encoded by its name
+     * @return true, if the entity is encoded by the generated codec, false if it's encoded by the pojo-codec
+     */
+    public boolean register(@NotNull Class<?> entityClass, @Nullable String idPropertyName) {
+        if (entityModelRegistry.containsKey(entityClass)) {
+            return true;
+        }
+        EntityModel<?> entityModel = EntityModel.create(entityClass, conventionList, idPropertyName);
+        if (entityModel == null) {
+            return false;
+        }
+        entityModelRegistry.putIfAbsent(entityClass, entityModel);
+        return true;
+    }
+
+    /**
+     * @param clazz    the class for which to get a Codec
+     * @param registry the registry to use for resolving dependent Codec instances
+     * @param <T>      The type of the codec
+     * @return The generated codec of the entity, or null if the entity isn't registered
+     * @see CodecProvider
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        EntityModel<T> entityModel = (EntityModel<T>) entityModelRegistry.get(clazz);
+        if (entityModel == null) {
+            return null;
+        }
+        return new EntityCodec<>(entityModel, registry);
+    }
+
+    /**
+     * Checks, if the codec of the type can be resolved like the pojo-codec resolves it.
+     *
+     * @param type The generic type of the property
+     * @return true, if the type is supported by the generated codec
+     */
+    static boolean isSupportedType(@NotNull Type type) {
+        if (type instanceof Class<?>) {
+            return true;
+        }
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) type;
+        Class<?> rawClass = (Class<?>) parameterizedType.getRawType();
+        Type[] typeArguments = parameterizedType.getActualTypeArguments();
+        if (Map.class.isAssignableFrom(rawClass) && typeArguments.length == 2) {
+            // The keys are encoded as names, so they can't have type parameters themselves.
+            return typeArguments[0] instanceof Class<?> && isSupportedType(typeArguments[1]);
+        }
+        if (Collection.class.isAssignableFrom(rawClass) && typeArguments.length == 1) {
+            return isSupportedType(typeArguments[0]);
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the codec of the type, with the same codecs as the pojo-codec.
+     *
+     * @param type     The supported generic type of the property
+     * @param registry The registry, which resolves the codecs of the classes
+     * @return The codec of the type
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static @NotNull Codec<Object> resolveCodec(@NotNull Type type, @NotNull CodecRegistry registry) {
+        if (type instanceof Class<?>) {
+            Class<?> typeClass = (Class<?>) type;
+            if (Class.class.isAssignableFrom(typeClass)) {
+                return (Codec) new ClassCodec();
+            }
+            if (typeClass.isPrimitive()) {
+                typeClass = MethodType.methodType(typeClass).wrap().returnType();
+            }
+            return (Codec<Object>) registry.get(typeClass);
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) type;
+        Class rawClass = (Class<?>) parameterizedType.getRawType();
+        Type[] typeArguments = parameterizedType.getActualTypeArguments();
+        if (Map.class.isAssignableFrom(rawClass)) {
+            return (Codec) new GenericMapCodec(rawClass, resolveCodec(typeArguments[0], registry),
+                resolveCodec(typeArguments[1], registry));
+        }
+        return (Codec) new GenericCollectionCodec(rawClass, resolveCodec(typeArguments[0], registry));
+    }
+}
@@ -0,0 +1,266 @@
+package eu.koboo.en2do.internal.codec.entity;
+
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.java.Log;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.pojo.ClassModel;
+import org.bson.codecs.pojo.ClassModelBuilder;
+import org.bson.codecs.pojo.Convention;
+import org.bson.codecs.pojo.PropertyModel;
+import org.bson.codecs.pojo.annotations.BsonCreator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * The fixed layout of an entity, which is created once at the registration of its repository.
+ * The properties are taken from the class model, which is built with the same conventions as the pojo-codec,
+ * so the generated codec writes the same documents. If the entity uses a feature of the pojo-codec,
+ * which the generated codec doesn't support, no model is created and the pojo-codec is used instead.
+ *
+ * @param <E> The generic type of the entity
+ */
+@Log
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityModel<E> {
+
+    @NotNull
+    Class<E> entityClass;
+
+    @NotNull
+    Supplier<E> constructor;
+
+    // The properties, which are encoded, in the order of the documents. The id is always encoded first.
+    @NotNull
+    EntityProperty[] encodeProperties;
+
+    // The properties, which are decoded, in the same order as they are encoded.
+    @NotNull
+    EntityProperty[] decodeProperties;
+
+    @NotNull
+    Map<String, Integer> decodeIndexMap;
+
+    private EntityModel(@NotNull Class<E> entityClass, @NotNull Supplier<E> constructor,
+                        @NotNull List<EntityProperty> propertyList) {
+        this.entityClass = entityClass;
+        this.constructor = constructor;
+        List<EntityProperty> encodeList = new ArrayList<>();
+        List<EntityProperty> decodeList = new ArrayList<>();
+        for (EntityProperty property : propertyList) {
+            if (property.getEncodeName() != null) {
+                encodeList.add(property);
+            }
+            if (property.getDecodeName() != null) {
+                decodeList.add(property);
+            }
+        }
+        this.encodeProperties = encodeList.toArray(new EntityProperty[0]);
+        this.decodeProperties = decodeList.toArray(new EntityProperty[0]);
+        this.decodeIndexMap = new HashMap<>();
+        for (int i = 0; i < decodeProperties.length; i++) {
+            decodeIndexMap.put(decodeProperties[i].getDecodeName(), i);
+        }
+    }
+
+    /**
+     * Creates the model of the entity.
+     *
+     * @param entityClass    The class of the entity
+     * @param conventionList The conventions, which are used by the pojo-codec
+     * @param idPropertyName The name of the property, which is encoded as "_id", or null if it's encoded by its name
+     * @param <E>            The generic type of the entity
+     * @return The model, or null if the entity has to be encoded by the pojo-codec
+     */
+    public static <E> @Nullable EntityModel<E> create(@NotNull Class<E> entityClass,
+                                                      @NotNull List<Convention> conventionList,
+                                                      @Nullable String idPropertyName) {
+        if (entityClass.isInterface() || Modifier.isAbstract(entityClass.getModifiers())
+            || entityClass.getTypeParameters().length > 0 || hasBsonCreator(entityClass)) {
+            log.fine("Entity " + entityClass.getName() + " can't be instantiated by a generated codec.");
+            return null;
+        }
+        try {
+            ClassModelBuilder<E> classModelBuilder = ClassModel.builder(entityClass).conventions(conventionList);
+            // The model is created before the meta of the repository is registered,
+            // so the annotation convention can't look up the unique id of the entity.
+            if (idPropertyName != null) {
+                classModelBuilder.idPropertyName(idPropertyName);
+            }
+            ClassModel<E> classModel = classModelBuilder.build();
+            if (classModel.useDiscriminator() || classModelBuilder.getIdGenerator() != null) {
+                log.fine("Entity " + entityClass.getName() + " uses a discriminator or an id generator.");
+                return null;
+            }
+            Supplier<E> constructor = createConstructor(entityClass);
+            if (constructor == null) {
+                log.fine("Entity " + entityClass.getName() + " has no accessible no-args constructor.");
+                return null;
+            }
+
+            List<EntityProperty> propertyList = new ArrayList<>();
+            PropertyModel<?> idPropertyModel = classModel.getIdPropertyModel();
+            if (idPropertyModel != null) {
+                EntityProperty idProperty = createProperty(entityClass, idPropertyModel);
+                if (idProperty == null) {
+                    return null;
+                }
+                propertyList.add(idProperty);
+            }
+            for (PropertyModel<?> propertyModel : classModel.getPropertyModels()) {
+                if (propertyModel == idPropertyModel) {
+                    continue;
+                }
+                if (!propertyModel.isReadable() && !propertyModel.isWritable()) {
+                    continue;
+                }
+                EntityProperty property = createProperty(entityClass, propertyModel);
+                if (property == null) {
+                    return null;
+                }
+                propertyList.add(property);
+            }
+            return new EntityModel<>(entityClass, constructor, propertyList);
+        } catch (CodecConfigurationException | IllegalAccessException e) {
+            log.fine("Entity " + entityClass.getName() + " can't be encoded by a generated codec: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static @Nullable EntityProperty createProperty(@NotNull Class<?> entityClass,
+                                                           @NotNull PropertyModel<?> propertyModel)
+        throws IllegalAccessException {
+        String propertyName = propertyModel.getName();
+        if (propertyModel.getBsonRepresentation() != null || Boolean.TRUE.equals(propertyModel.useDiscriminator())) {
+            log.fine("Property " + propertyName + " of " + entityClass.getName() + " changes the pojo-codec.");
+            return null;
+        }
+        PropertyAccessor accessor;
+        Type type;
+        Field field = findField(entityClass, propertyName);
+        if (field != null) {
+            accessor = PropertyAccessor.ofField(field);
+            type = field.getGenericType();
+        } else {
+            // The property is only declared by its getter and setter.
+            Method readMethod = findReadMethod(entityClass, propertyName);
+            if (readMethod == null) {
+                log.fine("Property " + propertyName + " of " + entityClass.getName() + " has no field or getter.");
+                return null;
+            }
+            Method writeMethod = findWriteMethod(entityClass, propertyName, readMethod.getReturnType());
+            accessor = PropertyAccessor.ofMethods(propertyName, readMethod, writeMethod);
+            type = readMethod.getGenericReturnType();
+        }
+        if (!EntityCodecProvider.isSupportedType(type)) {
+            log.fine("Property " + propertyName + " of " + entityClass.getName() + " has the unsupported type " + type);
+            return null;
+        }
+        // Collections without setters are filled by their getters, which only the pojo-codec does.
+        if (propertyModel.isWritable() && !accessor.isWritable()) {
+            log.fine("Property " + propertyName + " of " + entityClass.getName() + " isn't writable.");
+            return null;
+        }
+        boolean primitive = type instanceof Class<?> && ((Class<?>) type).isPrimitive();
+        return new EntityProperty(propertyName, propertyModel.getReadName(), propertyModel.getWriteName(),
+            accessor, type, primitive, propertyModel.getCodec());
+    }
+
+    private static @Nullable Field findField(@NotNull Class<?> entityClass, @NotNull String name) {
+        Class<?> currentClass = entityClass;
+        while (currentClass != null && currentClass != Object.class) {
+            try {
+                Field field = currentClass.getDeclaredField(name);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            } catch (NoSuchFieldException ignored) {
+                // The field could be declared by the superclass.
+            }
+            currentClass = currentClass.getSuperclass();
+        }
+        return null;
+    }
+
+    private static @Nullable Method findReadMethod(@NotNull Class<?> entityClass, @NotNull String name) {
+        String capitalizedName = name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method method = entityClass.getMethod(prefix + capitalizedName);
+                if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // The getter could also start with the other prefix.
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable Method findWriteMethod(@NotNull Class<?> entityClass, @NotNull String name,
+                                                    @NotNull Class<?> type) {
+        String capitalizedName = name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+        try {
+            Method method = entityClass.getMethod("set" + capitalizedName, type);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasBsonCreator(@NotNull Class<?> entityClass) {
+        for (Constructor<?> constructor : entityClass.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(BsonCreator.class)) {
+                return true;
+            }
+        }
+        for (Method method : entityClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(BsonCreator.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> @Nullable Supplier<E> createConstructor(@NotNull Class<E> entityClass) {
+        MethodHandle constructorHandle;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(entityClass, MethodHandles.lookup());
+            constructorHandle = lookup.findConstructor(entityClass, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), constructorHandle,
+                MethodType.methodType(entityClass));
+            return (Supplier<E>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            // e.g. private constructors of nested classes, which can't be bound, are called by the method handle.
+            MethodHandle genericHandle = constructorHandle.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return (E) genericHandle.invokeExact();
+                } catch (RuntimeException | Error exception) {
+                    throw exception;
+                } catch (Throwable exception) {
+                    throw new IllegalStateException(exception);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package eu.koboo.en2do.internal.codec.entity;
+
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.BsonType;
+import org.bson.codecs.Codec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+
+/**
+ * One property of an entity, which is encoded by the generated entity codec.
+ * The BSON names are taken from the class model of the entity, so they respect the en2do annotations,
+ * like @TransformField and @Transient.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityProperty {
+
+    @NotNull
+    String name;
+
+    // The name in the document, if the property is encoded. Otherwise, null.
+    @Nullable
+    String encodeName;
+
+    // The name in the document, if the property is decoded. Otherwise, null.
+    @Nullable
+    String decodeName;
+
+    @NotNull
+    PropertyAccessor accessor;
+
+    @NotNull
+    Type type;
+
+    boolean primitive;
+
+    // The codec, which was set on the property by a convention.
+    @Nullable
+    Codec<?> fixedCodec;
+
+    // The type, which is written and read directly, without looking up the codec. Otherwise, null.
+    @Nullable
+    BsonType directType;
+
+    public EntityProperty(@NotNull String name, @Nullable String encodeName, @Nullable String decodeName,
+                          @NotNull PropertyAccessor accessor, @NotNull Type type, boolean primitive,
+                          @Nullable Codec<?> fixedCodec) {
+        this.name = name;
+        this.encodeName = encodeName;
+        this.decodeName = decodeName;
+        this.accessor = accessor;
+        this.type = type;
+        this.primitive = primitive;
+        this.fixedCodec = fixedCodec;
+        this.directType = fixedCodec == null ? toDirectType(type) : null;
+    }
+
+    private static @Nullable BsonType toDirectType(@NotNull Type type) {
+        if (type == String.class) {
+            return BsonType.STRING;
+        }
+        if (type == int.class || type == Integer.class) {
+            return BsonType.INT32;
+        }
+        if (type == long.class || type == Long.class) {
+            return BsonType.INT64;
+        }
+        if (type == double.class || type == Double.class) {
+            return BsonType.DOUBLE;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return BsonType.BOOLEAN;
+        }
+        return null;
+    }
+}
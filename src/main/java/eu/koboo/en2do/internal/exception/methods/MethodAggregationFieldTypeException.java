@@ -0,0 +1,12 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+public class MethodAggregationFieldTypeException extends Exception {
+
+    public MethodAggregationFieldTypeException(Method method, Class<?> repoClass, Field field) {
+        super("The field \"" + field.getName() + "\" is type \"" + field.getType().getSimpleName() + "\", but only " +
+            "numbers can be aggregated. Used in method \"" + method.getName() + "\" of repository " + repoClass.getName() + ".");
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodAggregationParseException extends Exception {
+
+    public MethodAggregationParseException(Method method, Class<?> repoClass, Throwable e) {
+        super("Couldn't parse the aggregation pipeline of method \"" + method.getName() + "\" of repository " +
+            repoClass.getName() + "! The pipeline has to be a json array of stage documents.", e);
+    }
+}
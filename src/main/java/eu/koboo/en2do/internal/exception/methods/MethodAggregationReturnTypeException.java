@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodAggregationReturnTypeException extends Exception {
+
+    public MethodAggregationReturnTypeException(Method method, Class<?> repoClass) {
+        super("Aggregation methods have to return an object, a java.util.List or a java.util.stream.Stream " +
+            "of a decodable type! Please correct the method " + method.getName() + " in " + repoClass.getName() + ".");
+    }
+}
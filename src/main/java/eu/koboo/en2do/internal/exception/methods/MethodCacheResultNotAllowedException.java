@@ -0,0 +1,14 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import eu.koboo.en2do.repository.methods.cache.CacheResult;
+
+import java.lang.reflect.Method;
+
+public class MethodCacheResultNotAllowedException extends Exception {
+
+    public MethodCacheResultNotAllowedException(Method method, Class<?> repoClass) {
+        super(CacheResult.class.getName() + " is only allowed on reading methods with a positive ttl and " +
+            "amount of entries, which don't return a LazyList! Please correct the method " + method.getName() +
+            " in " + repoClass.getName() + ".");
+    }
+}
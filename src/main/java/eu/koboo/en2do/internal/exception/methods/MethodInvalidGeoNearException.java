@@ -0,0 +1,13 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodInvalidGeoNearException extends Exception {
+
+    public MethodInvalidGeoNearException(Method method, Class<?> repoClass) {
+        super("The method \"" + method.getName() + "\" of " + repoClass.getName() + " uses an invalid \"Near\" filter. " +
+            "It can only be used once per method, can't be negated, can't be chained with \"Or\", needs a @GeoIndex " +
+            "on the field and is only allowed in \"findFirstBy\", \"findManyBy\" and \"pageBy\" methods, which " +
+            "don't return a LazyList.");
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodInvalidTextSearchException extends Exception {
+
+    public MethodInvalidTextSearchException(Method method, Class<?> repoClass) {
+        super("The method \"" + method.getName() + "\" of " + repoClass.getName() + " uses an invalid text search. " +
+            "The \"Search\" filter can only be used once per method, can't be negated and can't be chained with \"Or\".");
+    }
+}
@@ -0,0 +1,13 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
+
+import java.lang.reflect.Method;
+
+public class MethodLazyListNotAllowedException extends Exception {
+
+    public MethodLazyListNotAllowedException(Method method, Class<?> repoClass) {
+        super(LazyList.class.getName() + " is only allowed as return type of \"findManyBy\" methods! " +
+            "Please correct the method " + method.getName() + " in " + repoClass.getName() + ".");
+    }
+}
@@ -0,0 +1,12 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+public class MethodMapReturnTypeException extends Exception {
+
+    public MethodMapReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with keyword \"countGroupedBy\" have to return a " + Map.class.getName() + "! " +
+            "Please correct the method " + method.getName() + " in " + repoClass.getName() + ".");
+    }
+}
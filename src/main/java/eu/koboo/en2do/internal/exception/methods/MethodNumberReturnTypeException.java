@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodNumberReturnTypeException extends Exception {
+
+    public MethodNumberReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with keywords \"sum\", \"avg\", \"min\" or \"max\" have to return a " +
+            Number.class.getName() + "! Please correct the method " + method.getName() + " in " + repoClass.getName() + ".");
+    }
+}
@@ -0,0 +1,14 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import eu.koboo.en2do.repository.methods.cache.SingleFlight;
+
+import java.lang.reflect.Method;
+
+public class MethodSingleFlightNotAllowedException extends Exception {
+
+    public MethodSingleFlightNotAllowedException(Method method, Class<?> repoClass) {
+        super(SingleFlight.class.getName() + " is only allowed on reading methods, which aren't annotated with " +
+            "@CacheResult and don't return a LazyList! Please correct the method " + method.getName() +
+            " in " + repoClass.getName() + ".");
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodTextIndexFieldException extends Exception {
+
+    public MethodTextIndexFieldException(Method method, Class<?> repoClass, String fieldName) {
+        super("The field \"" + fieldName + "\" of method \"" + method.getName() + "\" of " +
+            repoClass.getName() + " isn't part of the @TextIndex of the entity and can't be searched.");
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodTextScoreSortException extends Exception {
+
+    public MethodTextScoreSortException(Method method, Class<?> repoClass) {
+        super("The method \"" + method.getName() + "\" of " + repoClass.getName() + " is sorted by the text score, " +
+            "but doesn't use a \"Search\" filter.");
+    }
+}
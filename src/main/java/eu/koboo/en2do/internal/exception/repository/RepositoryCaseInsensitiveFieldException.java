@@ -0,0 +1,9 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryCaseInsensitiveFieldException extends Exception {
+
+    public RepositoryCaseInsensitiveFieldException(Class<?> repoClass, String fieldName) {
+        super("The field " + fieldName + " in entity of " + repoClass.getName() + " is annotated with @CaseInsensitive, " +
+            "but isn't of type " + String.class.getName() + " or is the unique identifier.");
+    }
+}
@@ -0,0 +1,9 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryCaseInsensitiveIndexException extends Exception {
+
+    public RepositoryCaseInsensitiveIndexException(Class<?> repoClass, String fieldName) {
+        super("The field " + fieldName + " in entity of " + repoClass.getName() + " is annotated with @CaseInsensitive, " +
+            "but is also indexed by a single field @CompoundIndex. Only one of both indexes can be declared.");
+    }
+}
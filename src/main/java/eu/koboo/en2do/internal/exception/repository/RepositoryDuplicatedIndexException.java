@@ -0,0 +1,9 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryDuplicatedIndexException extends Exception {
+
+    public RepositoryDuplicatedIndexException(Class<?> repoClass, String indexKeys) {
+        super("The entity of " + repoClass.getName() + " declares more than one index with the keys " + indexKeys +
+            " and the same collation. Only one of them can be declared.");
+    }
+}
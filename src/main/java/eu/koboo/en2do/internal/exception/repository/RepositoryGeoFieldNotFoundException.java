@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+import com.mongodb.client.model.geojson.Point;
+
+public class RepositoryGeoFieldNotFoundException extends Exception {
+
+    public RepositoryGeoFieldNotFoundException(Class<?> repoClass, String fieldName) {
+        super("Couldn't find " + fieldName + " field of type " + Point.class.getName() + " in entity of " +
+            repoClass.getName() + " to create the geo index.");
+    }
+}
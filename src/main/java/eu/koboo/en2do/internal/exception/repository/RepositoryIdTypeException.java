@@ -0,0 +1,11 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+import java.lang.reflect.Field;
+
+public class RepositoryIdTypeException extends Exception {
+
+    public RepositoryIdTypeException(Field idField, Class<?> idClass, Class<?> repoClass) {
+        super("The type of the unique id field \"" + idField.getName() + "\" isn't the unique id type " +
+            idClass.getName() + " of " + repoClass.getName() + "! Please correct the generic types of this class.");
+    }
+}
@@ -0,0 +1,9 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryInvalidEntityCacheException extends Exception {
+
+    public RepositoryInvalidEntityCacheException(Class<?> repoClass) {
+        super("The @EntityCache of " + repoClass.getName() + " needs a positive amount of entries " +
+            "and expiration times and off-heap bytes, which aren't negative.");
+    }
+}
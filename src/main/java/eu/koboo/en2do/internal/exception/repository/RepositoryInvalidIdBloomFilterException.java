@@ -0,0 +1,10 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryInvalidIdBloomFilterException extends Exception {
+
+    public RepositoryInvalidIdBloomFilterException(Class<?> repoClass) {
+        super("The @IdBloomFilter of " + repoClass.getName() + " needs a positive amount of expected entries " +
+            "and a false positive rate between 0 and 1. The class of the unique id has to implement hashCode " +
+            "and the repository has to be annotated with @ChangeStreamInvalidation.");
+    }
+}
@@ -0,0 +1,8 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryInvalidPreloadException extends Exception {
+
+    public RepositoryInvalidPreloadException(Class<?> repoClass) {
+        super("The @Preload of " + repoClass.getName() + " needs a refresh interval, which isn't negative.");
+    }
+}
@@ -0,0 +1,8 @@
+package eu.koboo.en2do.internal.exception.repository;
+
+public class RepositoryScanException extends Exception {
+
+    public RepositoryScanException(String packageName, Throwable cause) {
+        super("Couldn't scan the package " + packageName + " for repositories.", cause);
+    }
+}
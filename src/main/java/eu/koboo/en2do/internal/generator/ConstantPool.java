@@ -0,0 +1,119 @@
+package eu.koboo.en2do.internal.generator;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The constant pool of a generated class file. Every constant is only added once and referenced by its index.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class ConstantPool {
+
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_CLASS = 7;
+    private static final int TAG_FIELD_REF = 9;
+    private static final int TAG_METHOD_REF = 10;
+    private static final int TAG_INTERFACE_METHOD_REF = 11;
+    private static final int TAG_NAME_AND_TYPE = 12;
+
+    Map<String, Integer> indexMap;
+    ByteArrayOutputStream byteStream;
+    DataOutputStream output;
+
+    @NonFinal
+    int nextIndex;
+
+    ConstantPool() {
+        this.indexMap = new HashMap<>();
+        this.byteStream = new ByteArrayOutputStream();
+        this.output = new DataOutputStream(byteStream);
+        this.nextIndex = 1;
+    }
+
+    int utf8(@NotNull String value) throws IOException {
+        Integer index = indexMap.get(TAG_UTF8 + ":" + value);
+        if (index != null) {
+            return index;
+        }
+        output.writeByte(TAG_UTF8);
+        output.writeUTF(value);
+        return register(TAG_UTF8 + ":" + value);
+    }
+
+    int classRef(@NotNull String internalName) throws IOException {
+        Integer index = indexMap.get(TAG_CLASS + ":" + internalName);
+        if (index != null) {
+            return index;
+        }
+        int nameIndex = utf8(internalName);
+        output.writeByte(TAG_CLASS);
+        output.writeShort(nameIndex);
+        return register(TAG_CLASS + ":" + internalName);
+    }
+
+    int fieldRef(@NotNull String owner, @NotNull String name, @NotNull String descriptor) throws IOException {
+        return memberRef(TAG_FIELD_REF, owner, name, descriptor);
+    }
+
+    int methodRef(@NotNull String owner, @NotNull String name, @NotNull String descriptor) throws IOException {
+        return memberRef(TAG_METHOD_REF, owner, name, descriptor);
+    }
+
+    int interfaceMethodRef(@NotNull String owner, @NotNull String name, @NotNull String descriptor) throws IOException {
+        return memberRef(TAG_INTERFACE_METHOD_REF, owner, name, descriptor);
+    }
+
+    /**
+     * @return The amount of constants plus one, like it's written in front of the constant pool.
+     */
+    int getCount() {
+        return nextIndex;
+    }
+
+    byte[] toByteArray() {
+        return byteStream.toByteArray();
+    }
+
+    private int memberRef(int tag, @NotNull String owner, @NotNull String name,
+                          @NotNull String descriptor) throws IOException {
+        String key = tag + ":" + owner + "." + name + descriptor;
+        Integer index = indexMap.get(key);
+        if (index != null) {
+            return index;
+        }
+        int classIndex = classRef(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+        output.writeByte(tag);
+        output.writeShort(classIndex);
+        output.writeShort(nameAndTypeIndex);
+        return register(key);
+    }
+
+    private int nameAndType(@NotNull String name, @NotNull String descriptor) throws IOException {
+        String key = TAG_NAME_AND_TYPE + ":" + name + ":" + descriptor;
+        Integer index = indexMap.get(key);
+        if (index != null) {
+            return index;
+        }
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        output.writeByte(TAG_NAME_AND_TYPE);
+        output.writeShort(nameIndex);
+        output.writeShort(descriptorIndex);
+        return register(key);
+    }
+
+    private int register(@NotNull String key) {
+        int index = nextIndex++;
+        indexMap.put(key, index);
+        return index;
+    }
+}
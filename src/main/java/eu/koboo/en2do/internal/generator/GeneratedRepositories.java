@@ -0,0 +1,78 @@
+package eu.koboo.en2do.internal.generator;
+
+import eu.koboo.en2do.internal.MethodInvoker;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.LinkedList;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the repository implementations, which are generated at compile time by the RepositoryProcessor.
+ * The generated class is placed next to the repository interface and named by the nested names of the
+ * interface, joined by underscores, e.g. "CustomerRepository_En2doImpl" or "Outer_InnerRepository_En2doImpl".
+ * It has a public constructor, which receives the resolver of the invokers and resolves the invoker of
+ * every implemented method once.
+ */
+@UtilityClass
+public class GeneratedRepositories {
+
+    private static final Logger LOGGER = Logger.getLogger(GeneratedRepositories.class.getName());
+
+    public static final String IMPLEMENTATION_SUFFIX = "_En2doImpl";
+
+    /**
+     * Builds the simple name of the generated implementation of a repository.
+     *
+     * @param nestedNames The simple names of the enclosing types and the repository interface, outermost first
+     * @return The simple name of the generated class
+     */
+    public @NotNull String toImplementationSimpleName(@NotNull Iterable<String> nestedNames) {
+        return String.join("_", nestedNames) + IMPLEMENTATION_SUFFIX;
+    }
+
+    /**
+     * Creates the generated implementation of the repository, if the RepositoryProcessor generated one.
+     *
+     * @param repositoryClass The interface of the repository
+     * @param invokerResolver Resolves the invoker of every method of the repository
+     * @param <R>             The generic type of the repository
+     * @return The instance of the generated class, or null if there is no generated class.
+     */
+    public <R> @Nullable R instantiate(@NotNull Class<R> repositoryClass,
+                                       @NotNull Function<Method, MethodInvoker> invokerResolver) {
+        Class<?> implementationClass = findImplementationClass(repositoryClass);
+        if (implementationClass == null || !repositoryClass.isAssignableFrom(implementationClass)) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = implementationClass.getConstructor(Function.class);
+            return repositoryClass.cast(constructor.newInstance(invokerResolver));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // The class could be generated by an incompatible version of en2do.
+            LOGGER.log(Level.WARNING, "Couldn't create generated implementation of " + repositoryClass.getName() +
+                ", falling back to a proxy.", e);
+            return null;
+        }
+    }
+
+    private @Nullable Class<?> findImplementationClass(@NotNull Class<?> repositoryClass) {
+        LinkedList<String> nestedNames = new LinkedList<>();
+        for (Class<?> type = repositoryClass; type != null; type = type.getEnclosingClass()) {
+            nestedNames.addFirst(type.getSimpleName());
+        }
+        String packageName = repositoryClass.getPackageName();
+        String simpleName = toImplementationSimpleName(nestedNames);
+        String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            return Class.forName(className, true, repositoryClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package eu.koboo.en2do.internal.generator;
+
+import eu.koboo.en2do.internal.MethodInvoker;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates a final class, which implements a repository interface, as replacement of a java.lang.reflect.Proxy.
+ * Every method of the class calls its own invoker field directly, so every call site only sees one invoker
+ * and can be inlined by the JIT. The class is defined in the package of the repository by its lookup,
+ * so no bytecode library or compiler is needed at runtime.
+ * Like the proxy, every method passes its boxed arguments to the invoker, or null if it has no parameters.
+ * Checked exceptions, which aren't declared by the method, are wrapped into an UndeclaredThrowableException.
+ */
+@UtilityClass
+public class RepositoryClassGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(RepositoryClassGenerator.class.getName());
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    // The class file version of Java 11, which doesn't need stack map frames for the constructor.
+    private static final int CLASS_FILE_VERSION = 55;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ILOAD = 0x15;
+    private static final int LLOAD = 0x16;
+    private static final int FLOAD = 0x17;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int AALOAD = 0x32;
+    private static final int ASTORE = 0x3a;
+    private static final int AASTORE = 0x53;
+    private static final int ACONST_NULL = 0x01;
+    private static final int POP = 0x57;
+    private static final int DUP = 0x59;
+    private static final int IRETURN = 0xac;
+    private static final int LRETURN = 0xad;
+    private static final int FRETURN = 0xae;
+    private static final int DRETURN = 0xaf;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int NEW = 0xbb;
+    private static final int ANEWARRAY = 0xbd;
+    private static final int ATHROW = 0xbf;
+    private static final int CHECKCAST = 0xc0;
+
+    private static final int FRAME_FULL = 255;
+    private static final int ITEM_INTEGER = 1;
+    private static final int ITEM_FLOAT = 2;
+    private static final int ITEM_DOUBLE = 3;
+    private static final int ITEM_LONG = 4;
+    private static final int ITEM_OBJECT = 7;
+
+    private static final String OBJECT_NAME = "java/lang/Object";
+    private static final String THROWABLE_NAME = "java/lang/Throwable";
+    private static final String UNDECLARED_THROWABLE_NAME = "java/lang/reflect/UndeclaredThrowableException";
+    private static final String INVOKER_NAME = MethodInvoker.class.getName().replace('.', '/');
+    private static final String INVOKER_DESCRIPTOR = "L" + INVOKER_NAME + ";";
+    private static final String INVOKE_DESCRIPTOR = "([Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String INVOKER_FIELD_PREFIX = "invoker";
+
+    // Appended to the class names, so every manager can generate its own class of the same repository.
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+    /**
+     * Generates and instantiates the implementation class of the repository.
+     *
+     * @param repositoryClass The interface of the repository
+     * @param invokerResolver Resolves the invoker of every method of the repository
+     * @param <R>             The generic type of the repository
+     * @return The instance of the generated class, or null if the class couldn't be generated.
+     */
+    public <R> @Nullable R generate(@NotNull Class<R> repositoryClass,
+                                    @NotNull Function<Method, MethodInvoker> invokerResolver) {
+        try {
+            List<Method> methodList = collectMethods(repositoryClass);
+            if (methodList == null) {
+                LOGGER.log(Level.WARNING, "Couldn't generate implementation of " + repositoryClass.getName() +
+                    ", because it isn't accessible from its package. Falling back to a proxy.");
+                return null;
+            }
+            String className = repositoryClass.getPackageName().replace('.', '/') + "/" +
+                repositoryClass.getSimpleName() + "$En2doImpl" + CLASS_COUNTER.incrementAndGet();
+            byte[] classBytes = writeClass(className, repositoryClass, methodList);
+
+            // The class is defined in the package of the repository, so package-private repositories can be implemented.
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(repositoryClass, MethodHandles.lookup());
+            Class<?> implementationClass = lookup.defineClass(classBytes);
+
+            MethodInvoker[] invokers = new MethodInvoker[methodList.size()];
+            for (int i = 0; i < invokers.length; i++) {
+                invokers[i] = invokerResolver.apply(methodList.get(i));
+            }
+            Object implementation = implementationClass.getConstructor(MethodInvoker[].class)
+                .newInstance((Object) invokers);
+            return repositoryClass.cast(implementation);
+        } catch (Exception | LinkageError e) {
+            LOGGER.log(Level.WARNING, "Couldn't generate implementation of " + repositoryClass.getName() +
+                ", falling back to a proxy.", e);
+            return null;
+        }
+    }
+
+    private @Nullable List<Method> collectMethods(@NotNull Class<?> repositoryClass) throws NoSuchMethodException {
+        if (Modifier.isPrivate(repositoryClass.getModifiers())) {
+            return null;
+        }
+        // Like the proxy, the methods of java.lang.Object are always passed to the invoker as methods of Object.
+        Map<String, Method> methodMap = new LinkedHashMap<>();
+        for (Method method : new Method[]{
+            Object.class.getMethod("hashCode"),
+            Object.class.getMethod("equals", Object.class),
+            Object.class.getMethod("toString")}) {
+            methodMap.put(method.getName() + methodDescriptorOf(method), method);
+        }
+        for (Method method : repositoryClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            // The same method could be inherited by multiple interfaces.
+            methodMap.putIfAbsent(method.getName() + methodDescriptorOf(method), method);
+            Class<?> returnType = method.getReturnType();
+            while (returnType.isArray()) {
+                returnType = returnType.getComponentType();
+            }
+            // The return value is casted, so its type has to be accessible from the package of the repository.
+            if (!returnType.isPrimitive() && !Modifier.isPublic(returnType.getModifiers())
+                && !returnType.getPackageName().equals(repositoryClass.getPackageName())) {
+                return null;
+            }
+        }
+        return new ArrayList<>(methodMap.values());
+    }
+
+    private byte @NotNull [] writeClass(@NotNull String className, @NotNull Class<?> repositoryClass,
+                                        @NotNull List<Method> methodList) throws IOException {
+        ConstantPool constantPool = new ConstantPool();
+        int thisClassIndex = constantPool.classRef(className);
+        int superClassIndex = constantPool.classRef(OBJECT_NAME);
+        int interfaceIndex = constantPool.classRef(internalNameOf(repositoryClass));
+
+        ByteArrayOutputStream membersStream = new ByteArrayOutputStream();
+        DataOutputStream members = new DataOutputStream(membersStream);
+
+        // Every method has its own invoker field.
+        members.writeShort(methodList.size());
+        for (int i = 0; i < methodList.size(); i++) {
+            members.writeShort(ACC_PRIVATE | ACC_FINAL);
+            members.writeShort(constantPool.utf8(INVOKER_FIELD_PREFIX + i));
+            members.writeShort(constantPool.utf8(INVOKER_DESCRIPTOR));
+            members.writeShort(0);
+        }
+
+        members.writeShort(methodList.size() + 1);
+        writeConstructor(members, constantPool, className, methodList.size());
+        for (int i = 0; i < methodList.size(); i++) {
+            writeMethod(members, constantPool, className, thisClassIndex, methodList.get(i), i);
+        }
+        members.writeShort(0);
+
+        ByteArrayOutputStream classStream = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(classStream);
+        output.writeInt(CLASS_FILE_MAGIC);
+        output.writeShort(0);
+        output.writeShort(CLASS_FILE_VERSION);
+        output.writeShort(constantPool.getCount());
+        output.write(constantPool.toByteArray());
+        output.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        output.writeShort(thisClassIndex);
+        output.writeShort(superClassIndex);
+        output.writeShort(1);
+        output.writeShort(interfaceIndex);
+        output.write(membersStream.toByteArray());
+        return classStream.toByteArray();
+    }
+
+    private void writeConstructor(@NotNull DataOutputStream members, @NotNull ConstantPool constantPool,
+                                  @NotNull String className, int invokerCount) throws IOException {
+        ByteArrayOutputStream codeStream = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeStream);
+        code.writeByte(ALOAD_0);
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(constantPool.methodRef(OBJECT_NAME, "<init>", "()V"));
+        for (int i = 0; i < invokerCount; i++) {
+            code.writeByte(ALOAD_0);
+            code.writeByte(ALOAD_1);
+            pushInt(code, i);
+            code.writeByte(AALOAD);
+            code.writeByte(PUTFIELD);
+            code.writeShort(constantPool.fieldRef(className, INVOKER_FIELD_PREFIX + i, INVOKER_DESCRIPTOR));
+        }
+        code.writeByte(RETURN);
+
+        members.writeShort(ACC_PUBLIC);
+        members.writeShort(constantPool.utf8("<init>"));
+        members.writeShort(constantPool.utf8("([" + INVOKER_DESCRIPTOR + ")V"));
+        members.writeShort(1);
+        writeCodeAttribute(members, constantPool, 3, 2, codeStream.toByteArray(), new byte[0], 0, null, 0);
+    }
+
+    private void writeMethod(@NotNull DataOutputStream members, @NotNull ConstantPool constantPool,
+                             @NotNull String className, int thisClassIndex,
+                             @NotNull Method method, int methodIndex) throws IOException {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        ByteArrayOutputStream codeStream = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeStream);
+
+        // Pass the boxed arguments to the invoker of this method.
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(constantPool.fieldRef(className, INVOKER_FIELD_PREFIX + methodIndex, INVOKER_DESCRIPTOR));
+        int localIndex = 1;
+        if (parameterTypes.length == 0) {
+            code.writeByte(ACONST_NULL);
+        } else {
+            pushInt(code, parameterTypes.length);
+            code.writeByte(ANEWARRAY);
+            code.writeShort(constantPool.classRef(OBJECT_NAME));
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Class<?> parameterType = parameterTypes[i];
+                code.writeByte(DUP);
+                pushInt(code, i);
+                code.writeByte(loadOpcodeOf(parameterType));
+                code.writeByte(localIndex);
+                if (parameterType.isPrimitive()) {
+                    Class<?> wrapperType = wrapperOf(parameterType);
+                    code.writeByte(INVOKESTATIC);
+                    code.writeShort(constantPool.methodRef(internalNameOf(wrapperType), "valueOf",
+                        "(" + descriptorOf(parameterType) + ")" + descriptorOf(wrapperType)));
+                }
+                code.writeByte(AASTORE);
+                localIndex += slotSizeOf(parameterType);
+            }
+        }
+        code.writeByte(INVOKEINTERFACE);
+        code.writeShort(constantPool.interfaceMethodRef(INVOKER_NAME, "invoke", INVOKE_DESCRIPTOR));
+        code.writeByte(2);
+        code.writeByte(0);
+        int tryEnd = code.size();
+
+        // Convert the returned object to the return type of the method.
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            code.writeByte(POP);
+            code.writeByte(RETURN);
+        } else if (returnType.isPrimitive()) {
+            Class<?> wrapperType = wrapperOf(returnType);
+            code.writeByte(CHECKCAST);
+            code.writeShort(constantPool.classRef(internalNameOf(wrapperType)));
+            code.writeByte(INVOKEVIRTUAL);
+            code.writeShort(constantPool.methodRef(internalNameOf(wrapperType), returnType.getName() + "Value",
+                "()" + descriptorOf(returnType)));
+            code.writeByte(returnOpcodeOf(returnType));
+        } else {
+            if (returnType != Object.class) {
+                code.writeByte(CHECKCAST);
+                code.writeShort(constantPool.classRef(internalNameOf(returnType)));
+            }
+            code.writeByte(ARETURN);
+        }
+
+        // Unchecked and declared exceptions are rethrown, every other exception is wrapped.
+        int rethrowHandler = code.size();
+        code.writeByte(ATHROW);
+        int wrapHandler = code.size();
+        code.writeByte(ASTORE);
+        code.writeByte(localIndex);
+        code.writeByte(NEW);
+        code.writeShort(constantPool.classRef(UNDECLARED_THROWABLE_NAME));
+        code.writeByte(DUP);
+        code.writeByte(ALOAD);
+        code.writeByte(localIndex);
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(constantPool.methodRef(UNDECLARED_THROWABLE_NAME, "<init>", "(L" + THROWABLE_NAME + ";)V"));
+        code.writeByte(ATHROW);
+
+        List<String> rethrownTypes = new ArrayList<>();
+        rethrownTypes.add("java/lang/RuntimeException");
+        rethrownTypes.add("java/lang/Error");
+        for (Class<?> exceptionType : method.getExceptionTypes()) {
+            rethrownTypes.add(internalNameOf(exceptionType));
+        }
+        ByteArrayOutputStream exceptionTableStream = new ByteArrayOutputStream();
+        DataOutputStream exceptionTable = new DataOutputStream(exceptionTableStream);
+        for (String rethrownType : rethrownTypes) {
+            writeExceptionEntry(exceptionTable, tryEnd, rethrowHandler, constantPool.classRef(rethrownType));
+        }
+        writeExceptionEntry(exceptionTable, tryEnd, wrapHandler, constantPool.classRef(THROWABLE_NAME));
+
+        // Both handlers are jump targets, so the verifier needs a frame with the parameters and the exception.
+        ByteArrayOutputStream frameStream = new ByteArrayOutputStream();
+        DataOutputStream frames = new DataOutputStream(frameStream);
+        writeHandlerFrame(frames, constantPool, thisClassIndex, parameterTypes, rethrowHandler);
+        writeHandlerFrame(frames, constantPool, thisClassIndex, parameterTypes, wrapHandler - rethrowHandler - 1);
+
+        members.writeShort(ACC_PUBLIC | ACC_FINAL);
+        members.writeShort(constantPool.utf8(method.getName()));
+        members.writeShort(constantPool.utf8(methodDescriptorOf(method)));
+        members.writeShort(1);
+        // The stack holds the invoker, the array, its copy, the index and a value of up to two slots.
+        writeCodeAttribute(members, constantPool, 6, localIndex + 1, codeStream.toByteArray(),
+            exceptionTableStream.toByteArray(), rethrownTypes.size() + 1, frameStream.toByteArray(), 2);
+    }
+
+    private void writeCodeAttribute(@NotNull DataOutputStream members, @NotNull ConstantPool constantPool,
+                                    int maxStack, int maxLocals, byte @NotNull [] code,
+                                    byte @NotNull [] exceptionTable, int exceptionTableLength,
+                                    byte @Nullable [] frames, int frameCount) throws IOException {
+        int codeNameIndex = constantPool.utf8("Code");
+        int frameNameIndex = frames != null ? constantPool.utf8("StackMapTable") : 0;
+        int frameAttributeLength = frames != null ? 2 + 4 + 2 + frames.length : 0;
+        members.writeShort(codeNameIndex);
+        members.writeInt(2 + 2 + 4 + code.length + 2 + exceptionTable.length + 2 + frameAttributeLength);
+        members.writeShort(maxStack);
+        members.writeShort(maxLocals);
+        members.writeInt(code.length);
+        members.write(code);
+        members.writeShort(exceptionTableLength);
+        members.write(exceptionTable);
+        if (frames == null) {
+            members.writeShort(0);
+            return;
+        }
+        members.writeShort(1);
+        members.writeShort(frameNameIndex);
+        members.writeInt(2 + frames.length);
+        members.writeShort(frameCount);
+        members.write(frames);
+    }
+
+    private void writeExceptionEntry(@NotNull DataOutputStream exceptionTable, int tryEnd, int handler,
+                                     int catchTypeIndex) throws IOException {
+        exceptionTable.writeShort(0);
+        exceptionTable.writeShort(tryEnd);
+        exceptionTable.writeShort(handler);
+        exceptionTable.writeShort(catchTypeIndex);
+    }
+
+    private void writeHandlerFrame(@NotNull DataOutputStream frames, @NotNull ConstantPool constantPool,
+                                   int thisClassIndex, @NotNull Class<?>[] parameterTypes,
+                                   int offsetDelta) throws IOException {
+        frames.writeByte(FRAME_FULL);
+        frames.writeShort(offsetDelta);
+        frames.writeShort(parameterTypes.length + 1);
+        frames.writeByte(ITEM_OBJECT);
+        frames.writeShort(thisClassIndex);
+        for (Class<?> parameterType : parameterTypes) {
+            if (parameterType == long.class) {
+                frames.writeByte(ITEM_LONG);
+            } else if (parameterType == double.class) {
+                frames.writeByte(ITEM_DOUBLE);
+            } else if (parameterType == float.class) {
+                frames.writeByte(ITEM_FLOAT);
+            } else if (parameterType.isPrimitive()) {
+                frames.writeByte(ITEM_INTEGER);
+            } else {
+                frames.writeByte(ITEM_OBJECT);
+                frames.writeShort(constantPool.classRef(internalNameOf(parameterType)));
+            }
+        }
+        frames.writeShort(1);
+        frames.writeByte(ITEM_OBJECT);
+        frames.writeShort(constantPool.classRef(THROWABLE_NAME));
+    }
+
+    private void pushInt(@NotNull DataOutputStream code, int value) throws IOException {
+        if (value <= 5) {
+            code.writeByte(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.writeByte(BIPUSH);
+            code.writeByte(value);
+        } else {
+            code.writeByte(SIPUSH);
+            code.writeShort(value);
+        }
+    }
+
+    private int loadOpcodeOf(@NotNull Class<?> type) {
+        if (type == long.class) {
+            return LLOAD;
+        }
+        if (type == double.class) {
+            return DLOAD;
+        }
+        if (type == float.class) {
+            return FLOAD;
+        }
+        return type.isPrimitive() ? ILOAD : ALOAD;
+    }
+
+    private int returnOpcodeOf(@NotNull Class<?> type) {
+        if (type == long.class) {
+            return LRETURN;
+        }
+        if (type == double.class) {
+            return DRETURN;
+        }
+        if (type == float.class) {
+            return FRETURN;
+        }
+        return IRETURN;
+    }
+
+    private int slotSizeOf(@NotNull Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private @NotNull Class<?> wrapperOf(@NotNull Class<?> primitiveType) {
+        if (primitiveType == int.class) {
+            return Integer.class;
+        }
+        if (primitiveType == long.class) {
+            return Long.class;
+        }
+        if (primitiveType == boolean.class) {
+            return Boolean.class;
+        }
+        if (primitiveType == double.class) {
+            return Double.class;
+        }
+        if (primitiveType == float.class) {
+            return Float.class;
+        }
+        if (primitiveType == short.class) {
+            return Short.class;
+        }
+        if (primitiveType == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    private @NotNull String internalNameOf(@NotNull Class<?> type) {
+        // Array classes are referenced by their descriptor, which is the same as their name.
+        return type.getName().replace('.', '/');
+    }
+
+    private @NotNull String descriptorOf(@NotNull Class<?> type) {
+        if (type.isArray()) {
+            return internalNameOf(type);
+        }
+        if (!type.isPrimitive()) {
+            return "L" + internalNameOf(type) + ";";
+        }
+        if (type == void.class) {
+            return "V";
+        }
+        if (type == boolean.class) {
+            return "Z";
+        }
+        if (type == long.class) {
+            return "J";
+        }
+        if (type == char.class) {
+            return "C";
+        }
+        // The remaining primitives are described by the first letter of their name.
+        return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+    }
+
+    private @NotNull String methodDescriptorOf(@NotNull Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            descriptor.append(descriptorOf(parameterType));
+        }
+        return descriptor.append(")").append(descriptorOf(method.getReturnType())).toString();
+    }
+}
@@ -0,0 +1,326 @@
+package eu.koboo.en2do.internal.index;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import eu.koboo.en2do.repository.IndexChange;
+import eu.koboo.en2do.repository.IndexReport;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.java.Log;
+import org.bson.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the declared indexes of an entity with the existing indexes of its collection.
+ * Only missing indexes and indexes with changed options are built. Changed TTLs are modified in place by "collMod",
+ * so the index doesn't have to be built again. The plan is created in the constructor, without any round trip,
+ * so it can also be reported without executing it.
+ */
+@Log
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IndexReconciler {
+
+    private static final String ID_INDEX_NAME = "_id_";
+    private static final String DEFAULT_TEXT_LANGUAGE = "english";
+    // The server uses the tertiary strength, if the collation doesn't define it.
+    private static final int DEFAULT_COLLATION_STRENGTH = 3;
+
+    List<IndexChange> changeList;
+    List<IndexModel> createList;
+    List<String> dropNameList;
+    // The index specifications, which are modified by "collMod".
+    List<BsonDocument> modifyList;
+
+    /**
+     * Plans the changes of the indexes.
+     *
+     * @param declaredList   The indexes, which are declared by the entity
+     * @param existingList   The existing indexes of the collection, as returned by "listIndexes"
+     * @param dropUndeclared true, if existing indexes, which aren't declared, are dropped
+     */
+    public IndexReconciler(@NotNull List<IndexModel> declaredList, @NotNull List<BsonDocument> existingList,
+                           boolean dropUndeclared) {
+        this.changeList = new ArrayList<>();
+        this.createList = new ArrayList<>();
+        this.dropNameList = new ArrayList<>();
+        this.modifyList = new ArrayList<>();
+
+        List<BsonDocument> unmatchedList = new ArrayList<>();
+        for (BsonDocument existingIndex : existingList) {
+            if (!ID_INDEX_NAME.equals(getName(existingIndex))) {
+                unmatchedList.add(existingIndex);
+            }
+        }
+        // The indexes are matched by their keys and their collation or name first, so indexes with the same keys,
+        // but different collations, are paired with their own existing index. The remaining indexes are matched
+        // by their keys only, so an index with changed options is built again.
+        BsonDocument[] existingIndexes = new BsonDocument[declaredList.size()];
+        for (int i = 0; i < declaredList.size(); i++) {
+            IndexModel indexModel = declaredList.get(i);
+            existingIndexes[i] = findExisting(unmatchedList, toKeys(indexModel), indexModel.getOptions(), true);
+            unmatchedList.remove(existingIndexes[i]);
+        }
+        for (int i = 0; i < declaredList.size(); i++) {
+            if (existingIndexes[i] != null) {
+                continue;
+            }
+            IndexModel indexModel = declaredList.get(i);
+            existingIndexes[i] = findExisting(unmatchedList, toKeys(indexModel), indexModel.getOptions(), false);
+            unmatchedList.remove(existingIndexes[i]);
+        }
+        for (int i = 0; i < declaredList.size(); i++) {
+            IndexModel indexModel = declaredList.get(i);
+            BsonDocument keys = toKeys(indexModel);
+            IndexOptions options = indexModel.getOptions();
+            BsonDocument existingIndex = existingIndexes[i];
+            if (existingIndex == null) {
+                createList.add(indexModel);
+                changeList.add(new IndexChange(IndexChange.Action.CREATE, keys.toJson(), null,
+                    "The index doesn't exist."));
+                continue;
+            }
+            String indexName = getName(existingIndex);
+
+            String difference = findDifference(keys, options, existingIndex);
+            if (difference != null) {
+                // The options of an index can't be changed, so it has to be built again.
+                dropNameList.add(indexName);
+                createList.add(indexModel);
+                changeList.add(new IndexChange(IndexChange.Action.REBUILD, keys.toJson(), indexName, difference));
+                continue;
+            }
+            Long expireAfterSeconds = options.getExpireAfter(TimeUnit.SECONDS);
+            Long existingExpireAfterSeconds = getExpireAfterSeconds(existingIndex);
+            if (expireAfterSeconds != null && !expireAfterSeconds.equals(existingExpireAfterSeconds)) {
+                modifyList.add(new BsonDocument("name", new BsonString(indexName))
+                    .append("expireAfterSeconds", new BsonInt64(expireAfterSeconds)));
+                changeList.add(new IndexChange(IndexChange.Action.UPDATE_TTL, keys.toJson(), indexName,
+                    "The TTL changed from " + existingExpireAfterSeconds + "s to " + expireAfterSeconds + "s."));
+            }
+            if (existingIndex.getBoolean("hidden", BsonBoolean.FALSE).getValue()) {
+                modifyList.add(new BsonDocument("name", new BsonString(indexName))
+                    .append("hidden", BsonBoolean.FALSE));
+                changeList.add(new IndexChange(IndexChange.Action.UNHIDE, keys.toJson(), indexName,
+                    "The index is hidden."));
+            }
+        }
+        for (BsonDocument unmatchedIndex : unmatchedList) {
+            String indexName = getName(unmatchedIndex);
+            String keys = unmatchedIndex.getDocument("key", new BsonDocument()).toJson();
+            if (dropUndeclared) {
+                dropNameList.add(indexName);
+                changeList.add(new IndexChange(IndexChange.Action.DROP, keys, indexName,
+                    "The index isn't declared."));
+            } else {
+                changeList.add(new IndexChange(IndexChange.Action.KEEP, keys, indexName,
+                    "The index isn't declared, but undeclared indexes aren't dropped."));
+            }
+        }
+    }
+
+    /**
+     * Executes the planned changes. The indexes are dropped first, so changed indexes can be built again.
+     *
+     * @param database       The database of the collection
+     * @param collection     The collection of the entity
+     * @param collectionName The name of the collection
+     * @param hiddenBuild    true, if the new indexes are built hidden and unhidden after all of them are built
+     */
+    public void apply(@NotNull MongoDatabase database, @NotNull MongoCollection<?> collection,
+                      @NotNull String collectionName, boolean hiddenBuild) {
+        for (String dropName : dropNameList) {
+            collection.dropIndex(dropName);
+        }
+        List<String> createdNameList = Collections.emptyList();
+        if (!createList.isEmpty()) {
+            if (hiddenBuild) {
+                for (IndexModel indexModel : createList) {
+                    indexModel.getOptions().hidden(true);
+                }
+            }
+            // All missing indexes are built by one command.
+            createdNameList = collection.createIndexes(createList);
+        }
+        for (BsonDocument indexSpecification : modifyList) {
+            modifyIndex(database, collectionName, indexSpecification);
+        }
+        if (hiddenBuild) {
+            for (String createdName : createdNameList) {
+                modifyIndex(database, collectionName, new BsonDocument("name", new BsonString(createdName))
+                    .append("hidden", BsonBoolean.FALSE));
+            }
+        }
+    }
+
+    /**
+     * Creates the report of the planned changes and logs them.
+     *
+     * @param collectionName The name of the collection
+     * @param dryRun         true, if the changes weren't executed
+     * @return The report of the changes
+     */
+    public @NotNull IndexReport createReport(@NotNull String collectionName, boolean dryRun) {
+        IndexReport indexReport = new IndexReport(collectionName, dryRun, Collections.unmodifiableList(changeList));
+        if (dryRun || indexReport.hasChanges()) {
+            StringBuilder builder = new StringBuilder();
+            builder.append(dryRun ? "Planned" : "Executed").append(" index changes of collection \"")
+                .append(collectionName).append("\":");
+            if (changeList.isEmpty()) {
+                builder.append(" none");
+            }
+            for (IndexChange indexChange : changeList) {
+                builder.append("\n  ").append(indexChange.getAction()).append(' ').append(indexChange.getKeys())
+                    .append(" - ").append(indexChange.getReason());
+            }
+            log.info(builder.toString());
+        }
+        return indexReport;
+    }
+
+    private static void modifyIndex(@NotNull MongoDatabase database, @NotNull String collectionName,
+                                    @NotNull BsonDocument indexSpecification) {
+        database.runCommand(new BsonDocument("collMod", new BsonString(collectionName))
+            .append("index", indexSpecification));
+    }
+
+    /**
+     * Searches a declared index, which has the same keys and collation as another declared index.
+     * Both would be matched with the same existing index, and MongoDB can't create both of them.
+     *
+     * @param declaredList The indexes, which are declared by the entity
+     * @return The keys of the duplicated index as JSON, or null if there isn't any duplicated index.
+     */
+    public static @Nullable String findDuplicate(@NotNull List<IndexModel> declaredList) {
+        for (int i = 0; i < declaredList.size(); i++) {
+            IndexModel indexModel = declaredList.get(i);
+            BsonDocument keys = toKeys(indexModel);
+            for (int j = i + 1; j < declaredList.size(); j++) {
+                IndexModel otherModel = declaredList.get(j);
+                Collation otherCollation = otherModel.getOptions().getCollation();
+                if (toKeyList(keys).equals(toKeyList(toKeys(otherModel)))
+                    && matchesCollation(indexModel.getOptions().getCollation(),
+                    otherCollation != null ? otherCollation.asDocument() : null)) {
+                    return keys.toJson();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static @NotNull BsonDocument toKeys(@NotNull IndexModel indexModel) {
+        return indexModel.getKeys().toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    private static @Nullable BsonDocument findExisting(@NotNull List<BsonDocument> existingList,
+                                                       @NotNull BsonDocument keys, @NotNull IndexOptions options,
+                                                       boolean matchCollation) {
+        for (BsonDocument existingIndex : existingList) {
+            if (!matchesKeys(keys, existingIndex)) {
+                continue;
+            }
+            if (!matchCollation || getName(existingIndex).equals(options.getName())
+                || matchesCollation(options.getCollation(), existingIndex.getDocument("collation", null))) {
+                return existingIndex;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchesKeys(@NotNull BsonDocument keys, @NotNull BsonDocument existingIndex) {
+        BsonDocument existingKeys = existingIndex.getDocument("key", new BsonDocument());
+        if (isTextIndex(keys)) {
+            // Text indexes are listed by their internal keys, the fields are listed as weights.
+            if (!existingKeys.containsKey("_fts")) {
+                return false;
+            }
+            return existingIndex.getDocument("weights", new BsonDocument()).keySet().equals(keys.keySet());
+        }
+        return toKeyList(keys).equals(toKeyList(existingKeys));
+    }
+
+    private static boolean isTextIndex(@NotNull BsonDocument keys) {
+        for (BsonValue value : keys.values()) {
+            if (!value.isString() || !value.asString().getValue().equals("text")) {
+                return false;
+            }
+        }
+        return !keys.isEmpty();
+    }
+
+    // The order of the keys matters, but the numbers could be saved as int32, int64 or double.
+    private static @NotNull List<String> toKeyList(@NotNull BsonDocument keys) {
+        List<String> keyList = new ArrayList<>();
+        for (Map.Entry<String, BsonValue> keyEntry : keys.entrySet()) {
+            BsonValue value = keyEntry.getValue();
+            String valueString = value.isNumber() ? String.valueOf(value.asNumber().doubleValue())
+                : value.isString() ? value.asString().getValue() : value.toString();
+            keyList.add(keyEntry.getKey() + "=" + valueString);
+        }
+        return keyList;
+    }
+
+    private static @Nullable String findDifference(@NotNull BsonDocument keys, @NotNull IndexOptions options,
+                                                   @NotNull BsonDocument existingIndex) {
+        boolean existingUnique = existingIndex.getBoolean("unique", BsonBoolean.FALSE).getValue();
+        if (options.isUnique() != existingUnique) {
+            return "The unique option changed from " + existingUnique + " to " + options.isUnique() + ".";
+        }
+        // The TTL can only be modified in place, if the index is already a TTL index.
+        Long expireAfterSeconds = options.getExpireAfter(TimeUnit.SECONDS);
+        Long existingExpireAfterSeconds = getExpireAfterSeconds(existingIndex);
+        if ((expireAfterSeconds == null) != (existingExpireAfterSeconds == null)) {
+            return expireAfterSeconds == null ? "The TTL was removed." : "The TTL was added.";
+        }
+        if (!matchesCollation(options.getCollation(), existingIndex.getDocument("collation", null))) {
+            return "The collation changed.";
+        }
+        if (isTextIndex(keys)) {
+            String language = options.getDefaultLanguage() != null ? options.getDefaultLanguage() : DEFAULT_TEXT_LANGUAGE;
+            String existingLanguage = existingIndex.getString("default_language", new BsonString(DEFAULT_TEXT_LANGUAGE))
+                .getValue();
+            if (!language.equals(existingLanguage)) {
+                return "The default language changed from " + existingLanguage + " to " + language + ".";
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchesCollation(@Nullable Collation collation, @Nullable BsonDocument existingCollation) {
+        if (collation == null || existingCollation == null) {
+            return collation == null && existingCollation == null;
+        }
+        String existingLocale = existingCollation.getString("locale", new BsonString("")).getValue();
+        if (!existingLocale.equals(collation.getLocale())) {
+            return false;
+        }
+        int strength = collation.getStrength() != null
+            ? collation.getStrength().getIntRepresentation() : DEFAULT_COLLATION_STRENGTH;
+        BsonValue existingStrength = existingCollation.get("strength");
+        int existingStrengthValue = existingStrength != null && existingStrength.isNumber()
+            ? existingStrength.asNumber().intValue() : DEFAULT_COLLATION_STRENGTH;
+        return strength == existingStrengthValue;
+    }
+
+    private static @Nullable Long getExpireAfterSeconds(@NotNull BsonDocument existingIndex) {
+        BsonValue expireAfterSeconds = existingIndex.get("expireAfterSeconds");
+        if (expireAfterSeconds == null || !expireAfterSeconds.isNumber()) {
+            return null;
+        }
+        return expireAfterSeconds.asNumber().longValue();
+    }
+
+    private static @NotNull String getName(@NotNull BsonDocument existingIndex) {
+        return existingIndex.getString("name", new BsonString("")).getValue();
+    }
+}
@@ -0,0 +1,75 @@
+package eu.koboo.en2do.internal.methods.aggregation;
+
+import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.repository.Repository;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Represents a method of the repository, which is annotated with "@Aggregation".
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the id of the entity
+ * @param <R>  The generic type of the repository
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AggregationMethod<E, ID, R extends Repository<E, ID>> {
+
+    @Getter
+    @NotNull
+    Method method;
+
+    @NotNull
+    RepositoryMeta<E, ID, R> repositoryMeta;
+
+    @NotNull
+    AggregationTemplate aggregationTemplate;
+
+    /**
+     * The type, which the results of the pipeline are decoded to.
+     */
+    @Getter
+    @NotNull
+    Class<?> resultClass;
+
+    @Getter
+    @NotNull
+    ResultType resultType;
+
+    public @NotNull List<Document> createPipeline(@NotNull Object[] arguments) {
+        return aggregationTemplate.bind(index -> {
+            Object argument = arguments[index];
+            if (argument == null) {
+                return null;
+            }
+            return repositoryMeta.getFilterableValue(argument);
+        });
+    }
+
+    /**
+     * Represents the way, the results of the pipeline are returned by the method.
+     */
+    public enum ResultType {
+
+        /**
+         * Returns the first result of the pipeline.
+         */
+        SINGLE,
+        /**
+         * Returns all results of the pipeline as list.
+         */
+        LIST,
+        /**
+         * Returns the results of the pipeline as stream, which is backed by the cursor.
+         */
+        STREAM
+    }
+}
@@ -0,0 +1,209 @@
+package eu.koboo.en2do.internal.methods.aggregation;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Represents a parsed aggregation pipeline of the "@Aggregation" annotation.
+ * The json is parsed only once. Every placeholder ("?0", "?1", ...) is replaced by a slot,
+ * which is bound to the method arguments on every call, without parsing the json again.
+ * Placeholders inside of quoted strings, e.g. the regex "^a?1", are part of the string and aren't replaced.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AggregationTemplate {
+
+    private static final String PARAMETER_KEY = "$en2doParameter";
+    private static final String PIPELINE_KEY = "pipeline";
+
+    /**
+     * Parses the given json array to a template.
+     *
+     * @param pipeline The json array of the aggregation stages
+     * @return The created template
+     * @throws IllegalArgumentException if the json isn't an array of documents
+     */
+    public static @NotNull AggregationTemplate parse(@NotNull String pipeline) {
+        String parseablePipeline = replacePlaceholders(pipeline);
+        Document pipelineDocument = Document.parse("{\"" + PIPELINE_KEY + "\": " + parseablePipeline + "}");
+        Object stages = pipelineDocument.get(PIPELINE_KEY);
+        if (!(stages instanceof List)) {
+            throw new IllegalArgumentException("The aggregation pipeline is not an array.");
+        }
+        return new AggregationTemplate((List<?>) stages);
+    }
+
+    // Every placeholder is converted to a document, so the json parser is able to read it.
+    private static @NotNull String replacePlaceholders(@NotNull String pipeline) {
+        StringBuilder builder = new StringBuilder(pipeline.length());
+        char quote = 0;
+        int index = 0;
+        while (index < pipeline.length()) {
+            char character = pipeline.charAt(index);
+            if (quote != 0) {
+                // Escaped characters can't end the string.
+                if (character == '\\' && index + 1 < pipeline.length()) {
+                    builder.append(character).append(pipeline.charAt(index + 1));
+                    index += 2;
+                    continue;
+                }
+                if (character == quote) {
+                    quote = 0;
+                }
+                builder.append(character);
+                index++;
+                continue;
+            }
+            if (character == '"' || character == '\'') {
+                quote = character;
+                builder.append(character);
+                index++;
+                continue;
+            }
+            int digitEnd = index + 1;
+            while (character == '?' && digitEnd < pipeline.length() && Character.isDigit(pipeline.charAt(digitEnd))) {
+                digitEnd++;
+            }
+            if (digitEnd > index + 1) {
+                builder.append("{\"").append(PARAMETER_KEY).append("\": ")
+                    .append(pipeline, index + 1, digitEnd).append('}');
+                index = digitEnd;
+                continue;
+            }
+            builder.append(character);
+            index++;
+        }
+        return builder.toString();
+    }
+
+    List<Object> stageList;
+    boolean[] parameterizedStages;
+    @Getter
+    int highestParameterIndex;
+
+    private AggregationTemplate(@NotNull List<?> parsedStageList) {
+        this.stageList = new ArrayList<>();
+        this.parameterizedStages = new boolean[parsedStageList.size()];
+        int highestIndex = -1;
+        for (int i = 0; i < parsedStageList.size(); i++) {
+            Object parsedStage = parsedStageList.get(i);
+            if (!(parsedStage instanceof Document)) {
+                throw new IllegalArgumentException("The aggregation stage at index " + i + " is not a document.");
+            }
+            Object stage = compile(parsedStage);
+            stageList.add(stage);
+            int stageHighestIndex = findHighestParameterIndex(stage);
+            parameterizedStages[i] = stageHighestIndex != -1;
+            highestIndex = Math.max(highestIndex, stageHighestIndex);
+        }
+        this.highestParameterIndex = highestIndex;
+    }
+
+    /**
+     * Creates the pipeline with the given arguments. Stages without placeholders are reused as they are.
+     *
+     * @param argumentResolver The function, which returns the value of the argument at the given index
+     * @return The List with the bound stages
+     */
+    public @NotNull List<Document> bind(@NotNull IntFunction<Object> argumentResolver) {
+        List<Document> boundStageList = new ArrayList<>(stageList.size());
+        for (int i = 0; i < stageList.size(); i++) {
+            Object stage = stageList.get(i);
+            if (!parameterizedStages[i]) {
+                boundStageList.add((Document) stage);
+                continue;
+            }
+            boundStageList.add((Document) bindValue(stage, argumentResolver));
+        }
+        return boundStageList;
+    }
+
+    private @Nullable Object compile(@Nullable Object value) {
+        if (value instanceof Document) {
+            Document document = (Document) value;
+            if (document.size() == 1 && document.containsKey(PARAMETER_KEY)) {
+                return new ParameterSlot(((Number) document.get(PARAMETER_KEY)).intValue());
+            }
+            Document compiledDocument = new Document();
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                compiledDocument.put(entry.getKey(), compile(entry.getValue()));
+            }
+            return compiledDocument;
+        }
+        if (value instanceof List) {
+            List<Object> compiledList = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                compiledList.add(compile(element));
+            }
+            return compiledList;
+        }
+        return value;
+    }
+
+    private int findHighestParameterIndex(@Nullable Object value) {
+        int highestIndex = -1;
+        if (value instanceof ParameterSlot) {
+            highestIndex = ((ParameterSlot) value).getIndex();
+        }
+        if (value instanceof Document) {
+            for (Object element : ((Document) value).values()) {
+                highestIndex = Math.max(highestIndex, findHighestParameterIndex(element));
+            }
+        }
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                highestIndex = Math.max(highestIndex, findHighestParameterIndex(element));
+            }
+        }
+        return highestIndex;
+    }
+
+    private @Nullable Object bindValue(@Nullable Object value, @NotNull IntFunction<Object> argumentResolver) {
+        if (value instanceof ParameterSlot) {
+            Object argument = argumentResolver.apply(((ParameterSlot) value).getIndex());
+            // The document codec doesn't know arrays, so we use lists instead.
+            if (argument instanceof Object[]) {
+                return Arrays.asList((Object[]) argument);
+            }
+            return argument;
+        }
+        if (value instanceof Document) {
+            Document document = (Document) value;
+            Document boundDocument = new Document();
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                boundDocument.put(entry.getKey(), bindValue(entry.getValue(), argumentResolver));
+            }
+            return boundDocument;
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> boundList = new ArrayList<>(list.size());
+            for (Object element : list) {
+                boundList.add(bindValue(element, argumentResolver));
+            }
+            return boundList;
+        }
+        return value;
+    }
+
+    /**
+     * Represents the placeholder of a method argument inside the pipeline.
+     */
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @Getter
+    private static class ParameterSlot {
+
+        int index;
+    }
+}
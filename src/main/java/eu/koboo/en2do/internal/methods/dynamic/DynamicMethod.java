@@ -1,28 +1,52 @@
 package eu.koboo.en2do.internal.methods.dynamic;
 
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BsonField;
+import com.mongodb.client.model.Collation;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.geojson.Point;
+import com.mongodb.client.model.geojson.Polygon;
+import com.mongodb.client.model.geojson.Position;
 import eu.koboo.en2do.internal.RepositoryMeta;
 import eu.koboo.en2do.internal.exception.methods.MethodInvalidRegexParameterException;
 import eu.koboo.en2do.internal.exception.methods.MethodUnsupportedFilterException;
+import eu.koboo.en2do.internal.methods.operators.FilterOperator;
 import eu.koboo.en2do.internal.methods.operators.MethodOperator;
 import eu.koboo.en2do.repository.Repository;
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWrapper;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 import java.util.regex.Pattern;
 
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class DynamicMethod<E, ID, R extends Repository<E, ID>> {
 
+    /**
+     * The name of the field, which contains the result of an aggregation.
+     */
+    public static final String AGGREGATION_VALUE = "value";
+
+    /**
+     * The regex option of MongoDB for case-insensitive matching.
+     */
+    private static final String CASE_INSENSITIVE_OPTION = "i";
+
+    /**
+     * The radius of the earth in meters, which MongoDB uses to convert distances to radians.
+     */
+    private static final double EARTH_RADIUS_METERS = 6378100.0;
+
     @NotNull
     Method method;
 
@@ -39,122 +63,302 @@ public class DynamicMethod<E, ID, R extends Repository<E, ID>> {
     @NotNull
     List<MethodFilterPart> filterPartList;
 
+    @Getter
+    @Nullable
+    Field aggregationField;
+
+    /**
+     * The collation of the query, which is only set, if every "Ign" filter can use a case-insensitive index.
+     */
+    @Getter
+    @Nullable
+    Collation collation;
+
+    /**
+     * The filter, which is compiled once by the filter parts, so only the arguments are bound on every call.
+     */
+    @NotNull
+    FilterBinder filterTemplate;
+
+    public DynamicMethod(@NotNull Method method, @NotNull RepositoryMeta<E, ID, R> repositoryMeta,
+                         @NotNull MethodOperator methodOperator, boolean multipleFilter, boolean andFilter,
+                         @NotNull List<MethodFilterPart> filterPartList, @Nullable Field aggregationField,
+                         @Nullable Collation collation) {
+        this.method = method;
+        this.repositoryMeta = repositoryMeta;
+        this.methodOperator = methodOperator;
+        this.multipleFilter = multipleFilter;
+        this.andFilter = andFilter;
+        this.filterPartList = filterPartList;
+        this.aggregationField = aggregationField;
+        this.collation = collation;
+        this.filterTemplate = compileFilterTemplate();
+    }
+
     public @NotNull Bson createBsonFilter(@NotNull Object[] arguments) throws Exception {
-        Bson filter;
-        List<Bson> filterList = new LinkedList<>();
+        return filterTemplate.bind(arguments);
+    }
+
+    public @NotNull List<Bson> createAggregationPipeline(@NotNull Object[] arguments) throws Exception {
+        if (aggregationField == null) {
+            throw new MethodUnsupportedFilterException(method, repositoryMeta.getRepositoryClass());
+        }
+        // The filter is applied by a "$match" stage, so the aggregation only touches the matching documents.
+        Bson matchStage = Aggregates.match(createBsonFilter(arguments));
+        String fieldExpression = "$" + repositoryMeta.getFieldName(aggregationField);
+        BsonField accumulator;
+        switch (methodOperator) {
+            case SUM:
+                accumulator = Accumulators.sum(AGGREGATION_VALUE, fieldExpression);
+                break;
+            case AVERAGE:
+                accumulator = Accumulators.avg(AGGREGATION_VALUE, fieldExpression);
+                break;
+            case MIN:
+                accumulator = Accumulators.min(AGGREGATION_VALUE, fieldExpression);
+                break;
+            case MAX:
+                accumulator = Accumulators.max(AGGREGATION_VALUE, fieldExpression);
+                break;
+            case COUNT_GROUPED:
+                return List.of(matchStage, Aggregates.group(fieldExpression, Accumulators.sum(AGGREGATION_VALUE, 1)));
+            default:
+                throw new MethodUnsupportedFilterException(method, repositoryMeta.getRepositoryClass());
+        }
+        // Grouping by "null" creates exactly one group with all matching documents.
+        return List.of(matchStage, Aggregates.group(null, accumulator));
+    }
+
+    private @NotNull FilterBinder compileFilterTemplate() {
+        // Aggregations are allowed to declare no filter at all, so they match every entity.
+        if (filterPartList.isEmpty()) {
+            Bson emptyFilter = Filters.empty();
+            return arguments -> emptyFilter;
+        }
+        FilterBinder[] filterBinders = new FilterBinder[filterPartList.size()];
+        for (int i = 0; i < filterBinders.length; i++) {
+            MethodFilterPart filterPart = filterPartList.get(i);
+            filterBinders[i] = compileFilter(filterPart.getFilterType(), filterPart.getNextParameterIndex());
+        }
+        if (!multipleFilter) {
+            return filterBinders[0];
+        }
+        if (andFilter && isEqualityOnly()) {
+            return compileEqualityDocument();
+        }
+        return arguments -> {
+            List<Bson> filterList = Arrays.asList(new Bson[filterBinders.length]);
+            for (int i = 0; i < filterBinders.length; i++) {
+                filterList.set(i, filterBinders[i].bind(arguments));
+            }
+            return andFilter ? Filters.and(filterList) : Filters.or(filterList);
+        };
+    }
+
+    private boolean isEqualityOnly() {
+        Set<String> fieldNameSet = new HashSet<>();
         for (MethodFilterPart filterPart : filterPartList) {
             FilterType filterType = filterPart.getFilterType();
-            int paramStartIndex = filterPart.getNextParameterIndex();
-            Bson processedBsonFilter = processBson(filterType, paramStartIndex, arguments);
-            filterList.add(processedBsonFilter);
-        }
-        if (multipleFilter) {
-            if (andFilter) {
-                filter = Filters.and(filterList);
-            } else {
-                filter = Filters.or(filterList);
+            FilterOperator operator = filterType.getOperator();
+            if (operator != FilterOperator.EQUALS && operator != FilterOperator.CONTAINS_ELEMENT
+                || filterType.isNotFilter()) {
+                return false;
+            }
+            // The same field can't be used twice as key of a document.
+            if (!fieldNameSet.add(filterType.getFieldName())) {
+                return false;
             }
-        } else {
-            filter = filterList.get(0);
         }
-        return filter;
+        return true;
     }
 
-    @SuppressWarnings("unchecked")
-    private @NotNull Bson processBson(@NotNull FilterType filterType, int paramsIndexAt,
-                                      @NotNull Object[] args) throws Exception {
-        String fieldName = filterType.getField().getName();
-        // Check if the uniqueId field is used.
-        // This is needed if uniqueId field and "_id" of documents are the same!
-        if (fieldName.equalsIgnoreCase(repositoryMeta.getEntityUniqueIdField().getName())
-            && !repositoryMeta.isSeparateEntityId()) {
-            fieldName = "_id";
+    private @NotNull FilterBinder compileEqualityDocument() {
+        // "{a: 1, b: 2}" matches the same documents as "{$and: [{a: {$eq: 1}}, {b: {$eq: 2}}]}",
+        // but it's a flat document, which is smaller and faster to encode.
+        String[] fieldNames = new String[filterPartList.size()];
+        int[] parameterIndexes = new int[filterPartList.size()];
+        for (int i = 0; i < fieldNames.length; i++) {
+            MethodFilterPart filterPart = filterPartList.get(i);
+            fieldNames[i] = filterPart.getFilterType().getFieldName();
+            parameterIndexes[i] = filterPart.getNextParameterIndex();
         }
-        Bson retFilter = null;
+        return arguments -> {
+            Document filterDocument = new Document();
+            for (int i = 0; i < fieldNames.length; i++) {
+                filterDocument.append(fieldNames[i], repositoryMeta.getFilterableValue(arguments[parameterIndexes[i]]));
+            }
+            return filterDocument;
+        };
+    }
+
+    private @NotNull FilterBinder compileFilter(@NotNull FilterType filterType, int paramsIndexAt) {
+        String fieldName = filterType.getFieldName();
+        FilterBinder filterBinder;
         switch (filterType.getOperator()) {
             case EQUALS:
-                retFilter = Filters.eq(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
+            case CONTAINS_ELEMENT:
+                // MongoDB matches an equality filter on a list against every element.
+                filterBinder = args -> Filters.eq(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
                 break;
             case EQUALS_IGNORE_CASE:
-                String ignCasePatternString = "(?i)^" + repositoryMeta.getFilterableValue(args[paramsIndexAt]) + "$";
-                Pattern ignCasePattern = Pattern.compile(ignCasePatternString, Pattern.CASE_INSENSITIVE);
-                retFilter = Filters.regex(fieldName, ignCasePattern);
+                // The collation of the query compares case-insensitive, so the index can be used.
+                if (collation != null) {
+                    filterBinder = args -> Filters.eq(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
+                    break;
+                }
+                // The regex is passed as string, so it's not compiled by java on every call.
+                filterBinder = args -> {
+                    Object ignCaseValue = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
+                    String ignCasePatternString = "^" + Pattern.quote(String.valueOf(ignCaseValue)) + "$";
+                    return Filters.regex(fieldName, ignCasePatternString, CASE_INSENSITIVE_OPTION);
+                };
                 break;
             case CONTAINS:
-                String containsPatternString = ".*" + repositoryMeta.getFilterableValue(args[paramsIndexAt]) + ".*";
-                Pattern containsPattern = Pattern.compile(containsPatternString, Pattern.CASE_INSENSITIVE);
-                retFilter = Filters.regex(fieldName, containsPattern);
+                // An unanchored regex matches anywhere in the value, so no ".*" is needed.
+                filterBinder = args -> {
+                    Object containsValue = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
+                    return Filters.regex(fieldName, Pattern.quote(String.valueOf(containsValue)), CASE_INSENSITIVE_OPTION);
+                };
+                break;
+            case STARTS_WITH:
+                // Anchored and case-sensitive, so MongoDB can turn the prefix into an index range scan.
+                filterBinder = args -> {
+                    Object startsWithValue = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
+                    return Filters.regex(fieldName, "^" + Pattern.quote(String.valueOf(startsWithValue)));
+                };
                 break;
             case GREATER_THAN:
-                retFilter = Filters.gt(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
+                filterBinder = args -> Filters.gt(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
                 break;
             case LESS_THAN:
-                retFilter = Filters.lt(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
+                filterBinder = args -> Filters.lt(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
                 break;
             case GREATER_EQUALS:
-                retFilter = Filters.gte(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
+                filterBinder = args -> Filters.gte(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
                 break;
             case LESS_EQUALS:
-                retFilter = Filters.lte(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
+                filterBinder = args -> Filters.lte(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt]));
                 break;
             case REGEX:
                 // MongoDB supports multiple types of regex filtering, so check which type is provided.
-                Object value = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
-                if (value instanceof String) {
-                    String regexPatternString = (String) value;
-                    retFilter = Filters.regex(fieldName, regexPatternString);
-                }
-                if (value instanceof Pattern) {
-                    Pattern regexPattern = (Pattern) value;
-                    retFilter = Filters.regex(fieldName, regexPattern);
-                }
-                if (retFilter == null) {
+                filterBinder = args -> {
+                    Object value = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
+                    if (value instanceof String) {
+                        return Filters.regex(fieldName, (String) value);
+                    }
+                    if (value instanceof Pattern) {
+                        return Filters.regex(fieldName, (Pattern) value);
+                    }
                     throw new MethodInvalidRegexParameterException(method, repositoryMeta.getRepositoryClass(), value.getClass());
-                }
+                };
                 break;
             case EXISTS:
-                retFilter = Filters.exists(fieldName);
-                break;
+                // The filter has no parameter, so it's created only once.
+                Bson existsFilter = filterType.isNotFilter() ? Filters.not(Filters.exists(fieldName)) : Filters.exists(fieldName);
+                return args -> existsFilter;
             case BETWEEN:
-                Object betweenStart = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
-                Object betweenEnd = args[paramsIndexAt + 1];
-                retFilter = Filters.and(Filters.gt(fieldName, betweenStart), Filters.lt(fieldName, betweenEnd));
+                filterBinder = args -> Filters.and(
+                    Filters.gt(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt])),
+                    Filters.lt(fieldName, args[paramsIndexAt + 1]));
                 break;
             case BETWEEN_EQUALS:
-                Object betweenEqStart = repositoryMeta.getFilterableValue(args[paramsIndexAt]);
-                Object betweenEqEnd = args[paramsIndexAt + 1];
-                retFilter = Filters.and(Filters.gte(fieldName, betweenEqStart), Filters.lte(fieldName, betweenEqEnd));
+                filterBinder = args -> Filters.and(
+                    Filters.gte(fieldName, repositoryMeta.getFilterableValue(args[paramsIndexAt])),
+                    Filters.lte(fieldName, args[paramsIndexAt + 1]));
                 break;
             case IN:
-                // MongoDB expects an Array and not a List, but for easier usage
-                // the framework wants a list or an array, so just convert the given object to an array
-                // and add it to the filter
-                Object possibleObject = args[paramsIndexAt];
-                Object[] objectArray = null;
-                if (possibleObject instanceof Collection) {
-                    Collection<Object> collection = (Collection<Object>) possibleObject;
-                    objectArray = collection.toArray(new Object[]{});
-                }
-                if (possibleObject.getClass().isArray() && possibleObject instanceof Object[]) {
-                    objectArray = (Object[]) possibleObject;
-                }
-                if (objectArray == null) {
-                    throw new NullPointerException("Please report your code and other information to " +
-                        "github.com/Koboo/en2do to ensure others don't get this bug.");
-                }
-                retFilter = Filters.in(fieldName, objectArray);
+                filterBinder = args -> Filters.in(fieldName, toObjectArray(args[paramsIndexAt]));
                 break;
             case HAS_KEY:
-                Object keyObject = repositoryMeta.getFilterableValue(args[paramsIndexAt], true);
-                retFilter = Filters.exists(fieldName + "." + keyObject);
+                String keyPrefix = fieldName + ".";
+                filterBinder = args -> Filters.exists(keyPrefix + repositoryMeta.getFilterableValue(args[paramsIndexAt], true));
                 break;
-            default: // This filter is not supported. Throw exception.
-                throw new MethodUnsupportedFilterException(method, repositoryMeta.getRepositoryClass());
+            case SEARCH:
+                // The text filter always searches all fields of the text index, the field is only validated.
+                filterBinder = args -> Filters.text(String.valueOf(repositoryMeta.getFilterableValue(args[paramsIndexAt])));
+                break;
+            case NEAR:
+                filterBinder = args -> Filters.nearSphere(fieldName, (Point) args[paramsIndexAt],
+                    ((Number) args[paramsIndexAt + 1]).doubleValue(), null);
+                break;
+            case WITHIN_RADIUS:
+                filterBinder = args -> {
+                    List<Double> centerValues = ((Point) args[paramsIndexAt]).getPosition().getValues();
+                    double radius = ((Number) args[paramsIndexAt + 1]).doubleValue();
+                    // The radius of "$centerSphere" is measured in radians, so it's divided by the radius of the earth.
+                    return Filters.geoWithinCenterSphere(fieldName, centerValues.get(0), centerValues.get(1),
+                        radius / EARTH_RADIUS_METERS);
+                };
+                break;
+            case WITHIN_BOX:
+                filterBinder = args -> {
+                    List<Double> lowerLeft = ((Point) args[paramsIndexAt]).getPosition().getValues();
+                    List<Double> upperRight = ((Point) args[paramsIndexAt + 1]).getPosition().getValues();
+                    // "$box" only works with legacy "2d" indexes, so the box is converted to a closed polygon.
+                    // Its edges are geodesic, so the top and bottom edges aren't lines of constant latitude.
+                    Polygon box = new Polygon(List.of(
+                        new Position(lowerLeft.get(0), lowerLeft.get(1)),
+                        new Position(upperRight.get(0), lowerLeft.get(1)),
+                        new Position(upperRight.get(0), upperRight.get(1)),
+                        new Position(lowerLeft.get(0), upperRight.get(1)),
+                        new Position(lowerLeft.get(0), lowerLeft.get(1))
+                    ));
+                    return Filters.geoWithin(fieldName, box);
+                };
+                break;
+            case ELEM_MATCH:
+                // The example element is encoded by the codec of its type, so only encoded fields are matched.
+                // Null fields are skipped, but primitive fields are always encoded and matched.
+                filterBinder = args -> {
+                    BsonDocument exampleDocument = BsonDocumentWrapper.asBsonDocument(args[paramsIndexAt],
+                        repositoryMeta.getCollection().getCodecRegistry());
+                    return Filters.elemMatch(fieldName, exampleDocument);
+                };
+                break;
+            case SIZE:
+                filterBinder = args -> Filters.size(fieldName, ((Number) args[paramsIndexAt]).intValue());
+                break;
+            case ALL:
+                filterBinder = args -> Filters.all(fieldName, toObjectArray(args[paramsIndexAt]));
+                break;
+            default: // This filter is not supported, so every call throws the exception.
+                filterBinder = args -> {
+                    throw new MethodUnsupportedFilterException(method, repositoryMeta.getRepositoryClass());
+                };
         }
         // Applying negotiating of the filter, if needed
         if (filterType.isNotFilter()) {
-            return Filters.not(retFilter);
+            FilterBinder positiveBinder = filterBinder;
+            return args -> Filters.not(positiveBinder.bind(args));
         }
-        return retFilter;
+        return filterBinder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull Object[] toObjectArray(@NotNull Object possibleObject) {
+        // MongoDB expects an Array and not a List, but for easier usage
+        // the framework wants a list or an array, so just convert the given object to an array
+        Object[] objectArray = null;
+        if (possibleObject instanceof Collection) {
+            Collection<Object> collection = (Collection<Object>) possibleObject;
+            objectArray = collection.toArray(new Object[]{});
+        }
+        if (possibleObject.getClass().isArray() && possibleObject instanceof Object[]) {
+            objectArray = (Object[]) possibleObject;
+        }
+        if (objectArray == null) {
+            throw new NullPointerException("Please report your code and other information to " +
+                "github.com/Koboo/en2do to ensure others don't get this bug.");
+        }
+        return objectArray;
+    }
+
+    /**
+     * Binds the arguments of a method call to the compiled filter.
+     */
+    @FunctionalInterface
+    private interface FilterBinder {
+
+        @NotNull Bson bind(@NotNull Object[] arguments) throws Exception;
     }
-}
\ No newline at end of file
+}
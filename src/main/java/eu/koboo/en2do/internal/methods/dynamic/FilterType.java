@@ -22,6 +22,11 @@ public class FilterType {
      */
     @NotNull
     Field field;
+    /**
+     * The name of the field in the document, which is dot-notated if the field is part of an embedded type.
+     */
+    @NotNull
+    String fieldName;
     /**
      * is true if the filter is negotiated
      */
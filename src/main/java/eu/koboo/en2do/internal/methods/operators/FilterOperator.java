@@ -23,9 +23,11 @@ public enum FilterOperator {
      */
     EQUALS("", 1),
     /**
-     * Represents Filters.regex("(?i)^[value]$")
+     * Represents Filters.eq(..) with a case-insensitive collation, if the field is annotated with @CaseInsensitive.
+     * Otherwise, it represents Filters.regex("^[escaped value]$", "i")
      *
-     * @see com.mongodb.client.model.Filters#regex(String, String)
+     * @see com.mongodb.client.model.Filters#eq(String, Object)
+     * @see com.mongodb.client.model.Filters#regex(String, String, String)
      */
     EQUALS_IGNORE_CASE("Ign", 1),
     /**
@@ -66,11 +68,18 @@ public enum FilterOperator {
      */
     EXISTS("Exists", 0),
     /**
-     * Represents Filters.regex(".*[value].*")
+     * Represents Filters.regex("[escaped value]", "i")
      *
-     * @see com.mongodb.client.model.Filters#regex(String, String)
+     * @see com.mongodb.client.model.Filters#regex(String, String, String)
      */
     CONTAINS("Contains", 1),
+    /**
+     * Represents Filters.regex("^[escaped value]")
+     * The regex is anchored and case-sensitive, so MongoDB can use an index on the field.
+     *
+     * @see com.mongodb.client.model.Filters#regex(String, String)
+     */
+    STARTS_WITH("StartsWith", 1),
     /**
      * Represents Filters.gt(..) + Filters.lt(..)
      *
@@ -96,7 +105,63 @@ public enum FilterOperator {
      *
      * @see com.mongodb.client.model.Filters#exists(String)
      */
-    HAS_KEY("HasKey", 1);
+    HAS_KEY("HasKey", 1),
+    /**
+     * Represents Filters.text(..)
+     * The field has to be part of the text index of the entity.
+     *
+     * @see com.mongodb.client.model.Filters#text(String)
+     */
+    SEARCH("Search", 1),
+    /**
+     * Represents Filters.nearSphere(..) with a maximum distance in meters.
+     * The entities are ordered by their distance, starting with the nearest.
+     *
+     * @see com.mongodb.client.model.Filters#nearSphere(String, com.mongodb.client.model.geojson.Point, Double, Double)
+     */
+    NEAR("Near", 2),
+    /**
+     * Represents Filters.geoWithinCenterSphere(..) with a radius in meters.
+     *
+     * @see com.mongodb.client.model.Filters#geoWithinCenterSphere(String, double, double, double)
+     */
+    WITHIN_RADIUS("WithinRadius", 2),
+    /**
+     * Represents Filters.geoWithin(..) with a GeoJSON polygon, which connects the lower left and upper right corner
+     * by their other two corners. The edges of a polygon are geodesic on a "2dsphere" index, so the polygon isn't
+     * a rectangle of latitudes and longitudes. The top and bottom edges bow toward the nearer pole, which is
+     * noticeable on wide boxes, so entities close to these edges could be matched or missed unexpectedly.
+     *
+     * @see com.mongodb.client.model.Filters#geoWithin(String, com.mongodb.client.model.geojson.Geometry)
+     */
+    WITHIN_BOX("WithinBox", 2),
+    /**
+     * Represents Filters.elemMatch(..) with the encoded example element.
+     * Every encoded field of the example has to match the same element of the list. Null fields aren't encoded,
+     * but fields of primitive types are always encoded, so they always take part in the match,
+     * e.g. an example with a "double" of 0 only matches elements, which have the value 0.
+     *
+     * @see com.mongodb.client.model.Filters#elemMatch(String, org.bson.conversions.Bson)
+     */
+    ELEM_MATCH("ElemMatch", 1),
+    /**
+     * Represents Filters.size(..)
+     *
+     * @see com.mongodb.client.model.Filters#size(String, int)
+     */
+    SIZE("Size", 1),
+    /**
+     * Represents Filters.all(..)
+     *
+     * @see com.mongodb.client.model.Filters#all(String, Object[])
+     */
+    ALL("All", 1),
+    /**
+     * Represents Filters.eq(..) on a list, which matches if any element is equal.
+     *
+     * @see com.mongodb.client.model.Filters#eq(String, Object)
+     */
+    CONTAINS_ELEMENT("ContainsElement", 1);
 
     public static final FilterOperator[] VALUES = FilterOperator.values();
 
@@ -113,6 +178,49 @@ public enum FilterOperator {
         return textWithOperator.substring(0, textWithOperator.length() - getKeyword().length());
     }
 
+    /**
+     * Checks if the filter operator compares the value of the field, which is affected by the collation of a query.
+     * Regex, text and existence filters aren't affected by any collation.
+     *
+     * @return true, if the filter operator compares values.
+     */
+    public boolean isComparingValue() {
+        switch (this) {
+            case EQUALS:
+            case GREATER_THAN:
+            case LESS_THAN:
+            case GREATER_EQUALS:
+            case LESS_EQUALS:
+            case BETWEEN:
+            case BETWEEN_EQUALS:
+            case IN:
+            case ELEM_MATCH:
+            case ALL:
+            case CONTAINS_ELEMENT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks if the filter operator compares the location of a field of type "com.mongodb.client.model.geojson.Point".
+     *
+     * @return true, if the filter operator is a geospatial filter.
+     */
+    public boolean isGeospatial() {
+        return this == NEAR || this == WITHIN_RADIUS || this == WITHIN_BOX;
+    }
+
+    /**
+     * Checks if the filter operator requires a field, which is a collection or an array.
+     *
+     * @return true, if the filter operator filters the elements of a list.
+     */
+    public boolean isArrayFilter() {
+        return this == ELEM_MATCH || this == SIZE || this == ALL || this == CONTAINS_ELEMENT;
+    }
+
     /**
      * Parses a string to a filter operator by checking, if the text is ending with the
      * keyword of the filter operator, and returns the results.
@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the MethodOperator of a method inside a repository.
@@ -82,6 +83,46 @@ public enum MethodOperator {
         if (GenericUtils.isNotTypeOf(Boolean.class, returnType)) {
             throw new MethodBooleanReturnTypeException(method, repoClass);
         }
+    }),
+    /**
+     * Sums up the aggregated field of all entities with the given filters.
+     */
+    SUM("sum", (method, returnType, entityClass, repoClass) -> {
+        if (!GenericUtils.isNumber(returnType)) {
+            throw new MethodNumberReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Calculates the average of the aggregated field of all entities with the given filters.
+     */
+    AVERAGE("avg", (method, returnType, entityClass, repoClass) -> {
+        if (!GenericUtils.isNumber(returnType)) {
+            throw new MethodNumberReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Searches the lowest value of the aggregated field of all entities with the given filters.
+     */
+    MIN("min", (method, returnType, entityClass, repoClass) -> {
+        if (!GenericUtils.isNumber(returnType)) {
+            throw new MethodNumberReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Searches the highest value of the aggregated field of all entities with the given filters.
+     */
+    MAX("max", (method, returnType, entityClass, repoClass) -> {
+        if (!GenericUtils.isNumber(returnType)) {
+            throw new MethodNumberReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Counts all entities with the given filters, grouped by the values of the aggregated field.
+     */
+    COUNT_GROUPED("countGroupedBy", (method, returnType, entityClass, repoClass) -> {
+        if (GenericUtils.isNotTypeOf(Map.class, returnType)) {
+            throw new MethodMapReturnTypeException(method, repoClass);
+        }
     });
 
     public static final MethodOperator[] VALUES = MethodOperator.values();
@@ -100,6 +141,17 @@ public enum MethodOperator {
         return textWithOperator.replaceFirst(getKeyword(), "");
     }
 
+    /**
+     * Checks if the method operator aggregates a field on the server, instead of returning entities.
+     * The aggregated field is declared between the method operator and the optional "By" keyword,
+     * e.g. "sumBalanceByCustomerId" or "countGroupedByCustomerType".
+     *
+     * @return true, if the method operator is an aggregation
+     */
+    public boolean isAggregation() {
+        return this == SUM || this == AVERAGE || this == MIN || this == MAX || this == COUNT_GROUPED;
+    }
+
     /**
      * Validates the return type of the specific method operator, using the given parameters.
      *
@@ -0,0 +1,30 @@
+package eu.koboo.en2do.internal.methods.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * Represents the fields of an entity for the MethodNameParser. The runtime uses the fields of the reflection,
+ * the RepositoryProcessor uses the elements of the compiler.
+ *
+ * @param <F> The type, which represents a field
+ */
+public interface FieldModel<F> {
+
+    /**
+     * @param field The field
+     * @return The name of the field
+     */
+    @NotNull String getName(@NotNull F field);
+
+    /**
+     * Returns the fields of the embedded type of the field. Collections and arrays are resolved
+     * to their element type, because MongoDB queries the fields of every element by the same path.
+     *
+     * @param field The field, which could contain an embedded type
+     * @return The fields of the embedded type, or null if the field doesn't contain an embedded type.
+     */
+    @Nullable Collection<F> getEmbeddedFields(@NotNull F field);
+}
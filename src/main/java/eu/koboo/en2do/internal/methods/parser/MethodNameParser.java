@@ -0,0 +1,360 @@
+package eu.koboo.en2do.internal.methods.parser;
+
+import eu.koboo.en2do.internal.methods.operators.FilterOperator;
+import eu.koboo.en2do.internal.methods.operators.MethodOperator;
+import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.repository.methods.sort.Sort;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the names of the repository methods. The rules are used by MongoManager.create and by the
+ * RepositoryProcessor, so the validation at runtime and at compile time can't differ.
+ * The fields of the entity are accessed by a FieldModel, so the parser doesn't depend on reflection.
+ *
+ * @param <F> The type, which represents a field
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MethodNameParser<F> {
+
+    // Predefined methods by Java objects
+    // These methods are ignored by our method processing proxy / invocation handler.
+    private static final List<String> IGNORED_DEFAULT_METHODS = Arrays.asList(
+        "notify", "notifyAll", "wait", "finalize", "clone"
+    );
+
+    // The chain keywords have to be followed by the next field, which starts with an uppercase letter.
+    // Otherwise, field names like "orders" or "android" would be split.
+    private static final Pattern AND_CHAIN_PATTERN = Pattern.compile("And(?=[A-Z])");
+    private static final Pattern OR_CHAIN_PATTERN = Pattern.compile("Or(?=[A-Z])");
+
+    private static final String ASYNC_KEYWORD = "async";
+    private static final String AGGREGATION_KEYWORD = "By";
+    private static final String NOT_KEYWORD = "Not";
+
+    FieldModel<F> fieldModel;
+    Collection<F> entityFields;
+
+    public MethodNameParser(@NotNull FieldModel<F> fieldModel, @NotNull Collection<F> entityFields) {
+        this.fieldModel = fieldModel;
+        this.entityFields = entityFields;
+    }
+
+    /**
+     * @param methodName The name of the method
+     * @return true, if the method is declared by java.lang.Object and isn't handled by the repository.
+     */
+    public static boolean isIgnoredMethod(@NotNull String methodName) {
+        return IGNORED_DEFAULT_METHODS.contains(methodName);
+    }
+
+    /**
+     * @param methodName The name of the method
+     * @return true, if the method starts with the "async" keyword, which is reserved for the predefined methods.
+     */
+    public static boolean isAsyncName(@NotNull String methodName) {
+        return methodName.startsWith(ASYNC_KEYWORD);
+    }
+
+    /**
+     * Removes the "async" keyword, e.g. "asyncFindFirstById" resolves to "findFirstById".
+     *
+     * @param asyncName The name of the async method
+     * @return The name of the predefined method
+     */
+    public static @NotNull String getPredefinedNameByAsyncName(@NotNull String asyncName) {
+        String predefinedName = asyncName.replaceFirst(ASYNC_KEYWORD, "");
+        return predefinedName.substring(0, 1).toLowerCase(Locale.ROOT) + predefinedName.substring(1);
+    }
+
+    /**
+     * @param methodNameWithoutOperator The name of the method without the method operator
+     * @return true, if the filters are chained by "And" and "Or", which isn't allowed in one method.
+     */
+    public static boolean isMixedChain(@NotNull String methodNameWithoutOperator) {
+        return isAndChain(methodNameWithoutOperator) && isOrChain(methodNameWithoutOperator);
+    }
+
+    /**
+     * @param methodNameWithoutOperator The name of the method without the method operator
+     * @return true, if the filters are chained by "And".
+     */
+    public static boolean isAndChain(@NotNull String methodNameWithoutOperator) {
+        return AND_CHAIN_PATTERN.matcher(methodNameWithoutOperator).find();
+    }
+
+    /**
+     * @param methodNameWithoutOperator The name of the method without the method operator
+     * @return true, if the filters are chained by "Or".
+     */
+    public static boolean isOrChain(@NotNull String methodNameWithoutOperator) {
+        return OR_CHAIN_PATTERN.matcher(methodNameWithoutOperator).find();
+    }
+
+    /**
+     * Splits the filter parts of the method by the "And" or "Or" keywords.
+     *
+     * @param methodNameWithoutOperator The name of the method without the method operator and aggregated field
+     * @return The filter parts, which is empty, if the method doesn't have any filter.
+     */
+    public static @NotNull String[] splitFilterParts(@NotNull String methodNameWithoutOperator) {
+        if (methodNameWithoutOperator.isEmpty()) {
+            // Only aggregations are allowed without any filter.
+            return new String[0];
+        }
+        if (isAndChain(methodNameWithoutOperator)) {
+            return AND_CHAIN_PATTERN.split(methodNameWithoutOperator);
+        }
+        return OR_CHAIN_PATTERN.split(methodNameWithoutOperator);
+    }
+
+    /**
+     * Aggregations declare the aggregated field in front of the optional "By" keyword, e.g. "sumBalanceByCustomerId".
+     * The field name could contain "By" itself, e.g. "boughtByCount", so the longest field name is used,
+     * which is followed by the "By" keyword or the end of the method name.
+     *
+     * @param methodNameWithoutOperator The name of the method without the method operator
+     * @return The aggregated field, or null if no field matches.
+     */
+    public @Nullable F findAggregationField(@NotNull String methodNameWithoutOperator) {
+        F aggregationField = null;
+        int aggregationFieldLength = -1;
+        for (F field : entityFields) {
+            String fieldName = fieldModel.getName(field);
+            if (!methodNameWithoutOperator.regionMatches(true, 0, fieldName, 0, fieldName.length())) {
+                continue;
+            }
+            boolean endsName = methodNameWithoutOperator.length() == fieldName.length();
+            boolean followedByKeyword = methodNameWithoutOperator.startsWith(AGGREGATION_KEYWORD, fieldName.length());
+            if (!endsName && !followedByKeyword) {
+                continue;
+            }
+            if (fieldName.length() > aggregationFieldLength) {
+                aggregationField = field;
+                aggregationFieldLength = fieldName.length();
+            }
+        }
+        return aggregationField;
+    }
+
+    /**
+     * @param methodNameWithoutOperator The name of the method without the method operator
+     * @return The name of the aggregated field as it's written in the method name, which is used in errors,
+     * if "findAggregationField" didn't find any field.
+     */
+    public static @NotNull String getAggregationFieldName(@NotNull String methodNameWithoutOperator) {
+        return methodNameWithoutOperator.split(AGGREGATION_KEYWORD, 2)[0];
+    }
+
+    /**
+     * @param methodNameWithoutOperator The name of the method without the method operator
+     * @param aggregationFieldName      The name of the aggregated field
+     * @return The filters of the aggregation, which follow the "By" keyword.
+     */
+    public static @NotNull String removeAggregationField(@NotNull String methodNameWithoutOperator,
+                                                         @NotNull String aggregationFieldName) {
+        int filterStart = aggregationFieldName.length();
+        if (filterStart >= methodNameWithoutOperator.length()) {
+            return "";
+        }
+        return methodNameWithoutOperator.substring(filterStart + AGGREGATION_KEYWORD.length());
+    }
+
+    /**
+     * Parses the operator, the negation and the field of one filter part, e.g. "CustomerIdNotIn".
+     *
+     * @param filterPartString The filter part of the method name
+     * @return The parsed filter part, which has no field path, if no field matches.
+     */
+    public @NotNull ParsedFilterPart<F> parseFilterPart(@NotNull String filterPartString) {
+        FilterOperator filterOperator = FilterOperator.parseFilterEndsWith(filterPartString);
+        String expectedFieldName = filterOperator.removeOperatorFrom(filterPartString);
+        boolean notFilter = false;
+        if (expectedFieldName.endsWith(NOT_KEYWORD)) {
+            expectedFieldName = expectedFieldName.substring(0, expectedFieldName.length() - NOT_KEYWORD.length());
+            notFilter = true;
+        }
+        // The field could also be part of an embedded type, e.g. "AddressCity" resolves to "address.city".
+        List<F> fieldPath = findFieldPathByName(expectedFieldName);
+        if (fieldPath == null && filterOperator != FilterOperator.EQUALS && !notFilter) {
+            // Field names could end with the keyword of an operator, e.g. "fileSize" or "checkIn".
+            // If no field matches without the keyword, the whole name is checked for an equality filter.
+            List<F> equalsFieldPath = findFieldPathByName(filterPartString);
+            if (equalsFieldPath != null) {
+                fieldPath = equalsFieldPath;
+                filterOperator = FilterOperator.EQUALS;
+            }
+        }
+        return new ParsedFilterPart<>(filterOperator, notFilter, expectedFieldName, fieldPath);
+    }
+
+    /**
+     * Resolves the name of a field from a method name, which could also be the path to a field
+     * of an embedded type, e.g. "AddressCity" resolves to the fields "address" and "city".
+     * Fields of the entity are always preferred over fields of embedded types.
+     *
+     * @param fieldName The field name, which should be resolved
+     * @return The List with all fields of the path, if found. If not found, it returns "null"
+     */
+    public @Nullable List<F> findFieldPathByName(@NotNull String fieldName) {
+        return findFieldPathByName(fieldModel, fieldName, entityFields);
+    }
+
+    /**
+     * Resolves a dot-notated path, e.g. "address.city", to the fields of the path.
+     *
+     * @param dotPath The dot-notated path of the field
+     * @return The List with all fields of the path, if found. If not found, it returns "null"
+     */
+    public @Nullable List<F> findFieldPathByDotPath(@NotNull String dotPath) {
+        return findFieldPathByDotPath(fieldModel, dotPath, entityFields);
+    }
+
+    /**
+     * Validates the parameter count of a method. The last parameter could be a Sort, Pagination
+     * or UpdateBatch object, which isn't counted by the filters.
+     *
+     * @param methodOperator         The operator of the method
+     * @param expectedParameterCount The amount of parameters, which are expected by the filters
+     * @param methodParameterCount   The amount of parameters of the method
+     * @param lastParameterAccepts   Checks if the last parameter accepts objects of the given class
+     * @return The violation, or null if the parameters are valid.
+     */
+    public static @Nullable ParameterViolation checkParameterCount(@NotNull MethodOperator methodOperator,
+                                                                   int expectedParameterCount,
+                                                                   int methodParameterCount,
+                                                                   @NotNull Predicate<Class<?>> lastParameterAccepts) {
+        // If the method is a pageBy, it needs at least one parameter of type Pagination
+        if (methodOperator == MethodOperator.PAGE && methodParameterCount == 0) {
+            return new ParameterViolation(ParameterViolation.Type.PAGE_REQUIRED, 1, methodParameterCount);
+        }
+        if (expectedParameterCount == methodParameterCount) {
+            return null;
+        }
+        if (methodParameterCount == 0) {
+            return new ParameterViolation(ParameterViolation.Type.PARAMETER_COUNT, expectedParameterCount,
+                methodParameterCount);
+        }
+        int expectedWithObject = expectedParameterCount + 1;
+        if (lastParameterAccepts.test(Sort.class)) {
+            if (methodOperator == MethodOperator.PAGE) {
+                return new ParameterViolation(ParameterViolation.Type.SORT_NOT_ALLOWED, expectedWithObject,
+                    methodParameterCount);
+            }
+            if (expectedWithObject != methodParameterCount) {
+                return new ParameterViolation(ParameterViolation.Type.PARAMETER_COUNT, expectedWithObject,
+                    methodParameterCount);
+            }
+        }
+        if (lastParameterAccepts.test(Pagination.class)) {
+            if (methodOperator != MethodOperator.PAGE) {
+                return new ParameterViolation(ParameterViolation.Type.PAGE_NOT_ALLOWED, expectedWithObject,
+                    methodParameterCount);
+            }
+            if (expectedWithObject != methodParameterCount) {
+                return new ParameterViolation(ParameterViolation.Type.PARAMETER_COUNT, expectedWithObject,
+                    methodParameterCount);
+            }
+        }
+        if (lastParameterAccepts.test(UpdateBatch.class)) {
+            if (methodOperator != MethodOperator.UPDATE_FIELD) {
+                return new ParameterViolation(ParameterViolation.Type.BATCH_NOT_ALLOWED, expectedWithObject,
+                    methodParameterCount);
+            }
+            if (expectedWithObject != methodParameterCount) {
+                return new ParameterViolation(ParameterViolation.Type.PARAMETER_COUNT, expectedWithObject,
+                    methodParameterCount);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches a field by its name, ignoring the case.
+     *
+     * @param fieldModel The model of the fields
+     * @param fieldName  The field name, which should be searched
+     * @param fields     The fields, which should be iterated through
+     * @param <F>        The type, which represents a field
+     * @return The field, if found. If not found, it returns "null"
+     */
+    public static <F> @Nullable F findFieldByName(@NotNull FieldModel<F> fieldModel, @NotNull String fieldName,
+                                                  @NotNull Collection<F> fields) {
+        for (F field : fields) {
+            if (fieldModel.getName(field).equalsIgnoreCase(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @see MethodNameParser#findFieldPathByName(String)
+     */
+    public static <F> @Nullable List<F> findFieldPathByName(@NotNull FieldModel<F> fieldModel, @NotNull String fieldName,
+                                                            @NotNull Collection<F> fields) {
+        F field = findFieldByName(fieldModel, fieldName, fields);
+        if (field != null) {
+            List<F> fieldPath = new LinkedList<>();
+            fieldPath.add(field);
+            return fieldPath;
+        }
+        for (F pathField : fields) {
+            String pathFieldName = fieldModel.getName(pathField);
+            if (fieldName.length() <= pathFieldName.length()) {
+                continue;
+            }
+            if (!fieldName.regionMatches(true, 0, pathFieldName, 0, pathFieldName.length())) {
+                continue;
+            }
+            // The name of the embedded field has to start with an uppercase letter, like every other part.
+            if (!Character.isUpperCase(fieldName.charAt(pathFieldName.length()))) {
+                continue;
+            }
+            Collection<F> embeddedFields = fieldModel.getEmbeddedFields(pathField);
+            if (embeddedFields == null) {
+                continue;
+            }
+            List<F> fieldPath = findFieldPathByName(fieldModel, fieldName.substring(pathFieldName.length()),
+                embeddedFields);
+            if (fieldPath == null) {
+                continue;
+            }
+            fieldPath.add(0, pathField);
+            return fieldPath;
+        }
+        return null;
+    }
+
+    /**
+     * @see MethodNameParser#findFieldPathByDotPath(String)
+     */
+    public static <F> @Nullable List<F> findFieldPathByDotPath(@NotNull FieldModel<F> fieldModel, @NotNull String dotPath,
+                                                               @NotNull Collection<F> fields) {
+        List<F> fieldPath = new LinkedList<>();
+        Collection<F> currentFields = fields;
+        String[] pathSegments = dotPath.split("\\.");
+        for (int i = 0; i < pathSegments.length; i++) {
+            F field = findFieldByName(fieldModel, pathSegments[i], currentFields);
+            if (field == null) {
+                return null;
+            }
+            fieldPath.add(field);
+            if (i == pathSegments.length - 1) {
+                break;
+            }
+            currentFields = fieldModel.getEmbeddedFields(field);
+            if (currentFields == null) {
+                return null;
+            }
+        }
+        return fieldPath;
+    }
+}
@@ -0,0 +1,28 @@
+package eu.koboo.en2do.internal.methods.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Represents a violation of the parameter rules of a method, which is thrown as exception at runtime
+ * and reported as compiler error by the RepositoryProcessor.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ParameterViolation {
+
+    Type type;
+    int expectedCount;
+    int actualCount;
+
+    public enum Type {
+        PAGE_REQUIRED,
+        SORT_NOT_ALLOWED,
+        PAGE_NOT_ALLOWED,
+        BATCH_NOT_ALLOWED,
+        PARAMETER_COUNT
+    }
+}
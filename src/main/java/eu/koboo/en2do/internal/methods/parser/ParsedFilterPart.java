@@ -0,0 +1,29 @@
+package eu.koboo.en2do.internal.methods.parser;
+
+import eu.koboo.en2do.internal.methods.operators.FilterOperator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Represents one filter part of a method name, e.g. "CustomerIdNotIn", after it was parsed.
+ *
+ * @param <F> The type, which represents a field
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ParsedFilterPart<F> {
+
+    FilterOperator operator;
+    boolean notFilter;
+    // The name of the field, as it's written in the method name.
+    String expectedFieldName;
+    // The fields of the path to the filtered field, or null if no field matches.
+    @Nullable
+    List<F> fieldPath;
+}
@@ -0,0 +1,30 @@
+package eu.koboo.en2do.internal.methods.parser;
+
+import eu.koboo.en2do.utility.FieldUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+
+/**
+ * Represents the fields of an entity by the reflection, which is used at runtime.
+ */
+public class ReflectionFieldModel implements FieldModel<Field> {
+
+    public static final ReflectionFieldModel INSTANCE = new ReflectionFieldModel();
+
+    @Override
+    public @NotNull String getName(@NotNull Field field) {
+        return field.getName();
+    }
+
+    @Override
+    public @Nullable Collection<Field> getEmbeddedFields(@NotNull Field field) {
+        Class<?> embeddedClass = FieldUtils.getEmbeddedType(field);
+        if (embeddedClass == null) {
+            return null;
+        }
+        return FieldUtils.collectFields(embeddedClass);
+    }
+}
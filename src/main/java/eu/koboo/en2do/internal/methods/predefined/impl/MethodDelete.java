@@ -23,6 +23,7 @@ public class MethodDelete<E, ID, R extends Repository<E, ID>> extends Predefined
         ID uniqueId = repositoryMeta.checkUniqueId(method, repositoryMeta.getUniqueId(entity));
         Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
         DeleteResult result = entityCollection.deleteOne(idFilter);
+        repositoryMeta.onEntityDelete(uniqueId);
         return result.wasAcknowledged();
     }
 }
@@ -25,6 +25,7 @@ public class MethodDeleteAll<E, ID, R extends Repository<E, ID>> extends Predefi
             ID uniqueId = repositoryMeta.checkUniqueId(method, repositoryMeta.getUniqueId(entity));
             Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
             entityCollection.deleteOne(idFilter);
+            repositoryMeta.onEntityDelete(uniqueId);
         }
         return true;
     }
@@ -22,6 +22,7 @@ public class MethodDeleteById<E, ID, R extends Repository<E, ID>> extends Predef
         ID uniqueId = repositoryMeta.checkUniqueId(method, arguments[0]);
         Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
         DeleteResult result = entityCollection.deleteOne(idFilter);
+        repositoryMeta.onEntityDelete(uniqueId);
         return result.wasAcknowledged();
     }
 }
@@ -18,6 +18,7 @@ public class MethodDrop<E, ID, R extends Repository<E, ID>> extends PredefinedMe
     @Override
     public @Nullable Object handle(@NotNull Method method, @NotNull Object[] arguments) throws Exception {
         entityCollection.drop();
+        repositoryMeta.onCollectionWrite();
         return true;
     }
 }
@@ -2,6 +2,7 @@ package eu.koboo.en2do.internal.methods.predefined.impl;
 
 import com.mongodb.client.MongoCollection;
 import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.internal.cache.EntityCacheStore;
 import eu.koboo.en2do.internal.methods.predefined.PredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
 import org.bson.conversions.Bson;
@@ -20,7 +21,18 @@ public class MethodExists<E, ID, R extends Repository<E, ID>> extends Predefined
     public @Nullable Object handle(@NotNull Method method, @NotNull Object[] arguments) throws Exception {
         E entity = repositoryMeta.checkEntity(method, arguments[0]);
         ID uniqueId = repositoryMeta.checkUniqueId(method, repositoryMeta.getUniqueId(entity));
+        EntityCacheStore<ID, E> entityCache = repositoryMeta.getEntityCache();
+        if (entityCache != null && entityCache.contains(uniqueId)) {
+            return true;
+        }
+        if (repositoryMeta.isUniqueIdAbsent(uniqueId)) {
+            return false;
+        }
         Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
-        return entityCollection.countDocuments(idFilter) > 0;
+        if (entityCollection.countDocuments(idFilter) > 0) {
+            return true;
+        }
+        repositoryMeta.onUniqueIdMissing();
+        return false;
     }
 }
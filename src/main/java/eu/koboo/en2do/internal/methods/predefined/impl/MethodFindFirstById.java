@@ -3,6 +3,7 @@ package eu.koboo.en2do.internal.methods.predefined.impl;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.internal.cache.EntityCacheStore;
 import eu.koboo.en2do.internal.methods.predefined.PredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
 import org.bson.conversions.Bson;
@@ -20,8 +21,28 @@ public class MethodFindFirstById<E, ID, R extends Repository<E, ID>> extends Pre
     @Override
     public @Nullable Object handle(@NotNull Method method, @NotNull Object[] arguments) throws Exception {
         ID uniqueId = repositoryMeta.checkUniqueId(method, arguments[0]);
+        EntityCacheStore<ID, E> entityCache = repositoryMeta.getEntityCache();
+        long cacheGeneration = 0;
+        if (entityCache != null) {
+            E cachedEntity = entityCache.get(uniqueId);
+            if (cachedEntity != null) {
+                return cachedEntity;
+            }
+            cacheGeneration = entityCache.getGeneration();
+        }
+        if (repositoryMeta.isUniqueIdAbsent(uniqueId)) {
+            return null;
+        }
         Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
         FindIterable<E> findIterable = repositoryMeta.createIterable(idFilter, methodName);
-        return findIterable.limit(1).first();
+        E entity = findIterable.limit(1).first();
+        if (entity == null) {
+            repositoryMeta.onUniqueIdMissing();
+            return null;
+        }
+        if (entityCache != null) {
+            entityCache.putIfUnchanged(uniqueId, entity, cacheGeneration);
+        }
+        return entity;
     }
 }
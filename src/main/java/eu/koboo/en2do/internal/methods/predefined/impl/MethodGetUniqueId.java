@@ -18,7 +18,7 @@ public class MethodGetUniqueId<E, ID, R extends Repository<E, ID>> extends Prede
     @Override
     public @Nullable Object handle(@NotNull Method method, @NotNull Object[] arguments) throws Exception {
         E entity = repositoryMeta.checkEntity(method, arguments[0]);
-        Object identifier = repositoryMeta.getEntityUniqueIdField().get(entity);
+        Object identifier = repositoryMeta.getUniqueId(entity);
         return repositoryMeta.checkUniqueId(method, identifier);
     }
 }
@@ -29,11 +29,24 @@ public class MethodSave<E, ID, R extends Repository<E, ID>> extends PredefinedMe
         E entity = repositoryMeta.checkEntity(method, arguments[0]);
         ID uniqueId = repositoryMeta.checkUniqueId(method, repositoryMeta.getUniqueId(entity));
         Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
+        // The existence check is skipped, if the unique id is definitely unknown.
+        // The bloom filter could miss an unique id, which was just inserted by another application,
+        // so the entity is upserted instead of inserted, which takes the same single round trip.
+        if (repositoryMeta.isUniqueIdAbsent(uniqueId)) {
+            repositoryMeta.onEntityInsert(uniqueId);
+            UpdateResult result = entityCollection.replaceOne(idFilter, entity, replaceOptions);
+            repositoryMeta.onEntityWrite(uniqueId);
+            return result.wasAcknowledged();
+        }
         if (entityCollection.countDocuments(idFilter) > 0) {
             UpdateResult result = entityCollection.replaceOne(idFilter, entity, replaceOptions);
+            repositoryMeta.onEntityWrite(uniqueId);
             return result.wasAcknowledged();
         }
+        repositoryMeta.onUniqueIdMissing();
+        repositoryMeta.onEntityInsert(uniqueId);
         entityCollection.insertOne(entity);
+        repositoryMeta.onEntityWrite(uniqueId);
         return true;
     }
 }
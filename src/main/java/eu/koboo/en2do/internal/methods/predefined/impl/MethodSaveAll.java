@@ -1,7 +1,9 @@
 package eu.koboo.en2do.internal.methods.predefined.impl;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import eu.koboo.en2do.internal.RepositoryMeta;
 import eu.koboo.en2do.internal.methods.predefined.PredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
@@ -32,21 +34,53 @@ public class MethodSaveAll<E, ID, R extends Repository<E, ID>> extends Predefine
             return true;
         }
         List<E> insertList = new ArrayList<>();
+        List<ID> insertIdList = new ArrayList<>();
+        List<WriteModel<E>> upsertList = new ArrayList<>();
+        List<E> upsertEntityList = new ArrayList<>();
+        List<ID> upsertIdList = new ArrayList<>();
         // Iterate through entities and check if it already exists by unique identifier.
         for (E entity : entityList) {
             ID uniqueId = repositoryMeta.checkUniqueId(method, repositoryMeta.getUniqueId(entity));
             Bson idFilter = repositoryMeta.createIdFilter(uniqueId);
+            // The existence check is skipped, if the unique id is definitely unknown.
+            // The bloom filter could miss an unique id, which was just inserted by another application,
+            // so these entities are upserted instead of inserted.
+            if (repositoryMeta.isUniqueIdAbsent(uniqueId)) {
+                upsertList.add(new ReplaceOneModel<>(idFilter, entity, replaceOptions));
+                upsertEntityList.add(entity);
+                upsertIdList.add(uniqueId);
+                continue;
+            }
             if (entityCollection.countDocuments(idFilter) > 0) {
                 // Entity exists, so we want to update the existing document.
                 entityCollection.replaceOne(idFilter, entity, replaceOptions);
+                repositoryMeta.onEntityWrite(uniqueId);
                 continue;
             }
+            repositoryMeta.onUniqueIdMissing();
             // Entity doesn't exist, so we want to insert a new document.
             insertList.add(entity);
+            insertIdList.add(uniqueId);
         }
         // Using "insertMany" should speed up inserting performance drastically
         if (!insertList.isEmpty()) {
+            for (ID uniqueId : insertIdList) {
+                repositoryMeta.onEntityInsert(uniqueId);
+            }
             entityCollection.insertMany(insertList);
+            for (int i = 0; i < insertList.size(); i++) {
+                repositoryMeta.onEntityWrite(insertIdList.get(i));
+            }
+        }
+        // All upserts are sent by one command.
+        if (!upsertList.isEmpty()) {
+            for (ID uniqueId : upsertIdList) {
+                repositoryMeta.onEntityInsert(uniqueId);
+            }
+            entityCollection.bulkWrite(upsertList);
+            for (int i = 0; i < upsertEntityList.size(); i++) {
+                repositoryMeta.onEntityWrite(upsertIdList.get(i));
+            }
         }
         return true;
     }
@@ -29,6 +29,7 @@ public class MethodUpdateAllFields<E, ID, R extends Repository<E, ID>> extends P
         UpdateResult result = collection.updateMany(repositoryMeta.createIdExistsFilter(),
             repositoryMeta.createUpdateDocument(updateBatch),
             new UpdateOptions().upsert(false));
+        repositoryMeta.onCollectionWrite();
         return result.wasAcknowledged();
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package eu.koboo.en2do.internal.scan;
+
+import eu.koboo.en2do.internal.exception.repository.RepositoryScanException;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Finds the repositories of a package and its sub packages on the classpath.
+ * Directories and jar files are scanned. Only interfaces, which extend the Repository and are annotated
+ * with @Collection, are repositories. The classes are loaded without being initialized.
+ */
+@UtilityClass
+public class RepositoryScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * Scans the package and its sub packages for repositories.
+     *
+     * @param packageName The name of the package, e.g. "com.example.repository"
+     * @param classLoader The class loader, which loads the classes of the package
+     * @return The classes of the found repositories, sorted by their names
+     * @throws RepositoryScanException if the classpath couldn't be read
+     */
+    public @NotNull List<Class<? extends Repository<?, ?>>> scan(@NotNull String packageName,
+                                                                @NotNull ClassLoader classLoader)
+        throws RepositoryScanException {
+        String packagePath = packageName.replace('.', '/');
+        // The class names are sorted, so the repositories are found in the same order on every start.
+        Set<String> classNameSet = new TreeSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(packagePath);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                if (resource.getProtocol().equals("file")) {
+                    scanDirectory(Paths.get(resource.toURI()), packageName, classNameSet);
+                    continue;
+                }
+                URLConnection connection = resource.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    // The cache is disabled, so closing the jar file doesn't close it for the class loader.
+                    JarURLConnection jarConnection = (JarURLConnection) connection;
+                    jarConnection.setUseCaches(false);
+                    try (JarFile jarFile = jarConnection.getJarFile()) {
+                        scanJarFile(jarFile, packagePath, classNameSet);
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new RepositoryScanException(packageName, e);
+        }
+
+        List<Class<? extends Repository<?, ?>>> repositoryClassList = new ArrayList<>();
+        for (String className : classNameSet) {
+            Class<? extends Repository<?, ?>> repositoryClass = loadRepositoryClass(className, classLoader);
+            if (repositoryClass != null) {
+                repositoryClassList.add(repositoryClass);
+            }
+        }
+        return repositoryClassList;
+    }
+
+    private void scanDirectory(@NotNull Path directory, @NotNull String packageName,
+                               @NotNull Set<String> classNameSet) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> pathStream = Files.walk(directory)) {
+            pathStream.filter(path -> path.getFileName().toString().endsWith(CLASS_SUFFIX))
+                .forEach(path -> {
+                    String relativeName = directory.relativize(path).toString()
+                        .replace(path.getFileSystem().getSeparator(), ".");
+                    String className = packageName.isEmpty() ? relativeName : packageName + "." + relativeName;
+                    addClassName(className, classNameSet);
+                });
+        }
+    }
+
+    private void scanJarFile(@NotNull JarFile jarFile, @NotNull String packagePath,
+                             @NotNull Set<String> classNameSet) {
+        String entryPrefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String entryName = entries.nextElement().getName();
+            if (entryName.startsWith(entryPrefix) && entryName.endsWith(CLASS_SUFFIX)) {
+                addClassName(entryName.replace('/', '.'), classNameSet);
+            }
+        }
+    }
+
+    private void addClassName(@NotNull String fileName, @NotNull Set<String> classNameSet) {
+        String className = fileName.substring(0, fileName.length() - CLASS_SUFFIX.length());
+        if (className.endsWith("package-info") || className.endsWith("module-info")) {
+            return;
+        }
+        classNameSet.add(className);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends Repository<?, ?>> loadRepositoryClass(@NotNull String className,
+                                                                  @NotNull ClassLoader classLoader) {
+        Class<?> foundClass;
+        try {
+            foundClass = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Classes with missing optional dependencies can't be repositories of this application.
+            return null;
+        }
+        if (!foundClass.isInterface() || !Repository.class.isAssignableFrom(foundClass)
+            || !foundClass.isAnnotationPresent(Collection.class)) {
+            return null;
+        }
+        return (Class<? extends Repository<?, ?>>) foundClass;
+    }
+}
@@ -0,0 +1,49 @@
+package eu.koboo.en2do.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Represents a snapshot of the statistics of a bloom filter.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BloomFilterStats {
+
+    long bitCount;
+    int hashFunctionCount;
+    long setBitCount;
+    long negativeCount;
+    long falsePositiveCount;
+
+    /**
+     * @return The memory of the bits of the filter in bytes.
+     */
+    public long getMemoryBytes() {
+        return bitCount / Byte.SIZE;
+    }
+
+    /**
+     * @return The estimated probability, that an unknown unique id isn't filtered, by the current fill of the filter.
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow((double) setBitCount / bitCount, hashFunctionCount);
+    }
+
+    /**
+     * @return The ratio of unknown unique ids, which weren't filtered and had to be queried,
+     * or 0.0 if there weren't any unknown unique ids.
+     */
+    public double getObservedFalsePositiveRate() {
+        long absentCount = negativeCount + falsePositiveCount;
+        if (absentCount == 0) {
+            return 0.0;
+        }
+        return (double) falsePositiveCount / absentCount;
+    }
+}
@@ -0,0 +1,33 @@
+package eu.koboo.en2do.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Represents a snapshot of the statistics of a cache.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CacheStats {
+
+    long hitCount;
+    long missCount;
+    long evictionCount;
+    long size;
+
+    /**
+     * @return The ratio of hits to all requests, or 1.0 if there weren't any requests.
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        if (requestCount == 0) {
+            return 1.0;
+        }
+        return (double) hitCount / requestCount;
+    }
+}
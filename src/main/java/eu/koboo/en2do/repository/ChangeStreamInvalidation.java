@@ -0,0 +1,25 @@
+package eu.koboo.en2do.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation opens a change stream on the collection of the annotated repository, which removes
+ * entities from the local caches, as soon as they're modified by any application.
+ * It's only used if the repository is annotated with @EntityCache, @Preload or @IdBloomFilter,
+ * or has methods annotated with @CacheResult. The bloom filter learns the unique ids, which are inserted
+ * by other applications, from the change stream.
+ * Change streams require a replica set, a single-node replica set is sufficient.
+ * The resume token is persisted, so a reopened change stream continues after the last received change.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ChangeStreamInvalidation {
+
+    /**
+     * @return The name of the collection, in which the resume tokens are persisted.
+     */
+    String resumeTokenCollection() default "en2do_resume_tokens";
+}
@@ -0,0 +1,47 @@
+package eu.koboo.en2do.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This annotation enables a size-bounded cache of the decoded entities of the annotated repository.
+ * The cache is used by "findFirstById", "existsById" and "exists". It's filled by "findFirstById" and every write
+ * of the repository removes the written entities, so they're loaded from the database again on the next lookup.
+ * Entities, which are written by other applications, are only refreshed after they expire.
+ * CAUTION: The cached instances are shared, so they should only be modified to save them afterward.
+ * If "offHeapBytes" is set, the entities are cached as encoded BSON in direct memory instead,
+ * so every hit decodes a new instance.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EntityCache {
+
+    /**
+     * @return The maximum amount of cached entities.
+     */
+    int maxEntries() default 10_000;
+
+    /**
+     * @return The time after the last write, until an entity expires. Zero disables the expiration.
+     */
+    long expireAfterWrite() default 0;
+
+    /**
+     * @return The time after the last access, until an entity expires. Zero disables the expiration.
+     */
+    long expireAfterAccess() default 0;
+
+    /**
+     * @return The unit of the expiration times.
+     */
+    TimeUnit time() default TimeUnit.SECONDS;
+
+    /**
+     * @return The maximum amount of direct memory in bytes, which holds the encoded entities.
+     * Zero keeps the decoded entities on the heap.
+     */
+    long offHeapBytes() default 0;
+}
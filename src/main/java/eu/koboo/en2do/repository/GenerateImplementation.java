@@ -0,0 +1,19 @@
+package eu.koboo.en2do.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation creates the annotated repository as generated class instead of a java.lang.reflect.Proxy.
+ * Every method of the generated class calls the handler of the method directly, without looking it up
+ * on every call, so the JIT can inline the calls of frequently used methods.
+ * The repository behaves the same as the proxy, including the thrown exceptions.
+ * If the class can't be generated, e.g. because the repository interface is private,
+ * a warning is logged and the repository is created as proxy.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateImplementation {
+}
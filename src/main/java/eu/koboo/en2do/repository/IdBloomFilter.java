@@ -0,0 +1,32 @@
+package eu.koboo.en2do.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation enables a bloom filter of all unique ids of the annotated repository.
+ * It's filled with the unique ids of all entities, when the repository is created, and with every saved entity.
+ * If the filter definitely doesn't contain an unique id, "existsById", "exists" and "findFirstById"
+ * are answered without a query and "save" upserts the entity, without checking if it exists.
+ * The repository has to be annotated with @ChangeStreamInvalidation, so entities, which are inserted by other
+ * applications, are known. If the change stream can't be opened, e.g. on a standalone server, or changes were missed,
+ * the filter is disabled and a warning is logged. Deleted unique ids stay in the filter, until the repository
+ * is created again.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IdBloomFilter {
+
+    /**
+     * @return The expected amount of unique ids, which is used to size the filter.
+     */
+    int expectedEntries() default 100_000;
+
+    /**
+     * @return The probability, that the filter reports an unknown unique id as possibly existing,
+     * if it contains the expected amount of unique ids.
+     */
+    double falsePositiveRate() default 0.01;
+}
@@ -0,0 +1,60 @@
+package eu.koboo.en2do.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents one difference between the declared and the existing indexes of a collection.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IndexChange {
+
+    @NotNull
+    Action action;
+
+    // The keys of the index as json, e.g. {"firstName": 1}
+    @NotNull
+    String keys;
+
+    // The name of the existing index, or null if the index is created.
+    @Nullable
+    String indexName;
+
+    @NotNull
+    String reason;
+
+    public enum Action {
+        /**
+         * The declared index doesn't exist and is built.
+         */
+        CREATE,
+        /**
+         * The options of the existing index changed, so it's dropped and built again.
+         */
+        REBUILD,
+        /**
+         * Only the TTL of the existing index changed, so it's modified in place.
+         */
+        UPDATE_TTL,
+        /**
+         * The existing index is hidden, e.g. because a hidden build was interrupted, so it's unhidden.
+         */
+        UNHIDE,
+        /**
+         * The existing index isn't declared and is dropped.
+         */
+        DROP,
+        /**
+         * The existing index isn't declared, but it's kept, because undeclared indexes aren't dropped.
+         */
+        KEEP
+    }
+}
@@ -0,0 +1,34 @@
+package eu.koboo.en2do.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation configures, how the indexes of the annotated repository are reconciled on start.
+ * The existing indexes are always compared with the declared indexes, so only missing or changed indexes are built
+ * and changed TTLs are modified in place. Without this annotation, the defaults of the options are used.
+ * The result of the reconciliation is returned by MongoManager#getIndexReport.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IndexReconciliation {
+
+    /**
+     * @return true, if the changes are only reported and logged, but not executed.
+     */
+    boolean dryRun() default false;
+
+    /**
+     * @return true, if new indexes are built hidden and only unhidden after all of them are built,
+     * so the query planner doesn't use partially created index sets.
+     */
+    boolean hiddenBuild() default false;
+
+    /**
+     * @return true, if existing indexes, which aren't declared by the entity, are dropped.
+     * CAUTION: This also drops indexes, which were created by other applications or by hand!
+     */
+    boolean dropUndeclared() default false;
+}
@@ -0,0 +1,41 @@
+package eu.koboo.en2do.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represents the result of the index reconciliation of a repository.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IndexReport {
+
+    @NotNull
+    String collectionName;
+
+    // true, if the changes were only planned, but not executed.
+    boolean dryRun;
+
+    @NotNull
+    List<IndexChange> changeList;
+
+    /**
+     * @return true, if any index is created, rebuilt, modified or dropped.
+     */
+    public boolean hasChanges() {
+        for (IndexChange indexChange : changeList) {
+            if (indexChange.getAction() != IndexChange.Action.KEEP) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package eu.koboo.en2do.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This annotation loads all entities of the annotated repository into an immutable snapshot,
+ * when the repository is created. Every dynamic method, which only filters top-level fields by equality,
+ * e.g. "findFirstByName" or "countByTypeAndCategory", is answered by a hash index on the snapshot without a query.
+ * The snapshot is replaced in the background after every refresh interval and after every write through
+ * the repository. Until the new snapshot is loaded, the methods are queried as usual.
+ * It's meant for small, rarely changing collections, e.g. item definitions or configurations.
+ * CAUTION: The snapshot instances are shared, so they should only be modified to save them afterward.
+ * Entities, which are written by other applications, are only refreshed after the refresh interval or
+ * by a change stream, if the repository is annotated with @ChangeStreamInvalidation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Preload {
+
+    /**
+     * @return The time between two refreshes of the snapshot. Zero disables the periodic refresh.
+     */
+    long refreshInterval();
+
+    /**
+     * @return The unit of the refresh interval.
+     */
+    TimeUnit time() default TimeUnit.SECONDS;
+}
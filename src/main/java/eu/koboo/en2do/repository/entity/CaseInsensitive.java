@@ -0,0 +1,17 @@
+package eu.koboo.en2do.repository.entity;
+
+import java.lang.annotation.*;
+
+/**
+ * This annotation creates a case-insensitive index on the annotated field of type "java.lang.String".
+ * The "Ign" filter operator uses the collation of this index on annotated fields, instead of a regex,
+ * so case-insensitive lookups don't need to scan the whole collection.
+ * Keep in mind, that the collation applies to the whole query, so the "Ign" filter falls back to a regex,
+ * if the same method compares other string fields case-sensitive.
+ * The index is named "<field>_ci", and the field can't be indexed by a single field @CompoundIndex at the same time.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface CaseInsensitive {
+}
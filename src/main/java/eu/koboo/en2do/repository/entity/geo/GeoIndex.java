@@ -0,0 +1,22 @@
+package eu.koboo.en2do.repository.entity.geo;
+
+import java.lang.annotation.*;
+
+/**
+ * This annotation creates a "2dsphere" index on a field of type "com.mongodb.client.model.geojson.Point".
+ * The index is required by the "Near" filter operator and speeds up the "WithinRadius" and "WithinBox"
+ * filter operators, so MongoDB filters and orders the entities by their location on the server.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(GeoIndexArray.class)
+public @interface GeoIndex {
+
+    /**
+     * Indicates, which field should be indexed
+     *
+     * @return The name of the field in the entity
+     */
+    String value();
+}
@@ -0,0 +1,17 @@
+package eu.koboo.en2do.repository.entity.geo;
+
+import java.lang.annotation.*;
+
+/**
+ * This annotation is used to create an array of the @GeoIndex annotation.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GeoIndexArray {
+
+    /**
+     * @return The array of the @GeoIndex annotations.
+     */
+    GeoIndex[] value();
+}
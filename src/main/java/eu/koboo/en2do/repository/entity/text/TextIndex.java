@@ -0,0 +1,29 @@
+package eu.koboo.en2do.repository.entity.text;
+
+import java.lang.annotation.*;
+
+/**
+ * This annotation is used to create a text index on the given fields of the entity.
+ * The text index is required to use the "Search" filter operator in repository methods, which
+ * compiles to a "$text" query instead of scanning the whole collection with a regex.
+ * MongoDB allows only one text index per collection, so all searchable fields have to be declared here.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface TextIndex {
+
+    /**
+     * Sets the names of the fields, which should be included in the text index.
+     *
+     * @return The field names, which should be indexed.
+     */
+    String[] value();
+
+    /**
+     * Sets the language, which is used to tokenize and stem the indexed text.
+     *
+     * @return The default language of the text index.
+     */
+    String defaultLanguage() default "english";
+}
@@ -0,0 +1,24 @@
+package eu.koboo.en2do.repository.methods.aggregation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation is used to define an aggregation pipeline for queries, which can't be expressed by the
+ * method name. The method name itself isn't parsed, if this annotation is present.
+ * The parameters of the method are bound to the placeholders "?0", "?1", ... by their index.
+ * Placeholders must not be quoted, e.g. "[{$match: {city: ?0}}, {$sort: {balance: -1}}]".
+ * The method can return a single object, a List or a Stream of the entity or any other decodable type.
+ * Keep in mind, that returned Streams have to be closed to release the cursor.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Aggregation {
+
+    /**
+     * @return The aggregation pipeline as json array.
+     */
+    String value();
+}
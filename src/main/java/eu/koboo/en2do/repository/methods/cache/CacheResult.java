@@ -0,0 +1,35 @@
+package eu.koboo.en2do.repository.methods.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This annotation caches the results of the annotated dynamic method, by the given arguments.
+ * Every write through the same repository invalidates all cached results, while writes of
+ * other applications are only picked up after the results expire.
+ * Concurrent calls with the same arguments are collapsed into one query.
+ * Lists and maps are returned as immutable copies, but the entities in them are shared between all callers.
+ * It's only allowed on methods, which don't modify any entities, e.g. "findManyBy", "countBy" or "sum".
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheResult {
+
+    /**
+     * @return The time after the query, until a cached result expires.
+     */
+    long ttl();
+
+    /**
+     * @return The unit of the ttl value.
+     */
+    TimeUnit time() default TimeUnit.SECONDS;
+
+    /**
+     * @return The maximum amount of cached results, with different arguments.
+     */
+    int maxEntries() default 1_000;
+}
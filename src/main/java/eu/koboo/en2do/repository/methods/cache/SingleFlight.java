@@ -0,0 +1,18 @@
+package eu.koboo.en2do.repository.methods.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation collapses concurrent calls of the annotated dynamic method with the same arguments,
+ * so only the first call queries the database and every other call receives the same result.
+ * If the repository is annotated, it's applied to all methods, which don't modify any entities.
+ * Lists and maps are returned as immutable copies, but the entities in them are shared between all callers.
+ * Methods annotated with @CacheResult already collapse concurrent calls.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface SingleFlight {
+}
@@ -0,0 +1,132 @@
+package eu.koboo.en2do.repository.methods.lazy;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * This list can be used as return type of "findManyBy" methods, to load the entities lazily.
+ * The total count of entities is known on creation, but the entities are fetched in batches,
+ * as soon as they are accessed. While a batch is consumed, the next batch is already prefetched
+ * in the background. Only the current and the prefetched batch are held in memory.
+ * The batches are read from one cursor while the list is accessed sequentially, and the entities are always
+ * sorted by "_id" after the fields of the sort options, so their order is stable.
+ * Keep in mind, that limit and skip of the sort options are controlled by the list itself and
+ * that changes of the collection while iterating can lead to a ConcurrentModificationException.
+ *
+ * @param <E> The generic type of the entity
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LazyList<E> extends AbstractList<E> {
+
+    /**
+     * The amount of entities, which are fetched by one query.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    final int size;
+    final int batchSize;
+    final BatchLoader<E> batchLoader;
+    final Executor executor;
+
+    int currentBatchIndex;
+    List<E> currentBatch;
+    int prefetchBatchIndex;
+    CompletableFuture<List<E>> prefetchFuture;
+
+    public LazyList(long totalCount, int batchSize, @NotNull BatchLoader<E> batchLoader, @NotNull Executor executor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size has to be greater than zero.");
+        }
+        this.size = (int) Math.min(totalCount, Integer.MAX_VALUE);
+        this.batchSize = batchSize;
+        this.batchLoader = batchLoader;
+        this.executor = executor;
+        this.currentBatchIndex = -1;
+        this.prefetchBatchIndex = -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized E get(int index) {
+        Objects.checkIndex(index, size);
+        int batchIndex = index / batchSize;
+        if (batchIndex != currentBatchIndex) {
+            currentBatch = loadBatch(batchIndex);
+            currentBatchIndex = batchIndex;
+            // Sequential access is the most common case, so we prefetch the following batch.
+            prefetch(batchIndex + 1);
+        }
+        int batchOffset = index - (batchIndex * batchSize);
+        if (batchOffset >= currentBatch.size()) {
+            throw new ConcurrentModificationException("The collection was modified while the list was accessed.");
+        }
+        return currentBatch.get(batchOffset);
+    }
+
+    private @NotNull List<E> loadBatch(int batchIndex) {
+        if (prefetchFuture == null || prefetchBatchIndex != batchIndex) {
+            return fetchBatch(batchIndex);
+        }
+        CompletableFuture<List<E>> future = prefetchFuture;
+        prefetchFuture = null;
+        prefetchBatchIndex = -1;
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void prefetch(int batchIndex) {
+        if ((long) batchIndex * batchSize >= size || batchIndex == prefetchBatchIndex) {
+            return;
+        }
+        prefetchBatchIndex = batchIndex;
+        prefetchFuture = CompletableFuture.supplyAsync(() -> fetchBatch(batchIndex), executor);
+    }
+
+    private @NotNull List<E> fetchBatch(int batchIndex) {
+        try {
+            return batchLoader.load(batchIndex * batchSize, batchSize);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * This interface is used to fetch one batch of entities.
+     *
+     * @param <E> The generic type of the entity
+     */
+    @FunctionalInterface
+    public interface BatchLoader<E> {
+
+        /**
+         * Called to fetch the entities of a batch
+         *
+         * @param skip  The amount of entities, which are skipped
+         * @param limit The maximum amount of entities in the batch
+         * @return The List with the entities of the batch
+         * @throws Exception if anything bad happens
+         */
+        @NotNull List<E> load(int skip, int limit) throws Exception;
+    }
+}
@@ -1,6 +1,7 @@
 package eu.koboo.en2do.repository.methods.pagination;
 
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
@@ -14,6 +15,7 @@ import java.util.Map;
  * See documentation: <a href="https://koboo.gitbook.io/en2do/usage/pagination">...</a>
  */
 @Getter
+@EqualsAndHashCode
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class Pagination {
 
@@ -0,0 +1,13 @@
+package eu.koboo.en2do.repository.methods.sort;
+
+import java.lang.annotation.*;
+
+/**
+ * This annotation is used to sort the results of a "Search" filter by their relevance,
+ * so the best matching entities are returned first.
+ * It's applied before any other SortBy annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SortByTextScore {
+}
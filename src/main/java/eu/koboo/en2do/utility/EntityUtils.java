@@ -1,5 +1,6 @@
 package eu.koboo.en2do.utility;
 
+import eu.koboo.en2do.internal.accessor.PropertyAccessor;
 import lombok.experimental.UtilityClass;
 import org.jetbrains.annotations.NotNull;
 
@@ -7,9 +8,11 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A utility class for everything related to entity properties.
@@ -18,6 +21,9 @@ import java.util.List;
 @SuppressWarnings("unused")
 public class EntityUtils {
 
+    // The introspection is only done once per pair of classes, the properties are copied by bound accessors.
+    private final Map<Class<?>, Map<Class<?>, List<PropertyAccessor>>> COPY_ACCESSOR_MAP = new ConcurrentHashMap<>();
+
     /**
      * This method is used to copy all field values from one entity to another.
      * It also works with inheritance.
@@ -30,33 +36,51 @@ public class EntityUtils {
         Class<?> toClass = to.getClass();
 
         try {
-            BeanInfo fromBean = Introspector.getBeanInfo(fromClass);
-            BeanInfo toBean = Introspector.getBeanInfo(toClass);
-
-            PropertyDescriptor[] toPropDecArray = toBean.getPropertyDescriptors();
-            List<PropertyDescriptor> fromPropDescList = Arrays.asList(fromBean
-                .getPropertyDescriptors());
-
-            for (PropertyDescriptor toPropDesc : toPropDecArray) {
-                int fromPropDescIndex = fromPropDescList.indexOf(toPropDesc);
-                if (fromPropDescIndex == -1) {
-                    continue;
-                }
-                PropertyDescriptor fromPropDesc = fromPropDescList.get(fromPropDescIndex);
-                if (!fromPropDesc.getDisplayName().equals(toPropDesc.getDisplayName())) {
-                    continue;
-                }
-                if (fromPropDesc.getDisplayName().equals("class")) {
-                    continue;
-                }
-                if (toPropDesc.getWriteMethod() == null) {
-                    continue;
-                }
-                toPropDesc.getWriteMethod().invoke(to, fromPropDesc.getReadMethod().invoke(from));
+            Map<Class<?>, List<PropertyAccessor>> toAccessorMap = COPY_ACCESSOR_MAP
+                .computeIfAbsent(fromClass, key -> new ConcurrentHashMap<>());
+            List<PropertyAccessor> accessorList = toAccessorMap.get(toClass);
+            if (accessorList == null) {
+                accessorList = createCopyAccessors(fromClass, toClass);
+                toAccessorMap.put(toClass, accessorList);
+            }
+            for (PropertyAccessor accessor : accessorList) {
+                accessor.set(to, accessor.get(from));
             }
-        } catch (IntrospectionException | InvocationTargetException | IllegalAccessException |
-                 IllegalArgumentException e) {
+        } catch (IntrospectionException | IllegalAccessException | IllegalArgumentException | ClassCastException e) {
             e.printStackTrace();
         }
     }
+
+    private @NotNull List<PropertyAccessor> createCopyAccessors(@NotNull Class<?> fromClass,
+                                                                @NotNull Class<?> toClass)
+        throws IntrospectionException, IllegalAccessException {
+        BeanInfo fromBean = Introspector.getBeanInfo(fromClass);
+        BeanInfo toBean = Introspector.getBeanInfo(toClass);
+
+        PropertyDescriptor[] toPropDecArray = toBean.getPropertyDescriptors();
+        List<PropertyDescriptor> fromPropDescList = Arrays.asList(fromBean
+            .getPropertyDescriptors());
+
+        List<PropertyAccessor> accessorList = new ArrayList<>();
+        for (PropertyDescriptor toPropDesc : toPropDecArray) {
+            int fromPropDescIndex = fromPropDescList.indexOf(toPropDesc);
+            if (fromPropDescIndex == -1) {
+                continue;
+            }
+            PropertyDescriptor fromPropDesc = fromPropDescList.get(fromPropDescIndex);
+            if (!fromPropDesc.getDisplayName().equals(toPropDesc.getDisplayName())) {
+                continue;
+            }
+            if (fromPropDesc.getDisplayName().equals("class")) {
+                continue;
+            }
+            if (fromPropDesc.getReadMethod() == null || toPropDesc.getWriteMethod() == null) {
+                continue;
+            }
+            // Reads the property from the source and writes it to the target.
+            accessorList.add(PropertyAccessor.ofMethods(toPropDesc.getName(), fromPropDesc.getReadMethod(),
+                toPropDesc.getWriteMethod()));
+        }
+        return accessorList;
+    }
 }
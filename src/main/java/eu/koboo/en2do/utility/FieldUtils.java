@@ -1,13 +1,13 @@
 package eu.koboo.en2do.utility;
 
+import eu.koboo.en2do.internal.methods.parser.MethodNameParser;
+import eu.koboo.en2do.internal.methods.parser.ReflectionFieldModel;
 import lombok.experimental.UtilityClass;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 /**
  * A utility class for everything related to fields.
@@ -45,12 +45,66 @@ public class FieldUtils {
      * @return The field, if found. If not found, it returns "null"
      */
     public @Nullable Field findFieldByName(@NotNull String fieldName, @NotNull Set<Field> fieldSet) {
-        for (Field field : fieldSet) {
-            if (!field.getName().equalsIgnoreCase(fieldName)) {
-                continue;
+        return MethodNameParser.findFieldByName(ReflectionFieldModel.INSTANCE, fieldName, fieldSet);
+    }
+
+    /**
+     * This method is used to resolve the name of a field from a method name, which could also be the path
+     * to a field of an embedded type, e.g. "AddressCity" resolves to the fields "address" and "city".
+     * Fields of the given set are always preferred over fields of embedded types.
+     *
+     * @param fieldName The field name, which should be resolved.
+     * @param fieldSet  The Set, which should be iterated through
+     * @return The List with all fields of the path, if found. If not found, it returns "null"
+     */
+    public @Nullable List<Field> findFieldPathByName(@NotNull String fieldName, @NotNull Set<Field> fieldSet) {
+        return MethodNameParser.findFieldPathByName(ReflectionFieldModel.INSTANCE, fieldName, fieldSet);
+    }
+
+    /**
+     * This method is used to resolve a dot-notated path, e.g. "address.city", to the fields of the path.
+     *
+     * @param dotPath  The dot-notated path of the field.
+     * @param fieldSet The Set, which contains the fields of the first path segment
+     * @return The List with all fields of the path, if found. If not found, it returns "null"
+     */
+    public @Nullable List<Field> findFieldPathByDotPath(@NotNull String dotPath, @NotNull Set<Field> fieldSet) {
+        return MethodNameParser.findFieldPathByDotPath(ReflectionFieldModel.INSTANCE, dotPath, fieldSet);
+    }
+
+    /**
+     * This method is used to get the embedded type of the given field. Collections and arrays are resolved
+     * to their element type, because MongoDB queries the fields of every element by the same path.
+     *
+     * @param field The field, which could contain an embedded type.
+     * @return The class of the embedded type, or "null" if the field doesn't contain an embedded type.
+     */
+    public @Nullable Class<?> getEmbeddedType(@NotNull Field field) {
+        Class<?> typeClass = field.getType();
+        if (typeClass.isArray() || Collection.class.isAssignableFrom(typeClass)) {
+            typeClass = GenericUtils.getElementTypeOfField(field);
+            if (typeClass == null) {
+                return null;
             }
-            return field;
         }
-        return null;
+        if (typeClass.isPrimitive() || typeClass.isEnum() || typeClass.isArray()
+            || Map.class.isAssignableFrom(typeClass) || Collection.class.isAssignableFrom(typeClass)) {
+            return null;
+        }
+        if (isCodecType(typeClass.getName())) {
+            return null;
+        }
+        return typeClass;
+    }
+
+    /**
+     * This method is used to check if a type is encoded by its own codec, instead of being embedded.
+     *
+     * @param typeName The fully qualified name of the type
+     * @return true, if the type is part of the jdk or the driver.
+     */
+    public boolean isCodecType(@NotNull String typeName) {
+        return typeName.startsWith("java.") || typeName.startsWith("javax.")
+            || typeName.startsWith("com.mongodb.") || typeName.startsWith("org.bson.");
     }
 }
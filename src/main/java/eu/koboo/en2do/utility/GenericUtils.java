@@ -2,12 +2,10 @@ package eu.koboo.en2do.utility;
 
 import lombok.experimental.UtilityClass;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A utility class for everything related to generic types or class types.
@@ -74,6 +72,31 @@ public class GenericUtils {
         return (Class<?>) type.getActualTypeArguments()[0];
     }
 
+    /**
+     * Gets the type of the elements of the given field, if the field is a collection or an array.
+     *
+     * @param field The field with the collection or array type
+     * @return The class of the elements, or "null" if the field is not a collection or an array
+     */
+    public @Nullable Class<?> getElementTypeOfField(@NotNull Field field) {
+        Class<?> fieldClass = field.getType();
+        if (fieldClass.isArray()) {
+            return fieldClass.getComponentType();
+        }
+        if (!Collection.class.isAssignableFrom(fieldClass)) {
+            return null;
+        }
+        Type genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        if (!(elementType instanceof Class)) {
+            return null;
+        }
+        return (Class<?>) elementType;
+    }
+
     /**
      * Checks if class1 and class2 is not the same type
      *
@@ -106,6 +129,19 @@ public class GenericUtils {
         return !class1.isAssignableFrom(class2);
     }
 
+    /**
+     * Checks if the given class is any numeric type, primitive or boxed.
+     *
+     * @param clazz The class to check
+     * @return true, if the class is a number
+     */
+    public boolean isNumber(@NotNull Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return clazz != boolean.class && clazz != char.class && clazz != void.class;
+        }
+        return Number.class.isAssignableFrom(clazz);
+    }
+
     /**
      * Checks if the given class is a type of "boolean"
      *
@@ -0,0 +1,94 @@
+package eu.koboo.en2do.processor;
+
+import eu.koboo.en2do.internal.methods.parser.FieldModel;
+import eu.koboo.en2do.utility.FieldUtils;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the fields of an entity by the elements of the compiler, like the ReflectionFieldModel
+ * represents them at runtime. The embedded types are resolved like by FieldUtils.getEmbeddedType.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class ElementFieldModel implements FieldModel<VariableElement> {
+
+    Elements elements;
+    Types types;
+
+    ElementFieldModel(@NotNull ProcessingEnvironment processingEnv) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public @NotNull String getName(@NotNull VariableElement field) {
+        return field.getSimpleName().toString();
+    }
+
+    @Override
+    public @Nullable Collection<VariableElement> getEmbeddedFields(@NotNull VariableElement field) {
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind() == TypeKind.ARRAY) {
+            fieldType = ((ArrayType) fieldType).getComponentType();
+        } else if (isTypeOf(fieldType, Collection.class)) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) fieldType).getTypeArguments();
+            if (typeArguments.size() != 1) {
+                return null;
+            }
+            fieldType = typeArguments.get(0);
+        }
+        if (fieldType.getKind() != TypeKind.DECLARED || isTypeOf(fieldType, Map.class)
+            || isTypeOf(fieldType, Collection.class)) {
+            return null;
+        }
+        TypeElement typeElement = (TypeElement) ((DeclaredType) fieldType).asElement();
+        if (typeElement.getKind() == ElementKind.ENUM
+            || FieldUtils.isCodecType(typeElement.getQualifiedName().toString())) {
+            return null;
+        }
+        return collectFields(typeElement);
+    }
+
+    /**
+     * Collects the fields of the type and its super classes, like FieldUtils.collectFields.
+     *
+     * @param typeElement The type, which should be scanned
+     * @return The List with all found fields of the given type.
+     */
+    @NotNull List<VariableElement> collectFields(@NotNull TypeElement typeElement) {
+        List<VariableElement> fieldList = new ArrayList<>();
+        TypeElement currentElement = typeElement;
+        while (currentElement != null && !currentElement.getQualifiedName().contentEquals(Object.class.getName())) {
+            fieldList.addAll(ElementFilter.fieldsIn(currentElement.getEnclosedElements()));
+            TypeMirror superType = currentElement.getSuperclass();
+            currentElement = superType.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superType).asElement()
+                : null;
+        }
+        return fieldList;
+    }
+
+    private boolean isTypeOf(@NotNull TypeMirror type, @NotNull Class<?> typeClass) {
+        TypeElement typeElement = elements.getTypeElement(typeClass.getCanonicalName());
+        return typeElement != null && type.getKind() == TypeKind.DECLARED
+            && types.isAssignable(types.erasure(type), types.erasure(typeElement.asType()));
+    }
+}
@@ -0,0 +1,304 @@
+package eu.koboo.en2do.processor;
+
+import eu.koboo.en2do.internal.MethodInvoker;
+import eu.koboo.en2do.internal.generator.GeneratedRepositories;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Writes the source of the generated implementation of a repository interface.
+ * Every method of the class calls its own invoker field, which is resolved once in the constructor,
+ * like the repository classes, which are generated at runtime by the RepositoryClassGenerator.
+ * The arguments are passed as Object array, or null if the method has no parameters, and the exceptions
+ * are handled like by a java.lang.reflect.Proxy.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class ImplementationWriter {
+
+    private static final String INDENT = "    ";
+
+    Elements elements;
+    Types types;
+    Filer filer;
+    Messager messager;
+    TypeElement repositoryElement;
+
+    ImplementationWriter(@NotNull ProcessingEnvironment processingEnv, @NotNull TypeElement repositoryElement) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+        this.repositoryElement = repositoryElement;
+    }
+
+    /**
+     * Writes the implementation, if the repository can be implemented by a generated class.
+     * Otherwise, a note is printed and the repository is created as proxy on the runtime.
+     */
+    void write() {
+        String unsupportedReason = findUnsupportedReason();
+        if (unsupportedReason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "Skipped the generated implementation of " +
+                repositoryElement.getQualifiedName() + ", because " + unsupportedReason + ".", repositoryElement);
+            return;
+        }
+        String packageName = elements.getPackageOf(repositoryElement).getQualifiedName().toString();
+        String simpleName = GeneratedRepositories.toImplementationSimpleName(collectNestedNames());
+        String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String source = createSource(packageName, simpleName, collectMethods());
+        try (Writer writer = filer.createSourceFile(className, repositoryElement).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Couldn't write the generated implementation of " +
+                repositoryElement.getQualifiedName() + ": " + e.getMessage(), repositoryElement);
+        }
+    }
+
+    private @Nullable String findUnsupportedReason() {
+        for (Element element = repositoryElement; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return "it isn't accessible from its package";
+            }
+        }
+        if (!repositoryElement.getTypeParameters().isEmpty()) {
+            return "it declares type parameters";
+        }
+        for (ExecutableElement method : collectMethods()) {
+            for (TypeMirror thrownType : method.getThrownTypes()) {
+                if (thrownType.getKind() != TypeKind.DECLARED) {
+                    return "the method \"" + method.getSimpleName() + "\" throws a type variable";
+                }
+            }
+        }
+        return null;
+    }
+
+    private @NotNull List<String> collectNestedNames() {
+        LinkedList<String> nestedNames = new LinkedList<>();
+        for (Element element = repositoryElement; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            nestedNames.addFirst(element.getSimpleName().toString());
+        }
+        return nestedNames;
+    }
+
+    private @NotNull List<ExecutableElement> collectMethods() {
+        // Like the proxy, the methods of java.lang.Object are always passed to the invoker as methods of Object.
+        Map<String, ExecutableElement> methodMap = new LinkedHashMap<>();
+        TypeElement objectElement = elements.getTypeElement(Object.class.getName());
+        for (ExecutableElement method : ElementFilter.methodsIn(objectElement.getEnclosedElements())) {
+            String methodName = method.getSimpleName().toString();
+            if (methodName.equals("hashCode") || methodName.equals("equals") || methodName.equals("toString")) {
+                methodMap.put(signatureOf(method), method);
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(repositoryElement))) {
+            if (method.getModifiers().contains(Modifier.STATIC) || method.getEnclosingElement().equals(objectElement)) {
+                continue;
+            }
+            // The same method could be inherited by multiple interfaces.
+            methodMap.putIfAbsent(signatureOf(method), method);
+        }
+        return new ArrayList<>(methodMap.values());
+    }
+
+    private @NotNull String createSource(@NotNull String packageName, @NotNull String simpleName,
+                                         @NotNull List<ExecutableElement> methodList) {
+        String repositoryName = repositoryElement.getQualifiedName().toString();
+        String invokerName = MethodInvoker.class.getName();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+            .append(" * Generated implementation of ").append(repositoryName).append(" by the en2do RepositoryProcessor.\n")
+            .append(" */\n")
+            .append("@javax.annotation.processing.Generated(\"").append(RepositoryProcessor.class.getName()).append("\")\n")
+            .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+            .append("public final class ").append(simpleName).append(" implements ").append(repositoryName).append(" {\n\n");
+        for (int i = 0; i < methodList.size(); i++) {
+            source.append(INDENT).append("private final ").append(invokerName).append(" invoker").append(i).append(";\n");
+        }
+
+        source.append("\n").append(INDENT).append("public ").append(simpleName)
+            .append("(java.util.function.Function<java.lang.reflect.Method, ").append(invokerName).append("> invokerResolver) {\n")
+            .append(INDENT).append(INDENT).append("try {\n");
+        for (int i = 0; i < methodList.size(); i++) {
+            ExecutableElement method = methodList.get(i);
+            boolean isObjectMethod = method.getEnclosingElement().equals(elements.getTypeElement(Object.class.getName()));
+            source.append(INDENT).append(INDENT).append(INDENT).append("this.invoker").append(i)
+                .append(" = invokerResolver.apply(")
+                .append(isObjectMethod ? "java.lang.Object" : repositoryName).append(".class.getMethod(\"")
+                .append(method.getSimpleName()).append("\"");
+            for (VariableElement parameter : method.getParameters()) {
+                source.append(", ").append(typeName(types.erasure(parameter.asType()))).append(".class");
+            }
+            source.append("));\n");
+        }
+        source.append(INDENT).append(INDENT).append("} catch (java.lang.NoSuchMethodException e) {\n")
+            .append(INDENT).append(INDENT).append(INDENT).append("throw new java.lang.IllegalStateException(e);\n")
+            .append(INDENT).append(INDENT).append("}\n")
+            .append(INDENT).append("}\n");
+
+        for (int i = 0; i < methodList.size(); i++) {
+            appendMethod(source, methodList.get(i), i);
+        }
+        return source.append("}\n").toString();
+    }
+
+    private void appendMethod(@NotNull StringBuilder source, @NotNull ExecutableElement method, int invokerIndex) {
+        // The types are resolved by the repository, e.g. "E" of "save(E)" becomes the entity type.
+        ExecutableType methodType = (ExecutableType) types.asMemberOf((DeclaredType) repositoryElement.asType(), method);
+        List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+        TypeMirror returnType = methodType.getReturnType();
+
+        source.append("\n").append(INDENT).append("@Override\n").append(INDENT).append("public ");
+        if (!methodType.getTypeVariables().isEmpty()) {
+            StringJoiner typeVariables = new StringJoiner(", ", "<", "> ");
+            for (TypeVariable typeVariable : methodType.getTypeVariables()) {
+                String variableName = typeName(typeVariable);
+                String bound = typeName(typeVariable.getUpperBound());
+                typeVariables.add(bound.equals("java.lang.Object") ? variableName : variableName + " extends " + bound);
+            }
+            source.append(typeVariables);
+        }
+        source.append(typeName(returnType)).append(" ").append(method.getSimpleName()).append("(");
+        StringJoiner parameters = new StringJoiner(", ");
+        StringJoiner arguments = new StringJoiner(", ", "new java.lang.Object[]{", "}");
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            String parameterTypeName = typeName(parameterTypes.get(i));
+            if (method.isVarArgs() && i == parameterTypes.size() - 1) {
+                parameterTypeName = parameterTypeName.substring(0, parameterTypeName.length() - 2) + "...";
+            }
+            parameters.add("final " + parameterTypeName + " arg" + i);
+            arguments.add("arg" + i);
+        }
+        source.append(parameters).append(")");
+        if (!methodType.getThrownTypes().isEmpty()) {
+            StringJoiner thrownTypes = new StringJoiner(", ", " throws ", "");
+            for (TypeMirror thrownType : methodType.getThrownTypes()) {
+                thrownTypes.add(typeName(thrownType));
+            }
+            source.append(thrownTypes);
+        }
+        source.append(" {\n");
+
+        String indent = INDENT + INDENT;
+        source.append(indent).append("try {\n").append(indent).append(INDENT);
+        String call = "invoker" + invokerIndex + ".invoke(" + (parameterTypes.isEmpty() ? "null" : arguments.toString()) + ")";
+        if (returnType.getKind() == TypeKind.VOID) {
+            source.append(call).append(";\n");
+        } else if (isObject(returnType)) {
+            source.append("return ").append(call).append(";\n");
+        } else {
+            source.append("return (").append(typeName(returnType)).append(") ").append(call).append(";\n");
+        }
+
+        // Unchecked and declared exceptions are rethrown, every other exception is wrapped.
+        source.append(indent).append("} catch (java.lang.RuntimeException | java.lang.Error e) {\n")
+            .append(indent).append(INDENT).append("throw e;\n");
+        boolean throwsThrowable = false;
+        for (TypeMirror thrownType : collectRethrownTypes(method)) {
+            throwsThrowable |= typeName(thrownType).equals("java.lang.Throwable");
+            source.append(indent).append("} catch (").append(typeName(thrownType)).append(" e) {\n")
+                .append(indent).append(INDENT).append("throw e;\n");
+        }
+        if (!throwsThrowable) {
+            source.append(indent).append("} catch (java.lang.Throwable e) {\n")
+                .append(indent).append(INDENT).append("throw new java.lang.reflect.UndeclaredThrowableException(e);\n");
+        }
+        source.append(indent).append("}\n").append(INDENT).append("}\n");
+    }
+
+    private @NotNull List<TypeMirror> collectRethrownTypes(@NotNull ExecutableElement method) {
+        // Catching a subtype of an already caught exception doesn't compile, so only the most general types are kept.
+        List<TypeMirror> rethrownTypes = new ArrayList<>();
+        rethrownTypes.add(elements.getTypeElement(RuntimeException.class.getName()).asType());
+        rethrownTypes.add(elements.getTypeElement(Error.class.getName()).asType());
+        List<TypeMirror> declaredTypes = new ArrayList<>();
+        for (TypeMirror thrownType : method.getThrownTypes()) {
+            boolean subsumed = false;
+            for (TypeMirror otherType : method.getThrownTypes()) {
+                if (otherType != thrownType && types.isSubtype(thrownType, otherType)
+                    && !types.isSameType(thrownType, otherType)) {
+                    subsumed = true;
+                }
+            }
+            for (TypeMirror rethrownType : rethrownTypes) {
+                subsumed |= types.isSubtype(thrownType, rethrownType);
+            }
+            if (!subsumed && declaredTypes.stream().noneMatch(type -> types.isSameType(type, thrownType))) {
+                declaredTypes.add(thrownType);
+            }
+        }
+        return declaredTypes;
+    }
+
+    private @NotNull String signatureOf(@NotNull ExecutableElement method) {
+        StringJoiner signature = new StringJoiner(",", method.getSimpleName() + "(", ")");
+        for (VariableElement parameter : method.getParameters()) {
+            signature.add(typeName(types.erasure(parameter.asType())));
+        }
+        return signature.toString();
+    }
+
+    private boolean isObject(@NotNull TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && typeName(type).equals("java.lang.Object");
+    }
+
+    private @NotNull String typeName(@NotNull TypeMirror type) {
+        // Type annotations are left out, because they aren't necessarily on the classpath of the compiler.
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+            case VOID:
+                return type.getKind().name().toLowerCase(Locale.ROOT);
+            case ARRAY:
+                return typeName(((ArrayType) type).getComponentType()) + "[]";
+            case TYPEVAR:
+                return ((TypeVariable) type).asElement().getSimpleName().toString();
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                if (wildcardType.getExtendsBound() != null) {
+                    return "? extends " + typeName(wildcardType.getExtendsBound());
+                }
+                if (wildcardType.getSuperBound() != null) {
+                    return "? super " + typeName(wildcardType.getSuperBound());
+                }
+                return "?";
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    return name;
+                }
+                StringJoiner typeArguments = new StringJoiner(", ", name + "<", ">");
+                for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                    typeArguments.add(typeName(typeArgument));
+                }
+                return typeArguments.toString();
+            default:
+                return type.toString();
+        }
+    }
+}
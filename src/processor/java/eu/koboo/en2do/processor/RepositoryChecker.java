@@ -0,0 +1,374 @@
+package eu.koboo.en2do.processor;
+
+import eu.koboo.en2do.internal.exception.methods.*;
+import eu.koboo.en2do.internal.exception.repository.RepositoryEntityNotFoundException;
+import eu.koboo.en2do.internal.exception.repository.RepositoryIdNotFoundException;
+import eu.koboo.en2do.internal.exception.repository.RepositoryNameNotFoundException;
+import eu.koboo.en2do.internal.methods.operators.MethodOperator;
+import eu.koboo.en2do.internal.methods.parser.MethodNameParser;
+import eu.koboo.en2do.internal.methods.parser.ParameterViolation;
+import eu.koboo.en2do.internal.methods.parser.ParsedFilterPart;
+import eu.koboo.en2do.repository.AsyncRepository;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.entity.Id;
+import eu.koboo.en2do.repository.methods.aggregation.Aggregation;
+import eu.koboo.en2do.repository.methods.async.Async;
+import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.repository.methods.sort.SortBy;
+import eu.koboo.en2do.repository.methods.transform.Transform;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Validates a repository interface at compile time, like MongoManager.create validates it at runtime.
+ * Only the rules, which can be decided by the declared types, are checked, e.g. the method operators,
+ * the fields of the filters, the return types and the parameter counts. The method names are parsed
+ * by the MethodNameParser of the runtime, so only the checks of the types are implemented here.
+ * Every violation is reported as compiler error on the method, prefixed by the name of the exception,
+ * which MongoManager.create would throw.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class RepositoryChecker {
+
+    Elements elements;
+    Types types;
+    Messager messager;
+    TypeElement repositoryElement;
+    Set<String> predefinedMethodNames;
+    ElementFieldModel fieldModel;
+
+    @NonFinal
+    boolean valid;
+    @NonFinal
+    @Nullable
+    TypeElement entityElement;
+    @NonFinal
+    @Nullable
+    MethodNameParser<VariableElement> methodNameParser;
+
+    RepositoryChecker(@NotNull ProcessingEnvironment processingEnv, @NotNull TypeElement repositoryElement) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.repositoryElement = repositoryElement;
+        this.fieldModel = new ElementFieldModel(processingEnv);
+        this.predefinedMethodNames = new HashSet<>(Arrays.asList("equals", "hashCode", "toString", "getClass"));
+        TypeElement baseRepositoryElement = elements.getTypeElement(Repository.class.getCanonicalName());
+        for (ExecutableElement method : ElementFilter.methodsIn(baseRepositoryElement.getEnclosedElements())) {
+            predefinedMethodNames.add(method.getSimpleName().toString());
+        }
+        this.valid = true;
+    }
+
+    /**
+     * Checks the repository and reports every violation as compiler error.
+     *
+     * @return true, if the repository is valid.
+     */
+    boolean check() {
+        Collection collection = repositoryElement.getAnnotation(Collection.class);
+        if (collection.value().trim().isEmpty()) {
+            error(repositoryElement, RepositoryNameNotFoundException.class, "No or invalid collection name given " +
+                "through " + Collection.class.getName() + " annotation in " + repositoryName() + "!");
+        }
+
+        entityElement = resolveEntityElement();
+        if (entityElement == null) {
+            error(repositoryElement, RepositoryEntityNotFoundException.class, "The class of the entity of repository " +
+                repositoryName() + " could not be found!");
+            return false;
+        }
+        List<VariableElement> entityFieldList = fieldModel.collectFields(entityElement);
+        methodNameParser = new MethodNameParser<>(fieldModel, entityFieldList);
+        if (entityFieldList.stream().noneMatch(field -> field.getAnnotation(Id.class) != null)) {
+            error(repositoryElement, RepositoryIdNotFoundException.class, "Couldn't find " + Id.class.getName() +
+                " annotation in " + entityElement.getQualifiedName() + "!");
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(repositoryElement))) {
+            if (isObjectMethod(method)) {
+                continue;
+            }
+            checkMethod(method);
+        }
+        return valid;
+    }
+
+    private void checkMethod(@NotNull ExecutableElement method) {
+        String methodName = method.getSimpleName().toString();
+        Transform transform = method.getAnnotation(Transform.class);
+        if (transform != null) {
+            methodName = transform.value();
+        }
+        if (predefinedMethodNames.contains(methodName) || MethodNameParser.isIgnoredMethod(methodName)) {
+            return;
+        }
+
+        TypeMirror returnType = method.getReturnType();
+        if (method.getAnnotation(Async.class) != null) {
+            if (MethodNameParser.isAsyncName(methodName)) {
+                String predefinedName = MethodNameParser.getPredefinedNameByAsyncName(methodName);
+                if (!predefinedMethodNames.contains(predefinedName)) {
+                    error(method, MethodInvalidAsyncNameException.class, "Methods, which start with the keyword " +
+                        "\"async\" are not allowed in repository, except the predefined methods of the \"" +
+                        AsyncRepository.class.getSimpleName() + "\" itself.");
+                }
+                return;
+            }
+            List<? extends TypeMirror> futureTypes = typeArgumentsOf(returnType, CompletableFuture.class);
+            if (futureTypes == null || futureTypes.size() != 1) {
+                error(method, MethodInvalidAsyncReturnException.class, "Methods, which are annotated with @" +
+                    Async.class.getSimpleName() + " have to return a CompletableFuture.");
+                return;
+            }
+            returnType = futureTypes.get(0);
+        }
+
+        // Aggregation methods define their own pipeline, so the method name isn't parsed.
+        if (method.getAnnotation(Aggregation.class) != null) {
+            return;
+        }
+
+        MethodOperator methodOperator = MethodOperator.parseMethodStartsWith(methodName);
+        if (methodOperator == null) {
+            error(method, MethodNoMethodOperatorException.class, "Couldn't find method operator.");
+            return;
+        }
+        checkReturnType(method, methodOperator, returnType);
+        if (isTypeOf(returnType, LazyList.class) && methodOperator != MethodOperator.FIND_MANY) {
+            error(method, MethodLazyListNotAllowedException.class, "Only \"" + MethodOperator.FIND_MANY.getKeyword() +
+                "\" methods can return a " + LazyList.class.getSimpleName() + ".");
+        }
+
+        String methodNameWithoutOperator = methodOperator.removeOperatorFrom(methodName);
+        if (MethodNameParser.isMixedChain(methodNameWithoutOperator)) {
+            error(method, MethodDuplicatedChainException.class, "It's not allowed to use \"And\" + \"Or\" " +
+                "operation in one method.");
+            return;
+        }
+
+        if (methodOperator.isAggregation()) {
+            VariableElement aggregationField = methodNameParser.findAggregationField(methodNameWithoutOperator);
+            if (aggregationField == null) {
+                fieldNotFound(method, MethodNameParser.getAggregationFieldName(methodNameWithoutOperator));
+                return;
+            }
+            if (methodOperator != MethodOperator.COUNT_GROUPED && !isNumber(aggregationField.asType())) {
+                error(method, MethodAggregationFieldTypeException.class, "The aggregated field \"" +
+                    aggregationField.getSimpleName() + "\" has to be a number.");
+            }
+            methodNameWithoutOperator = MethodNameParser.removeAggregationField(methodNameWithoutOperator,
+                aggregationField.getSimpleName().toString());
+        }
+
+        int expectedParameterCount = 0;
+        for (String filterOperatorString : MethodNameParser.splitFilterParts(methodNameWithoutOperator)) {
+            ParsedFilterPart<VariableElement> filterPart = methodNameParser.parseFilterPart(filterOperatorString);
+            if (filterPart.getFieldPath() == null) {
+                fieldNotFound(method, filterPart.getExpectedFieldName());
+                return;
+            }
+            expectedParameterCount += filterPart.getOperator().getExpectedParameterCount();
+        }
+        checkParameterCount(method, methodOperator, expectedParameterCount);
+
+        SortBy sortBy = method.getAnnotation(SortBy.class);
+        if (sortBy != null && methodNameParser.findFieldPathByDotPath(sortBy.field()) == null) {
+            error(method, MethodSortFieldNotFoundException.class, "Couldn't find field \"" + sortBy.field() +
+                "\" specified by sorting in " + entityName() + ".");
+        }
+    }
+
+    private void checkReturnType(@NotNull ExecutableElement method, @NotNull MethodOperator methodOperator,
+                                 @NotNull TypeMirror returnType) {
+        switch (methodOperator) {
+            case FIND_FIRST:
+                if (isNotTypeOf(entityElement.asType(), returnType)) {
+                    error(method, MethodFindReturnTypeException.class, "The return type has to be " + entityName() + ".");
+                }
+                return;
+            case FIND_MANY:
+            case PAGE:
+                List<? extends TypeMirror> listTypes = typeArgumentsOf(returnType, List.class);
+                if (listTypes == null) {
+                    error(method, MethodFindListReturnTypeException.class, "The return type has to be a " +
+                        "List of " + entityName() + ".");
+                    return;
+                }
+                // Only declared element types are validated, like the validation of the runtime.
+                if (listTypes.size() == 1 && listTypes.get(0).getKind() == TypeKind.DECLARED
+                    && !types.isAssignable(types.erasure(entityElement.asType()), types.erasure(listTypes.get(0)))) {
+                    error(method, MethodFindListTypeException.class, "The type of the List has to be " + entityName() + ".");
+                }
+                return;
+            case DELETE:
+            case EXISTS:
+            case UPDATE_FIELD:
+                if (returnType.getKind() != TypeKind.BOOLEAN && !isTypeOf(returnType, Boolean.class)) {
+                    error(method, MethodBooleanReturnTypeException.class, "The return type has to be boolean.");
+                }
+                return;
+            case COUNT:
+                if (returnType.getKind() != TypeKind.LONG && !isTypeOf(returnType, Long.class)) {
+                    error(method, MethodLongReturnTypeException.class, "The return type has to be long.");
+                }
+                return;
+            case COUNT_GROUPED:
+                if (typeArgumentsOf(returnType, Map.class) == null) {
+                    error(method, MethodMapReturnTypeException.class, "The return type has to be a Map.");
+                }
+                return;
+            default:
+                if (!isNumber(returnType)) {
+                    error(method, MethodNumberReturnTypeException.class, "The return type has to be a number.");
+                }
+        }
+    }
+
+    private void checkParameterCount(@NotNull ExecutableElement method, @NotNull MethodOperator methodOperator,
+                                     int expectedParameterCount) {
+        List<? extends VariableElement> parameterList = method.getParameters();
+        int methodParameterCount = parameterList.size();
+        TypeMirror lastParameterType = methodParameterCount > 0
+            ? types.erasure(parameterList.get(methodParameterCount - 1).asType()) : null;
+        ParameterViolation parameterViolation = MethodNameParser.checkParameterCount(methodOperator,
+            expectedParameterCount, methodParameterCount,
+            objectClass -> lastParameterType != null && isAssignableFrom(lastParameterType, objectClass));
+        if (parameterViolation == null) {
+            return;
+        }
+        switch (parameterViolation.getType()) {
+            case PAGE_REQUIRED:
+                error(method, MethodPageRequiredException.class, "The method needs a parameter of type " +
+                    Pagination.class.getName() + ".");
+                return;
+            case SORT_NOT_ALLOWED:
+                error(method, MethodSortNotAllowedException.class, "Sorting isn't allowed in pagination methods.");
+                return;
+            case PAGE_NOT_ALLOWED:
+                error(method, MethodPageNotAllowedException.class, "Pagination is only allowed in \"" +
+                    MethodOperator.PAGE.getKeyword() + "\" methods.");
+                return;
+            case BATCH_NOT_ALLOWED:
+                error(method, MethodBatchNotAllowedException.class, "An " + UpdateBatch.class.getSimpleName() +
+                    " is only allowed in \"" + MethodOperator.UPDATE_FIELD.getKeyword() + "\" methods.");
+                return;
+            default:
+                error(method, MethodParameterCountException.class, "Mismatching count of parameters! " +
+                    "(expected=" + parameterViolation.getExpectedCount() + ", actual=" +
+                    parameterViolation.getActualCount() + ")");
+        }
+    }
+
+    private @Nullable TypeElement resolveEntityElement() {
+        // The generic types are only resolved by the direct interfaces, like on the runtime.
+        for (TypeMirror interfaceType : repositoryElement.getInterfaces()) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) interfaceType).getTypeArguments();
+            if (!isErasureOf(interfaceType, Repository.class) || typeArguments.size() != 2) {
+                continue;
+            }
+            TypeMirror entityType = typeArguments.get(0);
+            if (entityType.getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+            return (TypeElement) ((DeclaredType) entityType).asElement();
+        }
+        return null;
+    }
+
+    private @Nullable List<? extends TypeMirror> typeArgumentsOf(@NotNull TypeMirror type, @NotNull Class<?> typeClass) {
+        if (type.getKind() != TypeKind.DECLARED || !isTypeOf(type, typeClass)) {
+            return null;
+        }
+        return ((DeclaredType) type).getTypeArguments();
+    }
+
+    private boolean isNotTypeOf(@NotNull TypeMirror expectedType, @NotNull TypeMirror type) {
+        // Primitives and their wrappers are the same type, like in GenericUtils.isNotTypeOf.
+        TypeMirror unboxedExpectedType = unbox(expectedType);
+        TypeMirror unboxedType = unbox(type);
+        if (unboxedExpectedType.getKind().isPrimitive() && unboxedExpectedType.getKind() == unboxedType.getKind()) {
+            return false;
+        }
+        return !types.isAssignable(types.erasure(type), types.erasure(expectedType));
+    }
+
+    private boolean isNumber(@NotNull TypeMirror type) {
+        TypeMirror unboxedType = unbox(type);
+        if (unboxedType.getKind().isPrimitive()) {
+            return unboxedType.getKind() != TypeKind.BOOLEAN && unboxedType.getKind() != TypeKind.CHAR;
+        }
+        return isTypeOf(type, Number.class);
+    }
+
+    private @NotNull TypeMirror unbox(@NotNull TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return type;
+        }
+        try {
+            return types.unboxedType(type);
+        } catch (IllegalArgumentException e) {
+            return type;
+        }
+    }
+
+    private boolean isTypeOf(@NotNull TypeMirror type, @NotNull Class<?> typeClass) {
+        TypeElement typeElement = elements.getTypeElement(typeClass.getCanonicalName());
+        return typeElement != null && type.getKind() == TypeKind.DECLARED
+            && types.isAssignable(types.erasure(type), types.erasure(typeElement.asType()));
+    }
+
+    private boolean isAssignableFrom(@NotNull TypeMirror type, @NotNull Class<?> typeClass) {
+        TypeElement typeElement = elements.getTypeElement(typeClass.getCanonicalName());
+        return typeElement != null && types.isAssignable(types.erasure(typeElement.asType()), type);
+    }
+
+    private boolean isErasureOf(@NotNull TypeMirror type, @NotNull Class<?> typeClass) {
+        TypeElement typeElement = elements.getTypeElement(typeClass.getCanonicalName());
+        return typeElement != null && types.isSameType(types.erasure(type), types.erasure(typeElement.asType()));
+    }
+
+    private boolean isObjectMethod(@NotNull ExecutableElement method) {
+        return ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals(Object.class.getName());
+    }
+
+    private void fieldNotFound(@NotNull ExecutableElement method, @NotNull String fieldName) {
+        error(method, MethodFieldNotFoundException.class, "Couldn't find any field with the name \"" + fieldName +
+            "\" in the entity " + entityName() + ".");
+    }
+
+    private @NotNull String repositoryName() {
+        return repositoryElement.getQualifiedName().toString();
+    }
+
+    private @NotNull String entityName() {
+        return entityElement.getQualifiedName().toString();
+    }
+
+    private void error(@NotNull Element element, @NotNull Class<? extends Exception> exceptionClass,
+                       @NotNull String message) {
+        valid = false;
+        String location = element == repositoryElement ? "" : " Used in method \"" + element.getSimpleName() +
+            "\" of " + repositoryName() + ".";
+        messager.printMessage(Diagnostic.Kind.ERROR, exceptionClass.getSimpleName() + ": " + message + location, element);
+    }
+}
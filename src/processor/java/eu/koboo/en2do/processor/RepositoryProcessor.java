@@ -0,0 +1,69 @@
+package eu.koboo.en2do.processor;
+
+import eu.koboo.en2do.repository.Collection;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import java.util.Set;
+
+/**
+ * An optional annotation processor, which validates every repository interface annotated with @Collection
+ * at compile time and generates its implementation. Violations of the method names, e.g. unknown fields
+ * or wrong return types, are reported as compiler errors, instead of exceptions on MongoManager.create.
+ * The method names are parsed by the same MethodNameParser as on the runtime, so both apply the same rules.
+ * MongoManager.create still parses the methods, the generated implementation only replaces the proxy.
+ * The generation can be disabled by the compiler option "-Aen2do.generateImplementation=false".
+ * The processor is shipped as separate jar with the "processor" classifier, which registers it as service.
+ * It only runs, if that jar is added to the annotation processor path explicitly.
+ */
+@SupportedOptions(RepositoryProcessor.GENERATE_IMPLEMENTATION_OPTION)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RepositoryProcessor extends AbstractProcessor {
+
+    public static final String GENERATE_IMPLEMENTATION_OPTION = "en2do.generateImplementation";
+
+    @NonFinal
+    boolean generateImplementation;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        String generateOption = processingEnv.getOptions().get(GENERATE_IMPLEMENTATION_OPTION);
+        generateImplementation = generateOption == null || Boolean.parseBoolean(generateOption);
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Collection.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Collection.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+            TypeElement repositoryElement = (TypeElement) element;
+            boolean valid = new RepositoryChecker(processingEnv, repositoryElement).check();
+            if (valid && generateImplementation) {
+                new ImplementationWriter(processingEnv, repositoryElement).write();
+            }
+        }
+        // The annotation isn't claimed, so other processors can still process it.
+        return false;
+    }
+}
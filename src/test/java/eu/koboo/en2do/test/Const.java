@@ -4,6 +4,7 @@ import eu.koboo.en2do.test.alien.Alien;
 import eu.koboo.en2do.test.alien.Planet;
 import eu.koboo.en2do.test.customer.Customer;
 import eu.koboo.en2do.test.customer.CustomerType;
+import eu.koboo.en2do.test.customer.IndexedCustomer;
 import eu.koboo.en2do.test.customer.Order;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,6 +26,7 @@ public class Const {
     public static final String CITY = "Zufallsort";
     public static final long PHONE_NUMBER = 4915122334455L;
     public static final double BALANCE = 543.21;
+    public static final int BOUGHT_BY_COUNT = 7;
     public static final List<Order> ORDERS = Arrays.asList(
         new Order("First", 1.0, Arrays.asList(1, 2, 3, 4)),
         new Order("Second", 2.0, Arrays.asList(1, 2, 3, 4)),
@@ -50,12 +52,23 @@ public class Const {
         customer.setCity(CITY);
         customer.setPhoneNumber(PHONE_NUMBER);
         customer.setBalance(BALANCE);
+        customer.setBoughtByCount(BOUGHT_BY_COUNT);
         customer.setOrders(ORDERS);
         customer.setCustomerType(TYPE);
         customer.setDescription(DESCRIPTION);
         return customer;
     }
 
+    public static @NotNull IndexedCustomer createNewIndexedCustomer() {
+        IndexedCustomer customer = new IndexedCustomer();
+        customer.setUniqueId(UNIQUE_ID);
+        customer.setCustomerId(CUSTOMER_ID);
+        customer.setFirstName(FIRST_NAME);
+        customer.setLastName(LAST_NAME);
+        customer.setOrders(ORDERS);
+        return customer;
+    }
+
     public static @NotNull Alien createNewAlien() {
         Alien alien = new Alien();
         alien.setUniqueId(UNIQUE_ID);
@@ -0,0 +1,41 @@
+package eu.koboo.en2do.test.aggregation;
+
+import eu.koboo.en2do.internal.methods.aggregation.AggregationTemplate;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the parsing and binding of the aggregation templates, without a running MongoDB server.
+ */
+public class AggregationTemplateTest {
+
+    @Test
+    public void bindPlaceholders() {
+        AggregationTemplate template = AggregationTemplate.parse(
+            "[{$match: {customerId: {$gte: ?0}}}, {$sort: {customerId: -1}}, {$limit: ?1}]");
+        assertEquals(1, template.getHighestParameterIndex());
+
+        List<Document> pipeline = template.bind(index -> index == 0 ? 5 : 10);
+        assertEquals(Document.parse("{$match: {customerId: {$gte: 5}}}"), pipeline.get(0));
+        assertEquals(Document.parse("{$sort: {customerId: -1}}"), pipeline.get(1));
+        assertEquals(Document.parse("{$limit: 10}"), pipeline.get(2));
+    }
+
+    @Test
+    public void keepPlaceholdersInStrings() {
+        AggregationTemplate template = AggregationTemplate.parse(
+            "[{$match: {firstName: {$regex: \"^a?1\"}, lastName: '?2 \\' ?3', city: \"\\\"?4\", customerId: ?0}}]");
+        // Only the placeholder outside of the strings is a parameter.
+        assertEquals(0, template.getHighestParameterIndex());
+
+        Document match = template.bind(index -> 7).get(0).get("$match", Document.class);
+        assertEquals("^a?1", match.get("firstName", Document.class).getString("$regex"));
+        assertEquals("?2 ' ?3", match.getString("lastName"));
+        assertEquals("\"?4", match.getString("city"));
+        assertEquals(7, match.getInteger("customerId"));
+    }
+}
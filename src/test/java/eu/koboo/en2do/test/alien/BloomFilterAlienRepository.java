@@ -0,0 +1,18 @@
+package eu.koboo.en2do.test.alien;
+
+import eu.koboo.en2do.repository.ChangeStreamInvalidation;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.IdBloomFilter;
+import eu.koboo.en2do.repository.Repository;
+
+import java.util.UUID;
+
+@Collection("alien_bloom_filter_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+@IdBloomFilter(expectedEntries = 1_000)
+@ChangeStreamInvalidation
+public interface BloomFilterAlienRepository extends Repository<Alien, UUID> {
+}
@@ -0,0 +1,16 @@
+package eu.koboo.en2do.test.alien;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.EntityCache;
+import eu.koboo.en2do.repository.Repository;
+
+import java.util.UUID;
+
+@Collection("alien_cached_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+@EntityCache(maxEntries = 100)
+public interface CachedAlienRepository extends Repository<Alien, UUID> {
+}
@@ -0,0 +1,18 @@
+package eu.koboo.en2do.test.alien;
+
+import eu.koboo.en2do.repository.ChangeStreamInvalidation;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.EntityCache;
+import eu.koboo.en2do.repository.Repository;
+
+import java.util.UUID;
+
+@Collection("alien_change_stream_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+@EntityCache(maxEntries = 100)
+@ChangeStreamInvalidation
+public interface ChangeStreamAlienRepository extends Repository<Alien, UUID> {
+}
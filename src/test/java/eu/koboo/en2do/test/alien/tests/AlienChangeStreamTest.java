@@ -0,0 +1,78 @@
+package eu.koboo.en2do.test.alien.tests;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.alien.Alien;
+import eu.koboo.en2do.test.alien.ChangeStreamAlienRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AlienChangeStreamTest extends RepositoryTest<Alien, UUID, ChangeStreamAlienRepository> {
+
+    @Override
+    public @NotNull Class<ChangeStreamAlienRepository> repositoryClass() {
+        return ChangeStreamAlienRepository.class;
+    }
+
+    private static final long CONVERGE_TIMEOUT_MILLIS = 10_000;
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Alien> alienList = repository.findAll();
+        assertNotNull(alienList);
+        assertTrue(alienList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void changeOnOtherNode() throws Exception {
+        // Change streams are only supported by replica sets.
+        assumeTrue(manager.isChangeStreamActive(ChangeStreamAlienRepository.class));
+
+        MongoManager otherManager = new MongoManager();
+        try {
+            ChangeStreamAlienRepository otherRepository = otherManager.create(ChangeStreamAlienRepository.class);
+            assertTrue(repository.save(Const.createNewAlien()));
+            // Caches the entity on this node.
+            Alien cachedAlien = repository.findFirstById(Const.UNIQUE_ID);
+            assertNotNull(cachedAlien);
+            assertEquals(3, cachedAlien.getUfoIdList().size());
+
+            Alien otherAlien = otherRepository.findFirstById(Const.UNIQUE_ID);
+            assertNotNull(otherAlien);
+            Map<Long, String> ufoIdList = new HashMap<>(otherAlien.getUfoIdList());
+            ufoIdList.put(40L, "Enterprise");
+            otherAlien.setUfoIdList(ufoIdList);
+            assertTrue(otherRepository.save(otherAlien));
+            awaitConverged(() -> {
+                Alien alien = repository.findFirstById(Const.UNIQUE_ID);
+                return alien != null && alien.getUfoIdList().size() == 4;
+            });
+
+            assertTrue(otherRepository.deleteById(Const.UNIQUE_ID));
+            awaitConverged(() -> repository.findFirstById(Const.UNIQUE_ID) == null);
+        } finally {
+            assertTrue(otherManager.close());
+        }
+    }
+
+    private void awaitConverged(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + CONVERGE_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The cache didn't converge in time.");
+            Thread.sleep(50);
+        }
+    }
+}
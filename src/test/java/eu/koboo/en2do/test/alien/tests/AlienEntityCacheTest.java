@@ -0,0 +1,66 @@
+package eu.koboo.en2do.test.alien.tests;
+
+import eu.koboo.en2do.repository.CacheStats;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.alien.Alien;
+import eu.koboo.en2do.test.alien.CachedAlienRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlienEntityCacheTest extends RepositoryTest<Alien, UUID, CachedAlienRepository> {
+
+    @Override
+    public @NotNull Class<CachedAlienRepository> repositoryClass() {
+        return CachedAlienRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Alien> alienList = repository.findAll();
+        assertNotNull(alienList);
+        assertTrue(alienList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveAlien() {
+        Alien alien = Const.createNewAlien();
+        assertNotNull(alien);
+        assertTrue(repository.save(alien));
+    }
+
+    @Test
+    @Order(3)
+    public void findCachedAlien() {
+        CacheStats statsBefore = manager.getEntityCacheStats(CachedAlienRepository.class);
+        assertNotNull(statsBefore);
+        // The saved entity isn't cached, so the first lookup loads it from the database.
+        assertEquals(0, statsBefore.getSize());
+
+        Alien alien = repository.findFirstById(Const.UNIQUE_ID);
+        assertNotNull(alien);
+        assertSame(alien, repository.findFirstById(Const.UNIQUE_ID));
+
+        CacheStats statsAfter = manager.getEntityCacheStats(CachedAlienRepository.class);
+        assertNotNull(statsAfter);
+        assertEquals(statsBefore.getMissCount() + 1, statsAfter.getMissCount());
+        assertEquals(statsBefore.getHitCount() + 1, statsAfter.getHitCount());
+        assertEquals(1, statsAfter.getSize());
+    }
+
+    @Test
+    @Order(4)
+    public void deleteCachedAlien() {
+        assertTrue(repository.deleteById(Const.UNIQUE_ID));
+        assertNull(repository.findFirstById(Const.UNIQUE_ID));
+        assertFalse(repository.existsById(Const.UNIQUE_ID));
+    }
+}
@@ -0,0 +1,95 @@
+package eu.koboo.en2do.test.alien.tests;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.repository.BloomFilterStats;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.alien.Alien;
+import eu.koboo.en2do.test.alien.BloomFilterAlienRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AlienIdBloomFilterTest extends RepositoryTest<Alien, UUID, BloomFilterAlienRepository> {
+
+    @Override
+    public @NotNull Class<BloomFilterAlienRepository> repositoryClass() {
+        return BloomFilterAlienRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Alien> alienList = repository.findAll();
+        assertNotNull(alienList);
+        assertTrue(alienList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveAlien() {
+        Alien alien = Const.createNewAlien();
+        assertNotNull(alien);
+        assertFalse(repository.existsById(alien.getUniqueId()));
+        assertTrue(repository.save(alien));
+        assertTrue(repository.existsById(alien.getUniqueId()));
+    }
+
+    @Test
+    @Order(3)
+    public void disableWithoutChangeStream() {
+        // Change streams are only supported by replica sets, otherwise inserts of other nodes would be missed.
+        assumeFalse(manager.isChangeStreamActive(BloomFilterAlienRepository.class));
+        assertNull(manager.getIdBloomFilterStats(BloomFilterAlienRepository.class));
+        assertTrue(repository.existsById(Const.UNIQUE_ID));
+    }
+
+    @Test
+    @Order(4)
+    public void filterUnknownIds() {
+        assumeTrue(manager.isChangeStreamActive(BloomFilterAlienRepository.class));
+        BloomFilterStats statsBefore = manager.getIdBloomFilterStats(BloomFilterAlienRepository.class);
+        assertNotNull(statsBefore);
+        assertTrue(statsBefore.getMemoryBytes() > 0);
+        assertTrue(statsBefore.getHashFunctionCount() > 0);
+
+        for (int i = 0; i < 100; i++) {
+            UUID unknownId = UUID.randomUUID();
+            assertFalse(repository.existsById(unknownId));
+            assertNull(repository.findFirstById(unknownId));
+        }
+        assertNotNull(repository.findFirstById(Const.UNIQUE_ID));
+
+        BloomFilterStats statsAfter = manager.getIdBloomFilterStats(BloomFilterAlienRepository.class);
+        assertNotNull(statsAfter);
+        // Every unknown id is either filtered or counted as false positive.
+        long absentCountBefore = statsBefore.getNegativeCount() + statsBefore.getFalsePositiveCount();
+        long absentCountAfter = statsAfter.getNegativeCount() + statsAfter.getFalsePositiveCount();
+        assertEquals(absentCountBefore + 200, absentCountAfter);
+        assertTrue(statsAfter.getObservedFalsePositiveRate() < 0.5);
+    }
+
+    @Test
+    @Order(5)
+    public void saveWithStaleFilter() {
+        MongoManager otherManager = new MongoManager();
+        try {
+            Alien alien = Const.createNewAlien();
+            alien.setUniqueId(UUID.randomUUID());
+            assertTrue(otherManager.create(BloomFilterAlienRepository.class).save(alien));
+            // The filter of this node doesn't know the unique id, until the change stream delivers the insert.
+            assertTrue(repository.save(alien));
+            assertTrue(repository.existsById(alien.getUniqueId()));
+            assertTrue(repository.saveAll(List.of(alien)));
+        } finally {
+            assertTrue(otherManager.close());
+        }
+    }
+}
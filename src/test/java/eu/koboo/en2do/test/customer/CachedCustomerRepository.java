@@ -0,0 +1,35 @@
+package eu.koboo.en2do.test.customer;
+
+import eu.koboo.en2do.repository.AsyncRepository;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.async.Async;
+import eu.koboo.en2do.repository.methods.cache.CacheResult;
+import eu.koboo.en2do.repository.methods.cache.SingleFlight;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Collection("customer_cached_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+public interface CachedCustomerRepository extends Repository<Customer, UUID>, AsyncRepository<Customer, UUID> {
+
+    @CacheResult(ttl = 30)
+    List<Customer> findManyByLastName(String lastName);
+
+    @CacheResult(ttl = 30)
+    long countByLastName(String lastName);
+
+    @SingleFlight
+    Customer findFirstByCity(String city);
+
+    @SingleFlight
+    @Async
+    CompletableFuture<Long> countByCity(String city);
+
+    boolean deleteByFirstName(String firstName);
+}
@@ -1,5 +1,6 @@
 package eu.koboo.en2do.test.customer;
 
+import com.mongodb.client.model.geojson.Point;
 import eu.koboo.en2do.repository.entity.Id;
 import eu.koboo.en2do.repository.entity.ttl.TTLIndex;
 import lombok.*;
@@ -33,9 +34,11 @@ public class Customer {
     Long phoneNumber;
     double balance;
     double balanceRenamed;
+    int boughtByCount; // Field name with the "By" keyword
     List<Order> orders; // Embedded object list
     CustomerType customerType; // enum type
     Date createTime; // 1. ttl object
     Date expireTime; // 2. ttl object
     Map<UUID, String> description;
+    Point location; // GeoJSON point
 }
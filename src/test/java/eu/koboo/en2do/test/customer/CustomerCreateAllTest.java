@@ -0,0 +1,99 @@
+package eu.koboo.en2do.test.customer;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.internal.exception.repository.RepositoryNameDuplicateException;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.test.alien.AlienRepository;
+import eu.koboo.en2do.test.user.UserRepository;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Log
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CustomerCreateAllTest {
+
+    MongoManager manager;
+
+    @Collection("customer_repository")
+    public interface DuplicateCustomerRepository extends Repository<Customer, UUID> {
+    }
+
+    @BeforeAll
+    public void setup() {
+        log.info("Starting Unit-Test [" + getClass().getName() + "]");
+        manager = new MongoManager();
+    }
+
+    @AfterAll
+    public void finish() {
+        log.info("Stopping Unit-Test [" + getClass().getName() + "]");
+        assertTrue(manager.close());
+    }
+
+    @Test
+    public void createAllTest() {
+        Map<Class<?>, Repository<?, ?>> repositoryMap = manager.createAll(CustomerRepository.class,
+            UserRepository.class, AlienRepository.class, CustomerRepository.class);
+        assertEquals(3, repositoryMap.size());
+        assertEquals(List.of(CustomerRepository.class, UserRepository.class, AlienRepository.class),
+            new ArrayList<>(repositoryMap.keySet()));
+
+        // The repositories are only created once.
+        assertSame(repositoryMap.get(CustomerRepository.class), manager.create(CustomerRepository.class));
+        assertSame(repositoryMap.get(UserRepository.class), manager.create(UserRepository.class));
+        assertSame(repositoryMap.get(AlienRepository.class),
+            manager.createAll(AlienRepository.class).get(AlienRepository.class));
+    }
+
+    @Test
+    public void concurrentCreateTest() throws Exception {
+        MongoManager concurrentManager = new MongoManager();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CustomerRepository>> futureList = new ArrayList<>();
+            CountDownLatch startLatch = new CountDownLatch(1);
+            for (int i = 0; i < 8; i++) {
+                futureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return concurrentManager.create(CustomerRepository.class);
+                }));
+            }
+            startLatch.countDown();
+            CustomerRepository repository = futureList.get(0).get(30, TimeUnit.SECONDS);
+            assertNotNull(repository);
+            for (Future<CustomerRepository> future : futureList) {
+                assertSame(repository, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdown();
+            assertTrue(concurrentManager.close());
+        }
+    }
+
+    @Test
+    public void duplicateCollectionTest() {
+        MongoManager duplicateManager = new MongoManager();
+        try {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> duplicateManager.createAll(CustomerRepository.class, DuplicateCustomerRepository.class));
+            assertInstanceOf(RepositoryNameDuplicateException.class, exception.getCause());
+            // Only one of the repositories reserved the collection name.
+            assertNotEquals(duplicateManager.isCreated(CustomerRepository.class),
+                duplicateManager.isCreated(DuplicateCustomerRepository.class));
+        } finally {
+            assertTrue(duplicateManager.close());
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package eu.koboo.en2do.test.customer;
 
 import eu.koboo.en2do.repository.*;
+import eu.koboo.en2do.repository.methods.aggregation.Aggregation;
 import eu.koboo.en2do.repository.methods.async.Async;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
 import eu.koboo.en2do.repository.methods.sort.Limit;
 import eu.koboo.en2do.repository.methods.sort.Skip;
@@ -11,8 +13,10 @@ import eu.koboo.en2do.repository.methods.sort.SortBy;
 import eu.koboo.en2do.repository.methods.transform.Transform;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
 @Collection("customer_repository")
@@ -40,6 +44,16 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
 
     boolean existsByLastNameContains(String lastNamePart);
 
+    List<Customer> findManyByLastNameStartsWith(String lastNamePrefix);
+
+    List<Customer> findManyByOrdersElemMatch(Order order);
+
+    List<Customer> findManyByOrdersSize(int orderCount);
+
+    List<Customer> findManyByOrdersPositionIdsAll(List<Integer> positionIdList);
+
+    List<Customer> findManyByOrdersPositionIdsContainsElement(int positionId);
+
     Customer findFirstByFirstNameIgn(String firstname);
 
     Customer findFirstByBalanceGreaterThan(double balance);
@@ -62,6 +76,9 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
 
     List<Customer> findManyByCustomerIdOrCustomerId(int customerId1, int customerId2);
 
+    @SortBy(field = "customerId", ascending = true)
+    LazyList<Customer> findManyByCity(String city);
+
     List<Customer> findManyByCustomerIdIn(List<Integer> customerIdList);
 
     List<Customer> findManyByCustomerIdNotIn(List<Integer> customerIdList);
@@ -87,4 +104,18 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
     List<Customer> pageByCustomerIdNot(int customerId, Pagination sorter);
 
     boolean updateFieldsByFirstName(String firstName, UpdateBatch updateBatch);
+
+    double sumBalanceByCustomerId(int customerId);
+
+    double sumBoughtByCountByCustomerId(int customerId);
+
+    double avgBoughtByCount();
+
+    Map<CustomerType, Long> countGroupedByCustomerType();
+
+    @Aggregation("[{$match: {city: ?0}}, {$sort: {customerId: 1}}]")
+    List<Customer> aggregateByCity(String city);
+
+    @Aggregation("[{$match: {customerId: {$gte: ?0}}}, {$sort: {customerId: -1}}, {$limit: ?1}]")
+    Stream<Customer> streamByCustomerIdGreaterEq(int customerId, int limit);
 }
@@ -0,0 +1,30 @@
+package eu.koboo.en2do.test.customer;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.GenerateImplementation;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.async.Async;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Collection("customer_generated_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+@GenerateImplementation
+public interface GeneratedCustomerRepository extends Repository<Customer, UUID> {
+
+    Customer findFirstByCustomerId(int customerId);
+
+    List<Customer> findManyByCity(String city);
+
+    long countByCity(String city);
+
+    boolean existsByFirstName(String firstName);
+
+    @Async
+    CompletableFuture<Customer> findFirstByFirstName(String firstName);
+}
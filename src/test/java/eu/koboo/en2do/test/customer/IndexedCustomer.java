@@ -0,0 +1,35 @@
+package eu.koboo.en2do.test.customer;
+
+import com.mongodb.client.model.geojson.Point;
+import eu.koboo.en2do.repository.entity.CaseInsensitive;
+import eu.koboo.en2do.repository.entity.Id;
+import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
+import eu.koboo.en2do.repository.entity.compound.Index;
+import eu.koboo.en2do.repository.entity.geo.GeoIndex;
+import eu.koboo.en2do.repository.entity.text.TextIndex;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter // lombok
+@Setter // lombok
+@NoArgsConstructor // lombok
+@FieldDefaults(level = AccessLevel.PRIVATE) // lombok
+@ToString // lombok
+@TextIndex({"firstName", "lastName"}) // en2do - Allows "Search" filters on the names
+@GeoIndex("location") // en2do - Allows "Near" filters on the location
+@CompoundIndex(@Index("orders.orderText")) // en2do - Index on a field of the embedded orders
+public class IndexedCustomer {
+
+    @Id // en2do
+    UUID uniqueId;
+
+    int customerId;
+    @CaseInsensitive // en2do - "Ign" filters use a case-insensitive index
+    String firstName;
+    String lastName;
+    List<Order> orders; // Embedded object list
+    Point location; // GeoJSON point
+}
@@ -0,0 +1,32 @@
+package eu.koboo.en2do.test.customer;
+
+import com.mongodb.client.model.geojson.Point;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.sort.SortByTextScore;
+
+import java.util.List;
+import java.util.UUID;
+
+@Collection("customer_indexed_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+public interface IndexedCustomerRepository extends Repository<IndexedCustomer, UUID> {
+
+    IndexedCustomer findFirstByFirstNameIgn(String firstName);
+
+    IndexedCustomer findFirstByLastNameIgn(String lastName);
+
+    @SortByTextScore
+    List<IndexedCustomer> findManyByLastNameSearch(String text);
+
+    List<IndexedCustomer> findManyByLocationNear(Point point, double maxDistanceMeters);
+
+    List<IndexedCustomer> findManyByLocationWithinRadius(Point center, double radiusMeters);
+
+    List<IndexedCustomer> findManyByLocationWithinBox(Point lowerLeft, Point upperRight);
+
+    List<IndexedCustomer> findManyByOrdersOrderText(String orderText);
+}
@@ -0,0 +1,25 @@
+package eu.koboo.en2do.test.customer;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.DropEntitiesOnStart;
+import eu.koboo.en2do.repository.DropIndexesOnStart;
+import eu.koboo.en2do.repository.Preload;
+import eu.koboo.en2do.repository.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Collection("customer_preload_repository")
+@DropIndexesOnStart
+@DropEntitiesOnStart
+@Preload(refreshInterval = 1)
+public interface PreloadedCustomerRepository extends Repository<Customer, UUID> {
+
+    Customer findFirstByCustomerId(int customerId);
+
+    List<Customer> findManyByCityAndCustomerType(String city, CustomerType customerType);
+
+    long countByCity(String city);
+
+    boolean existsByFirstName(String firstName);
+}
@@ -0,0 +1,178 @@
+package eu.koboo.en2do.test.customer.benchmark;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.geojson.Point;
+import com.mongodb.client.model.geojson.Position;
+import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.internal.codec.InternalPropertyCodecProvider;
+import eu.koboo.en2do.internal.codec.entity.EntityCodec;
+import eu.koboo.en2do.internal.codec.entity.EntityCodecProvider;
+import eu.koboo.en2do.internal.convention.AnnotationConvention;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepository;
+import lombok.extern.java.Log;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonString;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.Convention;
+import org.bson.codecs.pojo.Conventions;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static org.bson.codecs.configuration.CodecRegistries.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the generated entity codec against the pojo-codec, which encoded the entities before.
+ * The entities are only encoded to and decoded from documents, so the benchmark doesn't need a running MongoDB server.
+ */
+@Log
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CustomerCodecBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 10_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    MongoClient client;
+    Codec<Customer> pojoCodec;
+    Codec<Customer> generatedCodec;
+    Customer customer;
+
+    @BeforeAll
+    public void setup() throws Exception {
+        // The client connects lazily, so no server is contacted, as long as no query is executed.
+        client = MongoClients.create();
+        Map<Class<?>, RepositoryMeta<?, ?, ?>> repositoryMetaRegistry = new HashMap<>();
+        List<Convention> conventionList = List.of(
+            new AnnotationConvention(repositoryMetaRegistry),
+            Conventions.ANNOTATION_CONVENTION,
+            Conventions.SET_PRIVATE_FIELDS_CONVENTION,
+            Conventions.USE_GETTERS_FOR_SETTERS
+        );
+        PojoCodecProvider pojoCodecProvider = PojoCodecProvider.builder()
+            .register(new InternalPropertyCodecProvider())
+            .automatic(true)
+            .conventions(conventionList)
+            .build();
+        EntityCodecProvider entityCodecProvider = new EntityCodecProvider(conventionList);
+
+        CodecRegistry pojoRegistry = withUuidRepresentation(fromRegistries(
+            MongoClientSettings.getDefaultCodecRegistry(), fromProviders(pojoCodecProvider)), UuidRepresentation.STANDARD);
+        CodecRegistry generatedRegistry = withUuidRepresentation(fromRegistries(
+            MongoClientSettings.getDefaultCodecRegistry(), fromProviders(entityCodecProvider),
+            fromProviders(pojoCodecProvider)), UuidRepresentation.STANDARD);
+
+        // The codec is generated before the meta is registered, like on the creation of a repository.
+        assertTrue(entityCodecProvider.register(Customer.class, "uniqueId"));
+
+        // The meta is registered, so the pojo-codec encodes the unique id as "_id".
+        MongoCollection<Customer> collection = client.getDatabase("benchmark")
+            .getCollection("customer_benchmark", Customer.class);
+        Field uniqueIdField = Customer.class.getDeclaredField("uniqueId");
+        repositoryMetaRegistry.put(CustomerRepository.class, new RepositoryMeta<>(
+            CustomerRepository.class, Customer.class, new HashSet<>(Arrays.asList(Customer.class.getDeclaredFields())),
+            UUID.class, uniqueIdField, collection, "customer_benchmark"));
+
+        pojoCodec = pojoRegistry.get(Customer.class);
+        generatedCodec = generatedRegistry.get(Customer.class);
+
+        customer = Const.createNewCustomer();
+        customer.setLocation(new Point(new Position(12.34, 56.78)));
+        customer.setExpireTime(new Date());
+    }
+
+    @AfterAll
+    public void finish() {
+        client.close();
+    }
+
+    @Test
+    public void generatedCodecMatchesPojoCodec() {
+        assertInstanceOf(EntityCodec.class, generatedCodec);
+        assertFalse(pojoCodec instanceof EntityCodec);
+
+        BsonDocument pojoDocument = encode(pojoCodec, customer);
+        BsonDocument generatedDocument = encode(generatedCodec, customer);
+        assertEquals(pojoDocument, generatedDocument);
+        assertTrue(generatedDocument.isBinary("_id"));
+        assertFalse(generatedDocument.containsKey("uniqueId"));
+        // Null values aren't written.
+        assertFalse(generatedDocument.containsKey("createTime"));
+
+        // Both codecs have to decode the documents of the other codec.
+        Customer generatedCustomer = decode(generatedCodec, pojoDocument);
+        assertEquals(customer.getUniqueId(), generatedCustomer.getUniqueId());
+        assertEquals(customer.getDescription(), generatedCustomer.getDescription());
+        assertEquals(pojoDocument, encode(pojoCodec, generatedCustomer));
+        assertEquals(generatedDocument, encode(generatedCodec, decode(pojoCodec, generatedDocument)));
+    }
+
+    @Test
+    public void generatedCodecDecodesReorderedDocuments() {
+        BsonDocument document = encode(generatedCodec, customer);
+        BsonDocument reorderedDocument = new BsonDocument();
+        List<String> keyList = new ArrayList<>(document.keySet());
+        Collections.reverse(keyList);
+        for (String key : keyList) {
+            reorderedDocument.put(key, document.get(key));
+        }
+        reorderedDocument.put("unknownField", new BsonString("ignored"));
+
+        Customer decodedCustomer = decode(generatedCodec, reorderedDocument);
+        assertEquals(customer.getFirstName(), decodedCustomer.getFirstName());
+        assertEquals(document, encode(generatedCodec, decodedCustomer));
+    }
+
+    @Test
+    public void benchmarkGeneratedAgainstPojoCodec() {
+        // The map keys are converted by the same GenericMapCodec in both codecs, which would dominate the time.
+        Customer benchmarkCustomer = Const.createNewCustomer();
+        benchmarkCustomer.setDescription(null);
+        BsonDocument document = encode(pojoCodec, benchmarkCustomer);
+        measure(pojoCodec, document, WARMUP_ITERATIONS);
+        measure(generatedCodec, document, WARMUP_ITERATIONS);
+
+        long pojoNanos = measure(pojoCodec, document, MEASURED_ITERATIONS);
+        long generatedNanos = measure(generatedCodec, document, MEASURED_ITERATIONS);
+        log.info("Pojo-codec: " + (pojoNanos / MEASURED_ITERATIONS) + " ns/op, " +
+            "generated codec: " + (generatedNanos / MEASURED_ITERATIONS) + " ns/op");
+        assertTrue(generatedNanos > 0);
+    }
+
+    private long measure(Codec<Customer> codec, BsonDocument document, int iterations) {
+        int encodedSize = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            encodedSize += encode(codec, decode(codec, document)).size();
+        }
+        long nanos = System.nanoTime() - start;
+        assertEquals(iterations * document.size(), encodedSize);
+        return nanos;
+    }
+
+    private static BsonDocument encode(Codec<Customer> codec, Customer customer) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), customer, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static Customer decode(Codec<Customer> codec, BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
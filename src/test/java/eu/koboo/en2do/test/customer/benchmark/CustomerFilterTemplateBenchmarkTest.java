@@ -0,0 +1,136 @@
+package eu.koboo.en2do.test.customer.benchmark;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import eu.koboo.en2do.internal.RepositoryMeta;
+import eu.koboo.en2do.internal.methods.dynamic.DynamicMethod;
+import eu.koboo.en2do.internal.methods.dynamic.FilterType;
+import eu.koboo.en2do.internal.methods.dynamic.MethodFilterPart;
+import eu.koboo.en2do.internal.methods.operators.FilterOperator;
+import eu.koboo.en2do.internal.methods.operators.MethodOperator;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepository;
+import lombok.extern.java.Log;
+import org.bson.BsonDocument;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the precompiled filter template of a dynamic method against building the filter on every call.
+ * The filters are only created and encoded, so the benchmark doesn't need a running MongoDB server.
+ */
+@Log
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CustomerFilterTemplateBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    MongoClient client;
+    CodecRegistry codecRegistry;
+    DynamicMethod<Customer, UUID, CustomerRepository> dynamicMethod;
+
+    @BeforeAll
+    public void setup() throws Exception {
+        // The client connects lazily, so no server is contacted, as long as no query is executed.
+        client = MongoClients.create();
+        codecRegistry = CodecRegistries.withUuidRepresentation(MongoClientSettings.getDefaultCodecRegistry(),
+            UuidRepresentation.STANDARD);
+        MongoCollection<Customer> collection = client.getDatabase("benchmark")
+            .getCollection("customer_benchmark", Customer.class)
+            .withCodecRegistry(codecRegistry);
+        Field uniqueIdField = Customer.class.getDeclaredField("uniqueId");
+        RepositoryMeta<Customer, UUID, CustomerRepository> repositoryMeta = new RepositoryMeta<>(
+            CustomerRepository.class, Customer.class, new HashSet<>(Arrays.asList(Customer.class.getDeclaredFields())),
+            UUID.class, uniqueIdField, collection, "customer_benchmark");
+        List<MethodFilterPart> filterPartList = List.of(
+            createFilterPart("firstName", 0),
+            createFilterPart("uniqueId", 1)
+        );
+        dynamicMethod = new DynamicMethod<>(
+            CustomerRepository.class.getMethod("findFirstByFirstNameAndUniqueId", String.class, UUID.class),
+            repositoryMeta, MethodOperator.FIND_FIRST, true, true, filterPartList, null, null);
+    }
+
+    @AfterAll
+    public void finish() {
+        client.close();
+    }
+
+    @Test
+    public void templateMatchesSameFields() throws Exception {
+        UUID uniqueId = UUID.randomUUID();
+        BsonDocument filterDocument = encode(dynamicMethod.createBsonFilter(new Object[]{"Rainer", uniqueId}));
+        assertEquals(2, filterDocument.size());
+        assertEquals("Rainer", filterDocument.getString("firstName").getValue());
+        assertTrue(filterDocument.isBinary("uniqueId"));
+        assertFalse(filterDocument.containsKey("$and"));
+    }
+
+    @Test
+    public void benchmarkTemplateAgainstPerCallFilter() throws Exception {
+        Object[][] argumentsArray = new Object[1024][];
+        for (int i = 0; i < argumentsArray.length; i++) {
+            argumentsArray[i] = new Object[]{"Rainer" + i, UUID.randomUUID()};
+        }
+        measureLegacy(argumentsArray, WARMUP_ITERATIONS);
+        measureTemplate(argumentsArray, WARMUP_ITERATIONS);
+
+        long legacyNanos = measureLegacy(argumentsArray, MEASURED_ITERATIONS);
+        long templateNanos = measureTemplate(argumentsArray, MEASURED_ITERATIONS);
+        log.info("Per-call filter: " + (legacyNanos / MEASURED_ITERATIONS) + " ns/op, " +
+            "filter template: " + (templateNanos / MEASURED_ITERATIONS) + " ns/op");
+        assertTrue(templateNanos > 0);
+    }
+
+    private long measureLegacy(Object[][] argumentsArray, int iterations) {
+        int encodedSize = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Object[] arguments = argumentsArray[i & (argumentsArray.length - 1)];
+            // That's how the filter was created before, by processing every filter part on every call.
+            List<Bson> filterList = new LinkedList<>();
+            filterList.add(Filters.eq("firstName", arguments[0]));
+            filterList.add(Filters.eq("uniqueId", arguments[1]));
+            encodedSize += encode(Filters.and(filterList)).size();
+        }
+        long nanos = System.nanoTime() - start;
+        assertEquals(iterations, encodedSize);
+        return nanos;
+    }
+
+    private long measureTemplate(Object[][] argumentsArray, int iterations) throws Exception {
+        int encodedSize = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Object[] arguments = argumentsArray[i & (argumentsArray.length - 1)];
+            encodedSize += encode(dynamicMethod.createBsonFilter(arguments)).size();
+        }
+        long nanos = System.nanoTime() - start;
+        assertEquals(iterations * 2, encodedSize);
+        return nanos;
+    }
+
+    private BsonDocument encode(Bson filter) {
+        return filter.toBsonDocument(BsonDocument.class, codecRegistry);
+    }
+
+    private static MethodFilterPart createFilterPart(String fieldName, int parameterIndex) throws Exception {
+        Field field = Customer.class.getDeclaredField(fieldName);
+        return new MethodFilterPart(new FilterType(field, fieldName, false, FilterOperator.EQUALS), parameterIndex);
+    }
+}
@@ -0,0 +1,54 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerAggregationAnnotationTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        List<Customer> customerList = repository.aggregateByCity(Const.CITY);
+        assertNotNull(customerList);
+        assertEquals(5, customerList.size());
+        assertEquals(0, customerList.get(0).getCustomerId());
+        assertTrue(repository.aggregateByCity("Nowhere").isEmpty());
+
+        List<Integer> customerIdList;
+        try (Stream<Customer> customerStream = repository.streamByCustomerIdGreaterEq(2, 2)) {
+            customerIdList = customerStream.map(Customer::getCustomerId).collect(Collectors.toList());
+        }
+        assertEquals(List.of(4, 3), customerIdList);
+    }
+}
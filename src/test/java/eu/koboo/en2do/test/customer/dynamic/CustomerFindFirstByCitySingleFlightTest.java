@@ -0,0 +1,82 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.CachedCustomerRepository;
+import eu.koboo.en2do.test.customer.Customer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindFirstByCitySingleFlightTest extends RepositoryTest<Customer, UUID, CachedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<CachedCustomerRepository> repositoryClass() {
+        return CachedCustomerRepository.class;
+    }
+
+    private static final int CALLER_COUNT = 32;
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(CALLER_COUNT);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<Customer>> customerFutureList = new ArrayList<>();
+            List<Future<Long>> countFutureList = new ArrayList<>();
+            for (int i = 0; i < CALLER_COUNT; i++) {
+                customerFutureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return repository.findFirstByCity(Const.CITY);
+                }));
+                countFutureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return repository.countByCity(Const.CITY).get(10, TimeUnit.SECONDS);
+                }));
+            }
+            startLatch.countDown();
+            for (Future<Customer> customerFuture : customerFutureList) {
+                Customer customer = customerFuture.get(10, TimeUnit.SECONDS);
+                assertNotNull(customer);
+                assertEquals(Const.CITY, customer.getCity());
+            }
+            for (Future<Long> countFuture : countFutureList) {
+                assertEquals(5, countFuture.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        // Nothing is cached, so later calls see the changes.
+        assertTrue(repository.drop());
+        assertNull(repository.findFirstByCity(Const.CITY));
+        assertEquals(0, repository.countByCity(Const.CITY).get(10, TimeUnit.SECONDS));
+    }
+}
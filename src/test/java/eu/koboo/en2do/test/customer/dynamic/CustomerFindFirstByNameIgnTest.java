@@ -0,0 +1,56 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.IndexedCustomer;
+import eu.koboo.en2do.test.customer.IndexedCustomerRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindFirstByNameIgnTest extends RepositoryTest<IndexedCustomer, UUID, IndexedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<IndexedCustomerRepository> repositoryClass() {
+        return IndexedCustomerRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<IndexedCustomer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        IndexedCustomer customer = Const.createNewIndexedCustomer();
+        assertNotNull(customer);
+        assertTrue(repository.save(customer));
+        assertTrue(repository.exists(customer));
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        // firstName is annotated with @CaseInsensitive and uses the collation of its index.
+        IndexedCustomer customer = repository.findFirstByFirstNameIgn(Const.FIRST_NAME.toUpperCase());
+        assertNotNull(customer);
+        assertEquals(Const.FIRST_NAME, customer.getFirstName());
+        assertNull(repository.findFirstByFirstNameIgn(Const.FIRST_NAME.substring(1)));
+
+        // lastName isn't annotated and falls back to an escaped regex.
+        customer = repository.findFirstByLastNameIgn(Const.LAST_NAME.toLowerCase());
+        assertNotNull(customer);
+        assertEquals(Const.LAST_NAME, customer.getLastName());
+        assertNull(repository.findFirstByLastNameIgn("Zuf.ll"));
+        assertNull(repository.findFirstByLastNameIgn(".*"));
+    }
+}
@@ -0,0 +1,69 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.CachedCustomerRepository;
+import eu.koboo.en2do.test.customer.Customer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyLastNameCacheResultTest extends RepositoryTest<Customer, UUID, CachedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<CachedCustomerRepository> repositoryClass() {
+        return CachedCustomerRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 3; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        List<Customer> customerList = repository.findManyByLastName(Const.LAST_NAME);
+        assertNotNull(customerList);
+        assertEquals(3, customerList.size());
+        // The same arguments return the same cached, immutable result.
+        assertSame(customerList, repository.findManyByLastName(Const.LAST_NAME));
+        assertThrows(UnsupportedOperationException.class, () -> customerList.remove(0));
+        assertEquals(3, repository.countByLastName(Const.LAST_NAME));
+        assertTrue(repository.findManyByLastName("Unknown").isEmpty());
+
+        // Any write through the repository invalidates the cached results.
+        Customer customer = Const.createNewCustomer();
+        customer.setUniqueId(UUID.randomUUID());
+        customer.setCustomerId(3);
+        assertTrue(repository.save(customer));
+        List<Customer> updatedCustomerList = repository.findManyByLastName(Const.LAST_NAME);
+        assertNotSame(customerList, updatedCustomerList);
+        assertEquals(4, updatedCustomerList.size());
+        assertEquals(4, repository.countByLastName(Const.LAST_NAME));
+
+        assertTrue(repository.deleteByFirstName(Const.FIRST_NAME));
+        assertTrue(repository.findManyByLastName(Const.LAST_NAME).isEmpty());
+        assertEquals(0, repository.countByLastName(Const.LAST_NAME));
+    }
+}
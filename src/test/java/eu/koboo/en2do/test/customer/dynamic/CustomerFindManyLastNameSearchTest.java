@@ -0,0 +1,62 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.IndexedCustomer;
+import eu.koboo.en2do.test.customer.IndexedCustomerRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyLastNameSearchTest extends RepositoryTest<IndexedCustomer, UUID, IndexedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<IndexedCustomerRepository> repositoryClass() {
+        return IndexedCustomerRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<IndexedCustomer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 3; i++) {
+            IndexedCustomer customer = Const.createNewIndexedCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            if (i == 1) {
+                // Matches in both indexed fields, so it has the highest text score.
+                customer.setFirstName(Const.LAST_NAME);
+            }
+            if (i == 2) {
+                customer.setLastName("Anders");
+            }
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        List<IndexedCustomer> customerList = repository.findManyByLastNameSearch(Const.LAST_NAME.toLowerCase());
+        assertNotNull(customerList);
+        assertEquals(2, customerList.size());
+        assertEquals(1, customerList.get(0).getCustomerId());
+        assertEquals(0, customerList.get(1).getCustomerId());
+
+        assertTrue(repository.findManyByLastNameSearch("Nowhere").isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyLastNameStartsWithTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 3; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            if (i == 2) {
+                customer.setLastName("Anders");
+            }
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        List<Customer> customerList = repository.findManyByLastNameStartsWith("Zuf");
+        assertNotNull(customerList);
+        assertEquals(2, customerList.size());
+        for (Customer customer : customerList) {
+            assertEquals(Const.LAST_NAME, customer.getLastName());
+        }
+        // The prefix is case-sensitive and escaped.
+        assertTrue(repository.findManyByLastNameStartsWith("zuf").isEmpty());
+        assertTrue(repository.findManyByLastNameStartsWith("Zu.").isEmpty());
+        assertTrue(repository.findManyByLastNameStartsWith("fall").isEmpty());
+    }
+}
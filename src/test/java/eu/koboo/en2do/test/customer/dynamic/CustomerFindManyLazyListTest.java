@@ -0,0 +1,63 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.repository.methods.lazy.LazyList;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyLazyListTest extends CustomerRepositoryTest {
+
+    private static final int CUSTOMER_COUNT = 250;
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        List<Customer> customerList = new ArrayList<>();
+        for (int i = 0; i < CUSTOMER_COUNT; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            customerList.add(customer);
+        }
+        assertTrue(repository.saveAll(customerList));
+        assertEquals(CUSTOMER_COUNT, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        LazyList<Customer> customerList = repository.findManyByCity(Const.CITY);
+        assertNotNull(customerList);
+        assertEquals(CUSTOMER_COUNT, customerList.size());
+
+        int expectedCustomerId = 0;
+        for (Customer customer : customerList) {
+            assertEquals(expectedCustomerId, customer.getCustomerId());
+            expectedCustomerId++;
+        }
+        assertEquals(CUSTOMER_COUNT, expectedCustomerId);
+
+        assertEquals(42, customerList.get(42).getCustomerId());
+        assertEquals(CUSTOMER_COUNT - 1, customerList.get(CUSTOMER_COUNT - 1).getCustomerId());
+        assertThrows(IndexOutOfBoundsException.class, () -> customerList.get(CUSTOMER_COUNT));
+
+        assertTrue(repository.findManyByCity("Nowhere").isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import com.mongodb.client.model.geojson.Point;
+import com.mongodb.client.model.geojson.Position;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.IndexedCustomer;
+import eu.koboo.en2do.test.customer.IndexedCustomerRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyLocationNearTest extends RepositoryTest<IndexedCustomer, UUID, IndexedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<IndexedCustomerRepository> repositoryClass() {
+        return IndexedCustomerRepository.class;
+    }
+
+    private static final Point BERLIN = new Point(new Position(13.405, 52.52));
+    private static final Point POTSDAM = new Point(new Position(13.0645, 52.3906));
+    private static final Point MUNICH = new Point(new Position(11.582, 48.1351));
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<IndexedCustomer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        List<Point> locationList = List.of(MUNICH, POTSDAM, BERLIN);
+        for (int i = 0; i < locationList.size(); i++) {
+            IndexedCustomer customer = Const.createNewIndexedCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            customer.setLocation(locationList.get(i));
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        // Potsdam is about 27 kilometers away from Berlin, Munich about 500 kilometers.
+        List<IndexedCustomer> nearList = repository.findManyByLocationNear(BERLIN, 50_000);
+        assertEquals(List.of(2, 1), toCustomerIds(nearList));
+        assertEquals(POTSDAM, nearList.get(1).getLocation());
+
+        List<IndexedCustomer> radiusList = repository.findManyByLocationWithinRadius(BERLIN, 1_000_000);
+        assertEquals(3, radiusList.size());
+        assertTrue(repository.findManyByLocationWithinRadius(BERLIN, 1_000).stream()
+            .allMatch(customer -> customer.getCustomerId() == 2));
+
+        List<IndexedCustomer> boxList = repository.findManyByLocationWithinBox(new Point(new Position(13.0, 52.0)),
+            new Point(new Position(14.0, 53.0)));
+        assertEquals(2, boxList.size());
+        assertFalse(toCustomerIds(boxList).contains(0));
+    }
+
+    private List<Integer> toCustomerIds(List<IndexedCustomer> customerList) {
+        return customerList.stream().map(IndexedCustomer::getCustomerId).collect(Collectors.toList());
+    }
+}
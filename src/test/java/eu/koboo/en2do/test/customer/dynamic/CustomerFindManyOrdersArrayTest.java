@@ -0,0 +1,58 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import eu.koboo.en2do.test.customer.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyOrdersArrayTest extends CustomerRepositoryTest {
+
+    @Test
+    @org.junit.jupiter.api.Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 3; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            if (i == 2) {
+                customer.setOrders(List.of(new Order("Special", 4.0, List.of(5, 6))));
+            }
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(3)
+    public void operationTest() {
+        // Null fields of the example aren't encoded, so only text and price have to match.
+        List<Customer> customerList = repository.findManyByOrdersElemMatch(new Order("Special", 4.0, null));
+        assertEquals(1, customerList.size());
+        assertEquals(2, customerList.get(0).getCustomerId());
+        assertTrue(repository.findManyByOrdersElemMatch(new Order("Special", 1.0, null)).isEmpty());
+
+        assertEquals(2, repository.findManyByOrdersSize(Const.ORDERS.size()).size());
+        assertEquals(1, repository.findManyByOrdersSize(1).size());
+
+        assertEquals(1, repository.findManyByOrdersPositionIdsAll(List.of(5, 6)).size());
+        assertTrue(repository.findManyByOrdersPositionIdsAll(List.of(1, 6)).isEmpty());
+
+        assertEquals(2, repository.findManyByOrdersPositionIdsContainsElement(1).size());
+        assertTrue(repository.findManyByOrdersPositionIdsContainsElement(42).isEmpty());
+    }
+}
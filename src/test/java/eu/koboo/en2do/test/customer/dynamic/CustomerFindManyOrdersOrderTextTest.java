@@ -0,0 +1,61 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.IndexedCustomer;
+import eu.koboo.en2do.test.customer.IndexedCustomerRepository;
+import eu.koboo.en2do.test.customer.Order;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyOrdersOrderTextTest extends RepositoryTest<IndexedCustomer, UUID, IndexedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<IndexedCustomerRepository> repositoryClass() {
+        return IndexedCustomerRepository.class;
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(1)
+    public void cleanUpRepository() {
+        List<IndexedCustomer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 3; i++) {
+            IndexedCustomer customer = Const.createNewIndexedCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            if (i == 2) {
+                customer.setOrders(List.of(new Order("Special", 4.0, List.of(5, 6))));
+            }
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(3)
+    public void operationTest() {
+        // Resolves to "orders.orderText", which matches any element of the embedded list.
+        List<IndexedCustomer> customerList = repository.findManyByOrdersOrderText("Second");
+        assertNotNull(customerList);
+        assertEquals(2, customerList.size());
+
+        customerList = repository.findManyByOrdersOrderText("Special");
+        assertEquals(1, customerList.size());
+        assertEquals(2, customerList.get(0).getCustomerId());
+
+        assertTrue(repository.findManyByOrdersOrderText("Nothing").isEmpty());
+    }
+}
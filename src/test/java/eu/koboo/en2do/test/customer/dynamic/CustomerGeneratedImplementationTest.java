@@ -0,0 +1,62 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.GeneratedCustomerRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerGeneratedImplementationTest extends RepositoryTest<Customer, UUID, GeneratedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<GeneratedCustomerRepository> repositoryClass() {
+        return GeneratedCustomerRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        assertFalse(Proxy.isProxyClass(repository.getClass()));
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        Customer customer = Const.createNewCustomer();
+        assertNotNull(customer);
+        assertTrue(repository.save(customer));
+        assertTrue(repository.exists(customer));
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        Customer customer = repository.findFirstByCustomerId(Const.CUSTOMER_ID);
+        assertNotNull(customer);
+        assertEquals(Const.UNIQUE_ID, customer.getUniqueId());
+        assertNull(repository.findFirstByCustomerId(Const.CUSTOMER_ID + 1));
+
+        assertEquals(1, repository.findManyByCity(Const.CITY).size());
+        assertEquals(1, repository.countByCity(Const.CITY));
+        assertTrue(repository.existsByFirstName(Const.FIRST_NAME));
+        assertFalse(repository.existsByFirstName("Unknown"));
+
+        Customer asyncCustomer = repository.findFirstByFirstName(Const.FIRST_NAME).join();
+        assertNotNull(asyncCustomer);
+        assertEquals(Const.UNIQUE_ID, asyncCustomer.getUniqueId());
+
+        assertEquals(repository.hashCode(), repository.hashCode());
+        assertNotNull(repository.toString());
+    }
+}
@@ -0,0 +1,64 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.RepositoryTest;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.PreloadedCustomerRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerPreloadTest extends RepositoryTest<Customer, UUID, PreloadedCustomerRepository> {
+
+    @Override
+    public @NotNull Class<PreloadedCustomerRepository> repositoryClass() {
+        return PreloadedCustomerRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        Customer customer = Const.createNewCustomer();
+        assertNotNull(customer);
+        assertTrue(repository.save(customer));
+        // The save marks the snapshot as stale, so the method is queried and the snapshot is refreshed.
+        assertFalse(manager.isPreloadCurrent(PreloadedCustomerRepository.class));
+        assertNotNull(repository.findFirstByCustomerId(Const.CUSTOMER_ID));
+    }
+
+    @Test
+    @Order(3)
+    public void findPreloadedCustomer() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!manager.isPreloadCurrent(PreloadedCustomerRepository.class) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(manager.isPreloadCurrent(PreloadedCustomerRepository.class));
+
+        Customer customer = repository.findFirstByCustomerId(Const.CUSTOMER_ID);
+        assertNotNull(customer);
+        assertEquals(Const.UNIQUE_ID, customer.getUniqueId());
+        assertNull(repository.findFirstByCustomerId(Const.CUSTOMER_ID + 1));
+
+        List<Customer> customerList = repository.findManyByCityAndCustomerType(Const.CITY, Const.TYPE);
+        assertEquals(1, customerList.size());
+        assertTrue(repository.findManyByCityAndCustomerType("Unknown", Const.TYPE).isEmpty());
+
+        assertEquals(1, repository.countByCity(Const.CITY));
+        assertTrue(repository.existsByFirstName(Const.FIRST_NAME));
+        assertFalse(repository.existsByFirstName("Unknown"));
+    }
+}
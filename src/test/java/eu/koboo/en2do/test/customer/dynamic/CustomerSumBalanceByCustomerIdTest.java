@@ -0,0 +1,54 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import eu.koboo.en2do.test.customer.CustomerType;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerSumBalanceByCustomerIdTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 3; i++) {
+            Customer customer = Const.createNewCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        double balanceSum = repository.sumBalanceByCustomerId(Const.CUSTOMER_ID);
+        assertEquals(Const.BALANCE * 3, balanceSum, 0.001);
+        assertEquals(0, repository.sumBalanceByCustomerId(Const.CUSTOMER_ID + 1));
+
+        // The aggregated field contains the "By" keyword itself.
+        assertEquals(Const.BOUGHT_BY_COUNT * 3, repository.sumBoughtByCountByCustomerId(Const.CUSTOMER_ID), 0.001);
+        assertEquals(Const.BOUGHT_BY_COUNT, repository.avgBoughtByCount(), 0.001);
+
+        Map<CustomerType, Long> groupedCountMap = repository.countGroupedByCustomerType();
+        assertNotNull(groupedCountMap);
+        assertEquals(1, groupedCountMap.size());
+        assertEquals(3L, groupedCountMap.get(Const.TYPE));
+    }
+}
@@ -0,0 +1,146 @@
+package eu.koboo.en2do.test.index;
+
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import eu.koboo.en2do.internal.index.IndexReconciler;
+import eu.koboo.en2do.repository.IndexChange;
+import eu.koboo.en2do.repository.IndexReport;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the planned changes of the index reconciliation, without a running MongoDB server.
+ * The existing indexes are written like "listIndexes" returns them.
+ */
+public class IndexReconcilerTest {
+
+    private static final String ID_INDEX = "{\"v\": 2, \"key\": {\"_id\": 1}, \"name\": \"_id_\"}";
+
+    @Test
+    public void createMissingIndexes() {
+        IndexReport indexReport = plan(declaredIndexes(10), List.of(ID_INDEX), false);
+        assertTrue(indexReport.isDryRun());
+        assertTrue(indexReport.hasChanges());
+        assertEquals(4, indexReport.getChangeList().size());
+        for (IndexChange indexChange : indexReport.getChangeList()) {
+            assertEquals(IndexChange.Action.CREATE, indexChange.getAction());
+            assertNull(indexChange.getIndexName());
+        }
+    }
+
+    @Test
+    public void keepMatchingIndexes() {
+        IndexReport indexReport = plan(declaredIndexes(10), List.of(
+            ID_INDEX,
+            // The server could return the numbers of the keys as double.
+            "{\"v\": 2, \"key\": {\"customerId\": 1.0, \"lastName\": -1}, \"name\": \"customerId_1_lastName_-1\", \"unique\": true}",
+            "{\"v\": 2, \"key\": {\"createTime\": 1}, \"name\": \"createTime_1\", \"expireAfterSeconds\": 10}",
+            "{\"v\": 2, \"key\": {\"firstName\": 1}, \"name\": \"firstName_1\", " +
+                "\"collation\": {\"locale\": \"en\", \"caseLevel\": false, \"strength\": 2, \"backwards\": false}}",
+            "{\"v\": 2, \"key\": {\"_fts\": \"text\", \"_ftsx\": 1}, \"name\": \"firstName_text_lastName_text\", " +
+                "\"weights\": {\"firstName\": 1, \"lastName\": 1}, \"default_language\": \"english\"}"
+        ), false);
+        assertFalse(indexReport.hasChanges());
+        assertTrue(indexReport.getChangeList().isEmpty());
+    }
+
+    @Test
+    public void updateChangedIndexes() {
+        IndexReport indexReport = plan(declaredIndexes(60), List.of(
+            ID_INDEX,
+            // The order of the keys changed.
+            "{\"v\": 2, \"key\": {\"lastName\": -1, \"customerId\": 1}, \"name\": \"lastName_-1_customerId_1\", \"unique\": true}",
+            "{\"v\": 2, \"key\": {\"createTime\": 1}, \"name\": \"createTime_1\", \"expireAfterSeconds\": 10, \"hidden\": true}",
+            // The unique option changed.
+            "{\"v\": 2, \"key\": {\"firstName\": 1}, \"name\": \"firstName_1\", \"unique\": true, " +
+                "\"collation\": {\"locale\": \"en\", \"strength\": 2}}",
+            "{\"v\": 2, \"key\": {\"_fts\": \"text\", \"_ftsx\": 1}, \"name\": \"firstName_text_lastName_text\", " +
+                "\"weights\": {\"firstName\": 1, \"lastName\": 1}, \"default_language\": \"english\"}"
+        ), false);
+        assertTrue(indexReport.hasChanges());
+        List<IndexChange.Action> actionList = new ArrayList<>();
+        for (IndexChange indexChange : indexReport.getChangeList()) {
+            actionList.add(indexChange.getAction());
+        }
+        assertEquals(List.of(
+            IndexChange.Action.CREATE,
+            IndexChange.Action.UPDATE_TTL,
+            IndexChange.Action.UNHIDE,
+            IndexChange.Action.REBUILD,
+            IndexChange.Action.KEEP
+        ), actionList);
+        assertEquals("createTime_1", indexReport.getChangeList().get(1).getIndexName());
+        assertEquals("firstName_1", indexReport.getChangeList().get(3).getIndexName());
+        assertEquals("lastName_-1_customerId_1", indexReport.getChangeList().get(4).getIndexName());
+
+        IndexReport dropReport = plan(declaredIndexes(60), List.of(ID_INDEX,
+            "{\"v\": 2, \"key\": {\"street\": 1}, \"name\": \"street_1\"}"), true);
+        IndexChange dropChange = dropReport.getChangeList().get(dropReport.getChangeList().size() - 1);
+        assertEquals(IndexChange.Action.DROP, dropChange.getAction());
+        assertEquals("street_1", dropChange.getIndexName());
+    }
+
+    @Test
+    public void matchIndexesByCollation() {
+        List<IndexModel> declaredList = List.of(
+            new IndexModel(Indexes.ascending("firstName")),
+            new IndexModel(Indexes.ascending("firstName"), new IndexOptions().name("firstName_ci")
+                .collation(Collation.builder().locale("en").collationStrength(CollationStrength.SECONDARY).build()))
+        );
+        assertNull(IndexReconciler.findDuplicate(declaredList));
+
+        // The indexes have the same keys, so they're paired by their collations.
+        IndexReport indexReport = plan(declaredList, List.of(
+            ID_INDEX,
+            "{\"v\": 2, \"key\": {\"firstName\": 1}, \"name\": \"firstName_ci\", " +
+                "\"collation\": {\"locale\": \"en\", \"strength\": 2}}",
+            "{\"v\": 2, \"key\": {\"firstName\": 1}, \"name\": \"firstName_1\"}"
+        ), false);
+        assertFalse(indexReport.hasChanges());
+
+        IndexReport createReport = plan(declaredList, List.of(ID_INDEX,
+            "{\"v\": 2, \"key\": {\"firstName\": 1}, \"name\": \"firstName_1\"}"), false);
+        assertEquals(1, createReport.getChangeList().size());
+        assertEquals(IndexChange.Action.CREATE, createReport.getChangeList().get(0).getAction());
+    }
+
+    @Test
+    public void findDuplicatedIndexes() {
+        assertNotNull(IndexReconciler.findDuplicate(List.of(
+            new IndexModel(Indexes.ascending("firstName")),
+            new IndexModel(Indexes.ascending("firstName"), new IndexOptions().unique(true))
+        )));
+    }
+
+    private static IndexReport plan(List<IndexModel> declaredList, List<String> existingJsonList,
+                                    boolean dropUndeclared) {
+        List<BsonDocument> existingList = new ArrayList<>();
+        for (String existingJson : existingJsonList) {
+            existingList.add(BsonDocument.parse(existingJson));
+        }
+        return new IndexReconciler(declaredList, existingList, dropUndeclared)
+            .createReport("customer_index_test", true);
+    }
+
+    private static List<IndexModel> declaredIndexes(long ttlSeconds) {
+        return List.of(
+            new IndexModel(Indexes.compoundIndex(Indexes.ascending("customerId"), Indexes.descending("lastName")),
+                new IndexOptions().unique(true)),
+            new IndexModel(Indexes.ascending("createTime"),
+                new IndexOptions().expireAfter(ttlSeconds, TimeUnit.SECONDS)),
+            new IndexModel(Indexes.ascending("firstName"), new IndexOptions()
+                .collation(Collation.builder().locale("en").collationStrength(CollationStrength.SECONDARY).build())),
+            new IndexModel(Indexes.compoundIndex(Indexes.text("firstName"), Indexes.text("lastName")),
+                new IndexOptions().defaultLanguage("english"))
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package eu.koboo.en2do.test.processor;
+
+import eu.koboo.en2do.internal.MethodInvoker;
+import eu.koboo.en2do.internal.generator.GeneratedRepositories;
+import eu.koboo.en2do.processor.RepositoryProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles repositories with the RepositoryProcessor, so it doesn't need a running MongoDB server.
+ */
+public class RepositoryProcessorTest {
+
+    private static final String VALID_REPOSITORY = "package processed;\n" +
+        "import eu.koboo.en2do.repository.Collection;\n" +
+        "import eu.koboo.en2do.repository.Repository;\n" +
+        "import eu.koboo.en2do.test.customer.Customer;\n" +
+        "import java.util.List;\n" +
+        "import java.util.UUID;\n" +
+        "@Collection(\"processed_customer_repository\")\n" +
+        "public interface ProcessedRepository extends Repository<Customer, UUID> {\n" +
+        "    Customer findFirstByCustomerId(int customerId);\n" +
+        "    List<Customer> findManyByCityAndBalanceGreaterThan(String city, double balance);\n" +
+        "    long countByOrdersOrderText(String orderText);\n" +
+        "    boolean existsByFirstName(String firstName) throws java.io.IOException;\n" +
+        "}\n";
+
+    private static final String INVALID_REPOSITORY = "package processed;\n" +
+        "import eu.koboo.en2do.repository.Collection;\n" +
+        "import eu.koboo.en2do.repository.Repository;\n" +
+        "import eu.koboo.en2do.test.customer.Customer;\n" +
+        "import java.util.UUID;\n" +
+        "@Collection(\"processed_customer_repository\")\n" +
+        "public interface ProcessedRepository extends Repository<Customer, UUID> {\n" +
+        "    Customer findFirstByUnknownField(String value);\n" +
+        "    Customer searchByFirstName(String firstName);\n" +
+        "    String countByCity(String city);\n" +
+        "    boolean existsByFirstNameAndLastName();\n" +
+        "}\n";
+
+    @Test
+    public void reportInvalidMethods(@TempDir Path outputDirectory) throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(INVALID_REPOSITORY, outputDirectory);
+        List<String> errorList = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errorList.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        assertEquals(4, errorList.size(), errorList.toString());
+        assertTrue(errorList.stream().anyMatch(error -> error.startsWith("MethodFieldNotFoundException")));
+        assertTrue(errorList.stream().anyMatch(error -> error.startsWith("MethodNoMethodOperatorException")));
+        assertTrue(errorList.stream().anyMatch(error -> error.startsWith("MethodLongReturnTypeException")));
+        assertTrue(errorList.stream().anyMatch(error -> error.startsWith("MethodParameterCountException")));
+        assertFalse(Files.exists(outputDirectory.resolve("processed/ProcessedRepository_En2doImpl.class")));
+    }
+
+    @Test
+    public void generateImplementation(@TempDir Path outputDirectory) throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(VALID_REPOSITORY, outputDirectory);
+        assertTrue(diagnostics.getDiagnostics().stream().noneMatch(d -> d.getKind() == Diagnostic.Kind.ERROR),
+            diagnostics.getDiagnostics().toString());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toUri().toURL()},
+            getClass().getClassLoader())) {
+            Class<?> repositoryClass = classLoader.loadClass("processed.ProcessedRepository");
+            List<Method> resolvedMethods = new ArrayList<>();
+            Function<Method, MethodInvoker> invokerResolver = method -> {
+                resolvedMethods.add(method);
+                return arguments -> {
+                    switch (method.getName()) {
+                        case "findFirstByCustomerId":
+                            assertEquals(1, arguments[0]);
+                            return null;
+                        case "countByOrdersOrderText":
+                            return 3L;
+                        case "existsByFirstName":
+                            throw new IOException("declared");
+                        case "findManyByCityAndBalanceGreaterThan":
+                            throw new Exception("undeclared");
+                        case "hashCode":
+                            assertNull(arguments);
+                            return 42;
+                        default:
+                            return null;
+                    }
+                };
+            };
+            Object repository = GeneratedRepositories.instantiate(repositoryClass, invokerResolver);
+            assertNotNull(repository);
+            assertFalse(Proxy.isProxyClass(repository.getClass()));
+            assertTrue(resolvedMethods.stream().anyMatch(method -> method.getDeclaringClass() == Object.class));
+
+            assertNull(repositoryClass.getMethod("findFirstByCustomerId", int.class).invoke(repository, 1));
+            assertEquals(3L, repositoryClass.getMethod("countByOrdersOrderText", String.class).invoke(repository, "x"));
+            assertEquals(42, repository.hashCode());
+
+            Throwable declared = assertThrows(java.lang.reflect.InvocationTargetException.class,
+                () -> repositoryClass.getMethod("existsByFirstName", String.class).invoke(repository, "x")).getCause();
+            assertInstanceOf(IOException.class, declared);
+            Throwable undeclared = assertThrows(java.lang.reflect.InvocationTargetException.class,
+                () -> repositoryClass.getMethod("findManyByCityAndBalanceGreaterThan", String.class, double.class)
+                    .invoke(repository, "x", 1.0)).getCause();
+            assertInstanceOf(java.lang.reflect.UndeclaredThrowableException.class, undeclared);
+        }
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String source, Path outputDirectory) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///processed/ProcessedRepository.java"),
+            JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = List.of("-classpath", System.getProperty("java.class.path"),
+            "-d", outputDirectory.toString());
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options,
+                null, List.of(sourceFile));
+            task.setProcessors(List.of(new RepositoryProcessor()));
+            task.call();
+        }
+        return diagnostics;
+    }
+}
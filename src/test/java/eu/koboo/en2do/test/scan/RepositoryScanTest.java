@@ -0,0 +1,78 @@
+package eu.koboo.en2do.test.scan;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.test.alien.AlienRepository;
+import eu.koboo.en2do.test.alien.BloomFilterAlienRepository;
+import eu.koboo.en2do.test.alien.CachedAlienRepository;
+import eu.koboo.en2do.test.alien.ChangeStreamAlienRepository;
+import eu.koboo.en2do.test.alien.OffHeapAlienRepository;
+import eu.koboo.en2do.test.user.UserRepository;
+import lombok.extern.java.Log;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Log
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RepositoryScanTest {
+
+    MongoManager manager;
+
+    @BeforeAll
+    public void setup() {
+        log.info("Starting Unit-Test [" + getClass().getName() + "]");
+        manager = new MongoManager();
+    }
+
+    @AfterAll
+    public void finish() {
+        log.info("Stopping Unit-Test [" + getClass().getName() + "]");
+        assertTrue(manager.close());
+    }
+
+    @Test
+    public void scanPackageTest() {
+        // The entities, the tests and the sub packages without repositories aren't found.
+        assertEquals(List.of(AlienRepository.class, BloomFilterAlienRepository.class, CachedAlienRepository.class,
+            ChangeStreamAlienRepository.class, OffHeapAlienRepository.class),
+            manager.scan("eu.koboo.en2do.test.alien"));
+        assertTrue(manager.scan("eu.koboo.en2do.test.scan").isEmpty());
+        assertTrue(manager.scan("eu.koboo.en2do.test.unknown").isEmpty());
+    }
+
+    @Test
+    public void lazyHandleTest() {
+        Map<Class<?>, Repository<?, ?>> repositoryMap = manager.createPackageLazy("eu.koboo.en2do.test.user", false);
+        assertEquals(List.of(UserRepository.class), new ArrayList<>(repositoryMap.keySet()));
+
+        UserRepository repository = (UserRepository) repositoryMap.get(UserRepository.class);
+        assertSame(repository, manager.createLazy(UserRepository.class));
+        // The methods of Object are answered without creating the repository.
+        assertNotNull(repository.toString());
+        assertEquals(repository, repository);
+        assertEquals(System.identityHashCode(repository), repository.hashCode());
+        assertFalse(manager.isCreated(UserRepository.class));
+
+        // The first call creates the repository.
+        assertEquals("user_repository", repository.getCollectionName());
+        assertTrue(manager.isCreated(UserRepository.class));
+        assertSame(manager.create(UserRepository.class), manager.createLazy(UserRepository.class));
+    }
+
+    @Test
+    public void warmUpTest() throws Exception {
+        Map<Class<?>, Repository<?, ?>> repositoryMap = manager.warmUp(OffHeapAlienRepository.class)
+            .get(30, TimeUnit.SECONDS);
+        assertTrue(manager.isCreated(OffHeapAlienRepository.class));
+        assertSame(repositoryMap.get(OffHeapAlienRepository.class), manager.createLazy(OffHeapAlienRepository.class));
+    }
+}